@@ -14,6 +14,7 @@
  */
 package com.norconex.importer;
 
+import static com.norconex.importer.ImporterEvent.IMPORTER_HANDLER_ERROR;
 import static com.norconex.importer.ImporterEvent.IMPORTER_PARSER_BEGIN;
 import static com.norconex.importer.ImporterEvent.IMPORTER_PARSER_END;
 import static com.norconex.importer.ImporterEvent.IMPORTER_PARSER_ERROR;
@@ -31,15 +32,22 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.norconex.commons.lang.bean.BeanUtil;
 import com.norconex.commons.lang.event.EventManager;
 import com.norconex.commons.lang.file.ContentFamily;
 import com.norconex.commons.lang.file.ContentType;
@@ -52,7 +60,9 @@ import com.norconex.importer.doc.ContentTypeDetector;
 import com.norconex.importer.doc.Doc;
 import com.norconex.importer.doc.DocInfo;
 import com.norconex.importer.doc.DocMetadata;
+import com.norconex.importer.doc.IndexedMetadata;
 import com.norconex.importer.handler.HandlerContext;
+import com.norconex.importer.handler.IContentHashConsumer;
 import com.norconex.importer.handler.ImporterHandlerException;
 import com.norconex.importer.parser.DocumentParserException;
 import com.norconex.importer.parser.IDocumentParser;
@@ -63,14 +73,26 @@ import com.norconex.importer.response.ImporterResponse;
 import com.norconex.importer.response.ImporterStatus;
 import com.norconex.importer.response.ImporterStatus.Status;
 import com.norconex.importer.util.CharsetUtil;
+import com.norconex.importer.util.ContentHasher;
 
 /**
+ * <p>
  * Principal class responsible for importing documents.
+ * </p>
+ * <p>
+ * Document metadata has its field names indexed for faster field
+ * matching by handlers (see {@link IndexedMetadata}). Metadata supplied
+ * when importing a document is wrapped by an {@link IndexedMetadata}
+ * holding its fields (see {@link Doc#indexMetadata()}).
+ * </p>
  * @author Pascal Essiembre
  */
 public class Importer {
 
 	private static final Logger LOG = LoggerFactory.getLogger(Importer.class);
+    // Events are logged under their class simple name and event name
+    private static final Map<String, Logger> EVENT_LOGS =
+            new ConcurrentHashMap<>();
 
     private static final ImporterStatus PASSING_FILTER_STATUS =
             new ImporterStatus();
@@ -82,6 +104,16 @@ public class Importer {
 	private CachedStreamFactory requestStreamFactory;
 
 	private final EventManager eventManager;
+    // Supplied event manager and its own parents, checked for listeners
+    // before creating events. Null when they cannot be inspected.
+    private final List<EventManager> parentEventManagers;
+    private final Predicate<String> eventFilter = this::isEventListened;
+    // Hashes expected by handlers, computed as content gets written.
+    // Content written in a phase is only hashed for handlers
+    // that can read it.
+    private final Set<String> preImportHashAlgorithms;
+    private final Set<String> preParseHashAlgorithms;
+    private final Set<String> postParseHashAlgorithms;
     private static final InheritableThreadLocal<Importer> INSTANCE =
             new InheritableThreadLocal<>();
 
@@ -111,6 +143,14 @@ public class Importer {
             this.importerConfig = new ImporterConfig();
         }
         this.eventManager = new EventManager(eventManager);
+        this.parentEventManagers = parentEventManagers(eventManager);
+        this.preImportHashAlgorithms = resolveContentHashAlgorithms(
+                this.importerConfig.getPreImportConsumer(),
+                this.importerConfig.getPreParseConsumer());
+        this.preParseHashAlgorithms = resolveContentHashAlgorithms(
+                this.importerConfig.getPreParseConsumer());
+        this.postParseHashAlgorithms = resolveContentHashAlgorithms(
+                this.importerConfig.getPostParseConsumer());
 
         INSTANCE.set(this);
     }
@@ -171,12 +211,26 @@ public class Importer {
     public ImporterResponse importDocument(Doc document) {
         // Note: Doc reference, InputStream and metadata are all null-safe.
 
-        prepareDocumentForImporting(document);
+        document.indexMetadata();
+        document.getMetadata().set(
+                DocMetadata.REFERENCE, document.getReference());
+        document.setContentHashAlgorithms(preImportHashAlgorithms);
 
-        //--- Document Handling ---
         try {
             List<Doc> nestedDocs = new ArrayList<>();
-            ImporterStatus filterStatus = doImportDocument(document, nestedDocs);
+
+            //--- Pre-import handlers (content not yet read) ---
+            ImporterStatus filterStatus = executeHandlers(
+                    document,
+                    nestedDocs,
+                    importerConfig.getPreImportConsumer(),
+                    ParseState.PRE);
+
+            //--- Document Handling ---
+            if (filterStatus.isSuccess()) {
+                prepareDocumentForImporting(document);
+                filterStatus = doImportDocument(document, nestedDocs);
+            }
             ImporterResponse response = null;
             if (filterStatus.isRejected()) {
                 response = new ImporterResponse(
@@ -235,7 +289,6 @@ public class Importer {
 
         //--- Add basic metadata for what we know so far ---
         Properties meta = document.getMetadata();
-        meta.set(DocMetadata.REFERENCE, document.getReference());
         meta.set(DocMetadata.CONTENT_TYPE, ct.toString());
         ContentFamily contentFamily = ContentFamily.forContentType(ct);
         if (contentFamily != null) {
@@ -315,6 +368,7 @@ public class Importer {
         ImporterStatus filterStatus = null;
 
         //--- Pre-handlers ---
+        document.setContentHashAlgorithms(preParseHashAlgorithms);
         filterStatus = executeHandlers(
                 document,
                 nestedDocs,
@@ -326,6 +380,7 @@ public class Importer {
         //--- Parse ---
         //TODO make parse just another handler in the chain?  Eliminating
         //the need for pre and post handlers?
+        document.setContentHashAlgorithms(postParseHashAlgorithms);
         parseDocument(document, nestedDocs);
         //--- Post-handlers ---
         filterStatus = executeHandlers(
@@ -356,7 +411,8 @@ public class Importer {
         if (consumer == null) {
             return PASSING_FILTER_STATUS;
         }
-        HandlerContext ctx = new HandlerContext(doc, eventManager, parseState);
+        HandlerContext ctx = new HandlerContext(
+                doc, eventManager, parseState, eventFilter);
         try {
             consumer.accept(ctx);
         } catch (UndeclaredThrowableException e) {
@@ -375,6 +431,20 @@ public class Importer {
         return PASSING_FILTER_STATUS;
     }
 
+    @SafeVarargs
+    private static Set<String> resolveContentHashAlgorithms(
+            Consumer<HandlerContext>... consumers) {
+        Set<String> algorithms = new HashSet<>();
+        for (Consumer<HandlerContext> consumer : consumers) {
+            if (consumer != null) {
+                BeanUtil.visitAll(consumer,
+                        c -> algorithms.addAll(c.getContentHashAlgorithms()),
+                        IContentHashConsumer.class);
+            }
+        }
+        return algorithms;
+    }
+
     private void parseDocument(
             final Doc doc,
             final List<Doc> embeddedDocs)
@@ -399,9 +469,14 @@ public class Importer {
         fire(IMPORTER_PARSER_BEGIN, doc,
                 b -> b.subject(parser).parseState(ParseState.PRE));
 
+        // Hash parsed content as it gets written, if hashes are expected
+        ContentHasher hasher = doc.getContentHashAlgorithms().isEmpty()
+                ? null : new ContentHasher(doc.getContentHashAlgorithms());
+        boolean hashed = false;
         try (CachedOutputStream out = doc.getStreamFactory().newOuputStream();
              OutputStreamWriter output = new OutputStreamWriter(
-                     out, StandardCharsets.UTF_8)) {
+                     hasher == null ? out : hasher.tee(out),
+                     StandardCharsets.UTF_8)) {
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Parser \"{}\" about to parse \"{}\".",
@@ -441,6 +516,7 @@ public class Importer {
             } else {
                 CachedInputStream newInputStream = out.getInputStream();
                 doc.setInputStream(newInputStream);
+                hashed = hasher != null;
             }
         } catch (DocumentParserException e) {
             fire(IMPORTER_PARSER_ERROR, doc, b -> b
@@ -450,6 +526,10 @@ public class Importer {
             }
             throw e;
         }
+        // Once the writer is closed, so all content is hashed
+        if (hashed) {
+            doc.addContentHashes(hasher.getHashes());
+        }
     }
 
     private void saveParseError(Doc doc, Exception e) {
@@ -509,8 +589,59 @@ public class Importer {
         }
     }
 
+    // Events are only worth creating if they can be listened to or logged.
+    // Errors are always fired.
+    boolean isEventListened(String eventName) {
+        return hasEventListeners()
+                || IMPORTER_PARSER_ERROR.equals(eventName)
+                || IMPORTER_HANDLER_ERROR.equals(eventName)
+                || EVENT_LOGS.computeIfAbsent(eventName,
+                        n -> LoggerFactory.getLogger(
+                                ImporterEvent.class.getSimpleName() + "." + n))
+                                        .isInfoEnabled();
+    }
+
+    private boolean hasEventListeners() {
+        if (eventManager.getListenerCount() > 0
+                || parentEventManagers == null) {
+            return true;
+        }
+        for (EventManager parent : parentEventManagers) {
+            if (parent.getListenerCount() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EventManager does not expose its parent, so it is read reflectively.
+    // Subclasses may fire events elsewhere and are not inspected.
+    private static List<EventManager> parentEventManagers(
+            EventManager eventManager) {
+        List<EventManager> parents = new ArrayList<>();
+        EventManager parent = eventManager;
+        try {
+            while (parent != null) {
+                if (parent.getClass() != EventManager.class) {
+                    return null;
+                }
+                parents.add(parent);
+                parent = (EventManager) FieldUtils.readField(
+                        parent, "parentEventManager", true);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            LOG.debug("Cannot inspect parent event manager listeners. "
+                    + "Importer events will always be created.", e);
+            return null;
+        }
+        return parents;
+    }
+
     private void fire(
             String eventName, Doc doc, Consumer<ImporterEvent.Builder> c) {
+        if (!isEventListened(eventName)) {
+            return;
+        }
         Builder b = new ImporterEvent.Builder(eventName, doc);
         if (c != null) {
             c.accept(b);
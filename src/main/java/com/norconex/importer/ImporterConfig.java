@@ -64,6 +64,7 @@ public class ImporterConfig implements IXMLConfigurable {
     private XMLFlow<HandlerContext> xmlFlow = new XMLFlow<>(
             HandlerConsumer.class, HandlerPredicate.class);
 
+    private Consumer<HandlerContext> preImportConsumer;
     private Consumer<HandlerContext> preParseConsumer;
     private Consumer<HandlerContext> postParseConsumer;
 
@@ -98,6 +99,40 @@ public class ImporterConfig implements IXMLConfigurable {
         this.parseErrorsSaveDir = parseErrorsSaveDir;
     }
 
+    /**
+     * Gets the {@link Consumer} to be executed on documents before
+     * their content is read in any way.
+     * @return the document consumer
+     * @since 3.2.0
+     */
+    public Consumer<HandlerContext> getPreImportConsumer() {
+        return preImportConsumer;
+    }
+    /**
+     * <p>
+     * Sets the {@link Consumer} to be executed on documents before
+     * their content is read in any way. That is, before their content type
+     * and character encoding are detected, and before they are cached.
+     * The consumer will automatically be created when relying on XML
+     * configuration of handlers ({@link IImporterHandler}).
+     * </p>
+     * <p>
+     * It is meant for handlers and conditions relying only on a
+     * document reference or its incoming metadata, such as
+     * reference filters.  Rejecting documents at this stage
+     * avoids the cost of reading them.
+     * Because detection did not occur yet, the document content type
+     * and encoding are only known if they were supplied with the document.
+     * Handlers dealing with content can be used, but will trigger reading
+     * the content earlier and defeat the purpose of this stage.
+     * </p>
+     * @param consumer the document consumer
+     * @since 3.2.0
+     */
+    public void setPreImportConsumer(Consumer<HandlerContext> consumer) {
+        this.preImportConsumer = consumer;
+    }
+
     /**
      * Gets the {@link Consumer} to be executed on documents before
      * their parsing has occurred.
@@ -376,6 +411,7 @@ public class ImporterConfig implements IXMLConfigurable {
         xml.checkDeprecated("maxFilePoolCacheSize", "maxMemoryPool", true);
         setMaxMemoryPool(xml.getDataSize("maxMemoryPool", getMaxMemoryPool()));
 
+        setPreImportConsumer(xmlFlow.parse(xml.getXML("preImportHandlers")));
         setPreParseConsumer(xmlFlow.parse(xml.getXML("preParseHandlers")));
         setParserFactory(xml.getObjectImpl(IDocumentParserFactory.class,
                 "documentParserFactory", documentParserFactory));
@@ -392,6 +428,7 @@ public class ImporterConfig implements IXMLConfigurable {
         xml.addElement("maxMemoryInstance", maxMemoryInstance);
         xml.addElement("maxMemoryPool", maxMemoryPool);
 
+        xmlFlow.write(xml.addElement("preImportHandlers"), preImportConsumer);
         xmlFlow.write(xml.addElement("preParseHandlers"), preParseConsumer);
         xml.addElement("documentParserFactory", documentParserFactory);
         xmlFlow.write(xml.addElement("postParseHandlers"), postParseConsumer);
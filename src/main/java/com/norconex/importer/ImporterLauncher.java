@@ -40,6 +40,7 @@ import com.norconex.commons.lang.io.CachedInputStream;
 import com.norconex.commons.lang.map.Properties;
 import com.norconex.commons.lang.xml.XMLValidationException;
 import com.norconex.importer.doc.Doc;
+import com.norconex.importer.doc.IndexedMetadata;
 import com.norconex.importer.response.ImporterResponse;
 
 /**
@@ -108,7 +109,7 @@ public final class ImporterLauncher {
             output = cmd.getOptionValue(ARG_INPUTFILE) + "-imported.txt";
         }
         String reference = cmd.getOptionValue(ARG_REFERENCE);
-        Properties metadata = new Properties();
+        Properties metadata = new IndexedMetadata();
         ImporterConfig config =
                 loadCommandLineConfig(cmd, configFile, varFile);
         Path inputFile = Paths.get(cmd.getOptionValue(ARG_INPUTFILE));
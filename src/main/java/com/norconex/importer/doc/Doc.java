@@ -16,7 +16,12 @@ package com.norconex.importer.doc;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -45,9 +50,14 @@ public class Doc {
 
     private final DocInfo docInfo;
     @ToStringSummary
-    private final Properties metadata;
+    private Properties metadata;
     @ToStringExclude
     private CachedInputStream content;
+    // Hashes of the above content, when known
+    private transient Map<String, String> contentHashes =
+            Collections.emptyMap();
+    private transient Set<String> contentHashAlgorithms =
+            Collections.emptySet();
 
     public Doc(String reference, CachedInputStream content) {
         this(reference, content, null);
@@ -84,7 +94,7 @@ public class Doc {
         this.docInfo = docInfo;
         this.content = content;
         if (metadata == null) {
-            this.metadata = new Properties();
+            this.metadata = new IndexedMetadata();
         } else {
             this.metadata = metadata;
         }
@@ -132,6 +142,7 @@ public class Doc {
         if (this.content == inputStream) {
             return;
         }
+        contentHashes = Collections.emptyMap();
         try {
             this.content.dispose();
             if (inputStream instanceof CachedInputStream) {
@@ -147,6 +158,83 @@ public class Doc {
                     "Could set content input stream.", e);
         }
     }
+
+    /**
+     * Gets the hashes known for the current document content, keyed by
+     * hash algorithm (case-insensitive). Hashes are forgotten as soon as
+     * the content changes.
+     * @return content hashes (never <code>null</code>)
+     * @since 3.2.0
+     */
+    public Map<String, String> getContentHashes() {
+        return contentHashes;
+    }
+    /**
+     * Adds hashes of the current document content, keyed by hash algorithm
+     * (case-insensitive), replacing existing ones for the same algorithms.
+     * Must be invoked after the content was set.
+     * @param contentHashes content hashes
+     * @since 3.2.0
+     */
+    public void addContentHashes(Map<String, String> contentHashes) {
+        if (contentHashes == null || contentHashes.isEmpty()) {
+            return;
+        }
+        Map<String, String> map =
+                new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        map.putAll(this.contentHashes);
+        map.putAll(contentHashes);
+        this.contentHashes = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Gets the hash algorithms for which hashes are computed as the
+     * importer writes new document content (e.g., after parsing or
+     * transformations), so that they do not require reading
+     * the content again.
+     * @return hash algorithms (never <code>null</code>)
+     * @see com.norconex.importer.util.ContentHasher
+     * @since 3.2.0
+     */
+    public Set<String> getContentHashAlgorithms() {
+        return contentHashAlgorithms;
+    }
+    /**
+     * Sets the hash algorithms for which hashes are computed as the
+     * importer writes new document content (e.g., after parsing or
+     * transformations), so that they do not require reading
+     * the content again. The importer sets them before each processing
+     * phase, for the handlers of that phase.
+     * @param contentHashAlgorithms hash algorithms
+     * @see com.norconex.importer.util.ContentHasher
+     * @since 3.2.0
+     */
+    public void setContentHashAlgorithms(Set<String> contentHashAlgorithms) {
+        if (contentHashAlgorithms == null
+                || contentHashAlgorithms.isEmpty()) {
+            this.contentHashAlgorithms = Collections.emptySet();
+            return;
+        }
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(contentHashAlgorithms);
+        this.contentHashAlgorithms = Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Makes this document metadata an {@link IndexedMetadata} if it is
+     * not one already (and does not have case-insensitive keys).
+     * The indexed metadata stores its fields in the original metadata,
+     * which keeps reflecting changes made through this document.
+     * Invoked by the importer before importing a document.
+     * @since 3.2.0
+     */
+    public void indexMetadata() {
+        if (!(metadata instanceof IndexedMetadata)
+                && !metadata.isCaseInsensitiveKeys()) {
+            metadata = new IndexedMetadata(metadata);
+        }
+    }
+
     //TODO Since 3.0.0
     public CachedStreamFactory getStreamFactory() {
         return content.getStreamFactory();
@@ -0,0 +1,343 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.doc;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.norconex.commons.lang.map.Properties;
+import com.norconex.commons.lang.text.TextMatcher;
+import com.norconex.commons.lang.text.TextMatcher.Method;
+
+/**
+ * <p>
+ * Metadata keeping an index of its field names so that
+ * {@link #matchKeys(TextMatcher)} does not have to test every field
+ * when the field matcher is a literal field name or a field name prefix.
+ * This makes field matching near constant time on documents with
+ * many fields (e.g., email headers, EXIF data), no matter how many
+ * handlers match fields.
+ * </p>
+ * <p>
+ * Field matchers benefiting from the index are:
+ * </p>
+ * <ul>
+ *   <li>Basic matchers that are not partial (literal field name),
+ *       case-sensitive or not.</li>
+ *   <li>Case-sensitive wildcard matchers that are not partial, starting
+ *       with literal characters (e.g., <code>dc:*</code>).</li>
+ *   <li>Case-sensitive regular expressions, either not partial or
+ *       starting with <code>^</code>, starting with literal characters and
+ *       without alternation (e.g., <code>dc:.*</code>).</li>
+ * </ul>
+ * <p>
+ * Other field matchers (including those ignoring diacritical marks)
+ * are tested against every field, as with
+ * regular {@link Properties}. Index structures are only created the first
+ * time they are needed and are then updated as fields are added or
+ * removed.
+ * </p>
+ * <p>
+ * Metadata supplied by callers is wrapped by an
+ * <code>IndexedMetadata</code> when imported
+ * (see {@link Doc#indexMetadata()}).
+ * </p>
+ * <p>
+ * Not thread-safe.
+ * </p>
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+public class IndexedMetadata extends Properties {
+
+    private static final long serialVersionUID = 1L;
+
+    private final KeyIndex index;
+
+    /**
+     * Creates empty indexed metadata.
+     */
+    public IndexedMetadata() {
+        this(new KeyIndex(new HashMap<>()));
+    }
+    /**
+     * Creates indexed metadata stored in the given map
+     * (e.g., {@link InheritedMetadata}). The map must only be modified
+     * through the created metadata afterwards.
+     * @param map map holding metadata
+     */
+    public IndexedMetadata(Map<String, List<String>> map) {
+        this(new KeyIndex(map));
+    }
+    private IndexedMetadata(KeyIndex index) {
+        super(index);
+        this.index = index;
+    }
+
+    @Override
+    public Properties matchKeys(TextMatcher textMatcher) {
+        if (textMatcher == null || textMatcher.getPattern() == null
+                || textMatcher.isIgnoreDiacritic()) {
+            return super.matchKeys(textMatcher);
+        }
+        Collection<String> candidates = null;
+        String pattern = textMatcher.getPattern();
+        Method method = textMatcher.getMethod();
+        if (method == Method.BASIC && !textMatcher.isPartial()) {
+            candidates = textMatcher.isIgnoreCase()
+                    ? index.foldedKeys(pattern)
+                    : Collections.singleton(pattern);
+        } else if (!textMatcher.isIgnoreCase()) {
+            String prefix = null;
+            if (method == Method.WILDCARD && !textMatcher.isPartial()) {
+                prefix = wildcardPrefix(pattern);
+            } else if (method == Method.REGEX) {
+                prefix = regexPrefix(pattern, textMatcher.isPartial());
+            }
+            if (prefix != null && !prefix.isEmpty()) {
+                candidates = index.prefixedKeys(prefix);
+            }
+        }
+        if (candidates == null) {
+            return super.matchKeys(textMatcher);
+        }
+        Properties props = new Properties();
+        for (String key : candidates) {
+            List<String> values = index.get(key);
+            if ((values != null || index.containsKey(key))
+                    && textMatcher.matches(key)) {
+                props.put(key, values);
+            }
+        }
+        return props;
+    }
+
+    // Literal characters before the first wildcard.
+    private static String wildcardPrefix(String pattern) {
+        int i = 0;
+        while (i < pattern.length() && isLiteral(pattern.charAt(i))) {
+            i++;
+        }
+        return pattern.substring(0, i);
+    }
+
+    // Literal characters every match must start with, or null if unknown.
+    private static String regexPrefix(String pattern, boolean partial) {
+        if (pattern.indexOf('|') != -1) {
+            return null;
+        }
+        int start = 0;
+        if (partial) {
+            if (!pattern.startsWith("^")) {
+                return null;
+            }
+            start = 1;
+        }
+        int i = start;
+        while (i < pattern.length() && isLiteral(pattern.charAt(i))) {
+            i++;
+        }
+        // a quantifier applies to the last literal character
+        if (i < pattern.length() && "?*+{".indexOf(pattern.charAt(i)) != -1
+                && i > start) {
+            i--;
+        }
+        return pattern.substring(start, i);
+    }
+
+    // Characters with no special meaning in wildcards or regular
+    // expressions, including the ones typically found in field names.
+    private static boolean isLiteral(char ch) {
+        return Character.isLetterOrDigit(ch)
+                || ch == '_' || ch == '-' || ch == ':' || ch == '/'
+                || ch == '@' || ch == ' ' || ch == ',' || ch == '=';
+    }
+
+    // Same comparison as case-insensitive regular expressions with
+    // Unicode case and String#equalsIgnoreCase.
+    private static String fold(String key) {
+        StringBuilder b = new StringBuilder(key.length());
+        key.codePoints().forEach(cp -> b.appendCodePoint(
+                Character.toLowerCase(Character.toUpperCase(cp))));
+        return b.toString();
+    }
+
+    // Map holding metadata, keeping track of field names as they are
+    // added or removed.
+    private static final class KeyIndex
+            extends AbstractMap<String, List<String>>
+            implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, List<String>> map;
+        // Sorted keys, for prefix lookups
+        private transient TreeSet<String> sortedKeys;
+        // Keys by their case-folded version
+        private transient Map<String, List<String>> foldedKeys;
+
+        private KeyIndex(Map<String, List<String>> map) {
+            this.map = map;
+        }
+
+        private Collection<String> prefixedKeys(String prefix) {
+            if (sortedKeys == null) {
+                sortedKeys = new TreeSet<>();
+                for (String k : map.keySet()) {
+                    if (k != null) {
+                        sortedKeys.add(k);
+                    }
+                }
+            }
+            // keys starting with prefix are sorted right after it
+            List<String> keys = new ArrayList<>();
+            for (String k : sortedKeys.tailSet(prefix)) {
+                if (!k.startsWith(prefix)) {
+                    break;
+                }
+                keys.add(k);
+            }
+            return keys;
+        }
+        private Collection<String> foldedKeys(String key) {
+            if (foldedKeys == null) {
+                foldedKeys = new HashMap<>();
+                for (String k : map.keySet()) {
+                    if (k != null) {
+                        addFolded(k);
+                    }
+                }
+            }
+            List<String> keys = foldedKeys.get(fold(key));
+            return keys == null
+                    ? Collections.emptyList() : new ArrayList<>(keys);
+        }
+
+        private void addFolded(String key) {
+            foldedKeys.computeIfAbsent(
+                    fold(key), k -> new ArrayList<>(1)).add(key);
+        }
+        private void indexKey(String key) {
+            if (key == null) {
+                return;
+            }
+            if (sortedKeys != null) {
+                sortedKeys.add(key);
+            }
+            if (foldedKeys != null) {
+                addFolded(key);
+            }
+        }
+        private void unindexKey(String key) {
+            if (key == null) {
+                return;
+            }
+            if (sortedKeys != null) {
+                sortedKeys.remove(key);
+            }
+            if (foldedKeys != null) {
+                String folded = fold(key);
+                List<String> keys = foldedKeys.get(folded);
+                if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                    foldedKeys.remove(folded);
+                }
+            }
+        }
+
+        @Override
+        public List<String> get(Object key) {
+            return map.get(key);
+        }
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+        @Override
+        public List<String> put(String key, List<String> value) {
+            boolean isNew = !map.containsKey(key);
+            List<String> previous = map.put(key, value);
+            if (isNew) {
+                indexKey(key);
+            }
+            return previous;
+        }
+        @Override
+        public List<String> remove(Object key) {
+            if (!map.containsKey(key)) {
+                return null;
+            }
+            unindexKey((String) key);
+            return map.remove(key);
+        }
+        @Override
+        public void clear() {
+            map.clear();
+            sortedKeys = null;
+            foldedKeys = null;
+        }
+        @Override
+        public int size() {
+            return map.size();
+        }
+        @Override
+        public Set<Entry<String, List<String>>> entrySet() {
+            return new AbstractSet<Entry<String, List<String>>>() {
+                @Override
+                public Iterator<Entry<String, List<String>>> iterator() {
+                    return new EntryIterator(map.entrySet().iterator());
+                }
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
+
+        private class EntryIterator
+                implements Iterator<Entry<String, List<String>>> {
+            private final Iterator<Entry<String, List<String>>> it;
+            private String lastKey;
+            private EntryIterator(
+                    Iterator<Entry<String, List<String>>> it) {
+                this.it = it;
+            }
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+            @Override
+            public Entry<String, List<String>> next() {
+                Entry<String, List<String>> en = it.next();
+                lastKey = en.getKey();
+                return en;
+            }
+            @Override
+            public void remove() {
+                it.remove();
+                unindexKey(lastKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.doc;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import com.norconex.commons.lang.map.Properties;
+
+/**
+ * <p>
+ * Copy-on-write metadata for documents split out of a parent document
+ * (e.g., CSV rows, PDF pages, DOM elements). Instead of each child
+ * holding its own copy of every parent field, children share a read-only
+ * snapshot of the parent metadata (see {@link #snapshot(Map)}) and only
+ * keep locally the fields they add, modify, or remove.
+ * </p>
+ * <p>
+ * Inherited values are read from the parent snapshot until they are
+ * modified. Modifying a value list obtained from this map (directly
+ * or when iterating over entries) copies the parent values to the child
+ * first.
+ * </p>
+ * <p>
+ * Not thread-safe.
+ * </p>
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+public class InheritedMetadata extends AbstractMap<String, List<String>>
+        implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, List<String>> parent;
+    private final Map<String, List<String>> local = new HashMap<>();
+    // Parent fields removed from the child
+    private final Set<String> removed = new HashSet<>();
+    // Inherited value lists handed out and not yet modified
+    private transient Map<String, InheritedValues> views;
+
+    /**
+     * Creates child metadata inheriting from the given parent snapshot.
+     * @param parentSnapshot parent metadata obtained from
+     *     {@link #snapshot(Map)}
+     */
+    public InheritedMetadata(Map<String, List<String>> parentSnapshot) {
+        this.parent = parentSnapshot == null
+                ? Collections.emptyMap() : parentSnapshot;
+    }
+
+    /**
+     * Creates a read-only copy of the given metadata, meant to be shared
+     * by all child documents of the same parent.
+     * @param metadata parent metadata
+     * @return read-only metadata snapshot
+     */
+    public static Map<String, List<String>> snapshot(
+            Map<String, List<String>> metadata) {
+        if (metadata == null || metadata.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> copy = new HashMap<>(metadata.size() * 2);
+        for (Entry<String, List<String>> en : metadata.entrySet()) {
+            copy.put(en.getKey(), en.getValue() == null ? null
+                    : Collections.unmodifiableList(
+                            new ArrayList<>(en.getValue())));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Creates new child document metadata inheriting from the given parent
+     * snapshot. Field names of the returned metadata are indexed
+     * (see {@link IndexedMetadata}).
+     * @param parentSnapshot parent metadata obtained from
+     *     {@link #snapshot(Map)}
+     * @return child metadata
+     */
+    public static Properties newChildMetadata(
+            Map<String, List<String>> parentSnapshot) {
+        return new IndexedMetadata(new InheritedMetadata(parentSnapshot));
+    }
+
+    private boolean isInherited(Object key) {
+        return !local.containsKey(key)
+                && !removed.contains(key)
+                && parent.containsKey(key);
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        if (!isInherited(key)) {
+            return local.get(key);
+        }
+        List<String> values = parent.get(key);
+        if (values == null) {
+            return null;
+        }
+        if (views == null) {
+            views = new HashMap<>();
+        }
+        return views.computeIfAbsent(
+                (String) key, k -> new InheritedValues(k, values));
+    }
+    @Override
+    public boolean containsKey(Object key) {
+        return local.containsKey(key) || isInherited(key);
+    }
+    @Override
+    public List<String> put(String key, List<String> value) {
+        List<String> previous = isInherited(key)
+                ? parent.get(key) : local.get(key);
+        detach(key);
+        local.put(key, value);
+        removed.remove(key);
+        return previous;
+    }
+    @Override
+    public List<String> remove(Object key) {
+        List<String> previous = isInherited(key)
+                ? parent.get(key) : local.remove(key);
+        detach(key);
+        if (parent.containsKey(key)) {
+            removed.add((String) key);
+        }
+        return previous;
+    }
+    @Override
+    public void clear() {
+        if (views != null) {
+            views.values().forEach(v -> v.detached = true);
+            views.clear();
+        }
+        local.clear();
+        removed.addAll(parent.keySet());
+    }
+    @Override
+    public int size() {
+        int size = local.size();
+        for (String key : parent.keySet()) {
+            if (isInherited(key)) {
+                size++;
+            }
+        }
+        return size;
+    }
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return new EntrySet();
+    }
+
+    // A value list handed out before being modified is no longer tied to
+    // this map once its key is replaced or removed
+    private void detach(Object key) {
+        if (views != null) {
+            InheritedValues view = views.remove(key);
+            if (view != null) {
+                view.detached = true;
+            }
+        }
+    }
+
+    // Inherited values, copied to the child on first modification
+    private class InheritedValues extends AbstractList<String>
+            implements RandomAccess {
+        private final String key;
+        private final List<String> inherited;
+        private List<String> copy;
+        private boolean detached;
+        private InheritedValues(String key, List<String> inherited) {
+            this.key = key;
+            this.inherited = inherited;
+        }
+        private List<String> read() {
+            return copy != null ? copy : inherited;
+        }
+        private List<String> write() {
+            if (copy == null) {
+                copy = new ArrayList<>(inherited);
+                if (!detached) {
+                    views.remove(key);
+                    local.put(key, copy);
+                }
+            }
+            return copy;
+        }
+        @Override
+        public String get(int index) {
+            return read().get(index);
+        }
+        @Override
+        public int size() {
+            return read().size();
+        }
+        @Override
+        public String set(int index, String element) {
+            return write().set(index, element);
+        }
+        @Override
+        public void add(int index, String element) {
+            modCount++;
+            write().add(index, element);
+        }
+        @Override
+        public String remove(int index) {
+            modCount++;
+            return write().remove(index);
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<String, List<String>>> {
+        @Override
+        public Iterator<Entry<String, List<String>>> iterator() {
+            return new EntryIterator();
+        }
+        @Override
+        public int size() {
+            return InheritedMetadata.this.size();
+        }
+    }
+
+    // Iterates over a copy of local keys, then over inherited parent keys,
+    // so that reading values while iterating does not affect iteration.
+    private class EntryIterator
+            implements Iterator<Entry<String, List<String>>> {
+        private final Set<String> localKeys = new HashSet<>(local.keySet());
+        private final Iterator<String> localIt = localKeys.iterator();
+        private final Iterator<String> parentIt = parent.keySet().iterator();
+        private String nextKey;
+        private String lastKey;
+
+        @Override
+        public boolean hasNext() {
+            if (nextKey != null) {
+                return true;
+            }
+            while (localIt.hasNext()) {
+                String key = localIt.next();
+                if (local.containsKey(key)) {
+                    nextKey = key;
+                    return true;
+                }
+            }
+            while (parentIt.hasNext()) {
+                String key = parentIt.next();
+                if (!localKeys.contains(key) && !removed.contains(key)) {
+                    nextKey = key;
+                    return true;
+                }
+            }
+            return false;
+        }
+        @Override
+        public Entry<String, List<String>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastKey = nextKey;
+            nextKey = null;
+            return new ChildEntry(lastKey);
+        }
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            InheritedMetadata.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    private class ChildEntry implements Entry<String, List<String>> {
+        private final String key;
+        private ChildEntry(String key) {
+            this.key = key;
+        }
+        @Override
+        public String getKey() {
+            return key;
+        }
+        @Override
+        public List<String> getValue() {
+            return get(key);
+        }
+        @Override
+        public List<String> setValue(List<String> value) {
+            return put(key, value);
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> en = (Entry<?, ?>) obj;
+            return Objects.equals(key, en.getKey())
+                    && Objects.equals(getValue(), en.getValue());
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
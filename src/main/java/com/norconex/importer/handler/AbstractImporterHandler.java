@@ -98,6 +98,9 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
             LoggerFactory.getLogger(AbstractImporterHandler.class);
 
     private final PropertyMatchers restrictions = new PropertyMatchers();
+    // Restrictions indexed for per-document evaluation, reset on changes
+    private transient volatile RestrictionIndex.Restriction[]
+            indexedRestrictions;
 
     public AbstractImporterHandler() {
         super();
@@ -116,6 +119,7 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
         restrictions.add(new PropertyMatcher(
                 TextMatcher.basic(field),
                 TextMatcher.regex(regex).setIgnoreCase(!caseSensitive)));
+        indexedRestrictions = null;
     }
 
     /**
@@ -125,6 +129,7 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
      */
     public synchronized void addRestriction(PropertyMatcher... restrictions) {
         this.restrictions.addAll(restrictions);
+        indexedRestrictions = null;
     }
     /**
      * Adds restrictions this handler should be restricted to.
@@ -135,6 +140,7 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
             List<PropertyMatcher> restrictions) {
         if (restrictions != null) {
             this.restrictions.addAll(restrictions);
+            indexedRestrictions = null;
         }
     }
 
@@ -145,6 +151,7 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
      * @since 2.4.0
      */
     public synchronized  int removeRestriction(String field) {
+        indexedRestrictions = null;
         return restrictions.remove(field);
     }
 
@@ -155,6 +162,7 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
      * @since 2.4.0
      */
     public synchronized boolean removeRestriction(PropertyMatcher restriction) {
+        indexedRestrictions = null;
         return restrictions.remove(restriction);
     }
 
@@ -164,6 +172,7 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
      */
     public synchronized void clearRestrictions() {
         restrictions.clear();
+        indexedRestrictions = null;
     }
 
     /**
@@ -187,7 +196,7 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
         if (restrictions.isEmpty()) {
             return true;
         }
-        if (restrictions.matches(doc.getMetadata())) {
+        if (matchesRestrictions(doc)) {
             return true;
         }
         LOG.debug("{} handler does not apply to: {} (parsed={}).",
@@ -195,6 +204,30 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
         return false;
     }
 
+    // When invoked from a handler context, equivalent restrictions are only
+    // evaluated once per document (until the restricted field changes).
+    private boolean matchesRestrictions(HandlerDoc doc) {
+        RestrictionMemo memo = doc.getRestrictionMemo();
+        if (memo == null) {
+            return restrictions.matches(doc.getMetadata());
+        }
+        for (RestrictionIndex.Restriction r : indexedRestrictions()) {
+            if (memo.matches(r, doc.getMetadata())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    private RestrictionIndex.Restriction[] indexedRestrictions() {
+        RestrictionIndex.Restriction[] indexed = indexedRestrictions;
+        // size check covers changes made directly on getRestrictions()
+        if (indexed == null || indexed.length != restrictions.size()) {
+            indexed = RestrictionIndex.index(restrictions);
+            indexedRestrictions = indexed;
+        }
+        return indexed;
+    }
+
     /**
      * Convenience method for handlers that need to detect an input encoding
      * if the explicitly provided encoding is blank.  Detection is only
@@ -252,6 +285,7 @@ public abstract class AbstractImporterHandler implements IXMLConfigurable {
                 restrictions.add(PropertyMatcher.loadFromXML(node));
             }
         }
+        indexedRestrictions = RestrictionIndex.index(restrictions);
     }
     /**
      * Loads configuration settings specific to the implementing class.
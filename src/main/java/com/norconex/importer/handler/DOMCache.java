@@ -0,0 +1,64 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.function.IOSupplier;
+import org.jsoup.nodes.Document;
+
+import com.norconex.importer.util.DOMUtil;
+
+/**
+ * Holds, for a single document, the DOMs parsed from its content
+ * so DOM-based handlers do not each parse the same content.
+ * Parsed DOMs are tied to a content version (the content stream
+ * instance) and are discarded as soon as the content changes, or when
+ * a handler is about to modify one.
+ * Not thread-safe (a document is processed by one thread at a time).
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+final class DOMCache {
+
+    private Object content;
+    // key: source (bytes or characters) + parser + charset
+    private final Map<String, Document> doms = new HashMap<>(4);
+
+    Document get(Object contentVersion, boolean fromReader, String charset,
+            String parser, IOSupplier<Document> parse) throws IOException {
+        if (contentVersion != content) {
+            doms.clear();
+            content = contentVersion;
+        }
+        String key = (fromReader ? "reader|" : "stream|")
+                + (DOMUtil.PARSER_XML.equalsIgnoreCase(parser)
+                        ? DOMUtil.PARSER_XML : DOMUtil.PARSER_HTML)
+                + "|" + charset;
+        Document dom = doms.get(key);
+        if (dom == null) {
+            dom = parse.get();
+            doms.put(key, dom);
+        }
+        return dom;
+    }
+
+    void clear() {
+        doms.clear();
+        content = null;
+    }
+}
@@ -53,6 +53,7 @@ import com.norconex.importer.handler.filter.impl.RejectFilter;
 import com.norconex.importer.handler.splitter.IDocumentSplitter;
 import com.norconex.importer.handler.tagger.IDocumentTagger;
 import com.norconex.importer.handler.transformer.IDocumentTransformer;
+import com.norconex.importer.util.ContentHasher;
 
 /**
  * Consumer wrapping an {@link IImporterHandler} instance for use in an
@@ -66,14 +67,18 @@ public class HandlerConsumer
     private static final Logger LOG =
             LoggerFactory.getLogger(HandlerConsumer.class);
 
+    // How the handler is invoked, resolved once when the handler is set.
+    private enum Dispatch { TAGGER, TRANSFORMER, SPLITTER, FILTER, UNSUPPORTED }
+
     private IImporterHandler handler;
+    private transient Dispatch dispatch;
 
     public HandlerConsumer() {
         super();
     }
     public HandlerConsumer(IImporterHandler handler) {
         super();
-        this.handler = handler;
+        setHandler(handler);
     }
 
     public IImporterHandler getHandler() {
@@ -81,6 +86,23 @@ public class HandlerConsumer
     }
     public void setHandler(IImporterHandler handler) {
         this.handler = handler;
+        this.dispatch = resolveDispatch(handler);
+    }
+
+    private static Dispatch resolveDispatch(IImporterHandler handler) {
+        if (handler instanceof IDocumentTagger) {
+            return Dispatch.TAGGER;
+        }
+        if (handler instanceof IDocumentTransformer) {
+            return Dispatch.TRANSFORMER;
+        }
+        if (handler instanceof IDocumentSplitter) {
+            return Dispatch.SPLITTER;
+        }
+        if (handler instanceof IDocumentFilter) {
+            return Dispatch.FILTER;
+        }
+        return Dispatch.UNSUPPORTED;
     }
 
     public static Consumer<HandlerContext> fromHandlers(
@@ -105,15 +127,20 @@ public class HandlerConsumer
 
         fireEvent(ctx, IMPORTER_HANDLER_BEGIN);
         try {
-            if (handler instanceof IDocumentTagger) {
+            switch (dispatch) {
+            case TAGGER:
                 tagDocument(ctx, (IDocumentTagger) handler);
-            } else if (handler instanceof IDocumentTransformer) {
+                break;
+            case TRANSFORMER:
                 transformDocument(ctx, (IDocumentTransformer) handler);
-            } else if (handler instanceof IDocumentSplitter) {
+                break;
+            case SPLITTER:
                 splitDocument(ctx, (IDocumentSplitter) handler);
-            } else if (handler instanceof IDocumentFilter) {
+                break;
+            case FILTER:
                 acceptDocument(ctx, (IDocumentFilter) handler);
-            } else {
+                break;
+            default:
                 //TODO instead check if implementing right consumer
                 // and invoke if so?
                 LOG.error("Unsupported Import Handler: {}", handler);
@@ -132,7 +159,7 @@ public class HandlerConsumer
     private void tagDocument(HandlerContext ctx, IDocumentTagger tagger)
             throws ImporterHandlerException {
         tagger.tagDocument(
-                new HandlerDoc(ctx.getDoc()),
+                ctx.getHandlerDoc(),
                 ctx.getDoc().getInputStream(),
                 ctx.getParseState());
     }
@@ -141,7 +168,7 @@ public class HandlerConsumer
             HandlerContext ctx, IDocumentFilter filter)
                     throws ImporterHandlerException {
         boolean accepted = filter.acceptDocument(
-                new HandlerDoc(ctx.getDoc()),
+                ctx.getHandlerDoc(),
                 ctx.getDoc().getInputStream(),
                 ctx.getParseState());
         if (isMatchIncludeFilter(filter)) {
@@ -162,10 +189,12 @@ public class HandlerConsumer
             HandlerContext ctx, IDocumentTransformer transformer)
                     throws ImporterHandlerException, IOException {
         CachedInputStream in = ctx.getDoc().getInputStream();
+        ContentHasher hasher = newContentHasher(ctx.getDoc());
         try (CachedOutputStream out =
                 ctx.getDoc().getStreamFactory().newOuputStream()) {
-            transformer.transformDocument(
-                    new HandlerDoc(ctx.getDoc()), in, out, ctx.getParseState());
+            transformer.transformDocument(ctx.getHandlerDoc(), in,
+                    hasher == null ? out : hasher.tee(out),
+                    ctx.getParseState());
             CachedInputStream newInputStream = null;
             if (out.isCacheEmpty()) {
                 LOG.debug("Transformer \"{}\" returned no content for: {}.",
@@ -178,6 +207,9 @@ public class HandlerConsumer
                 IOUtil.closeQuietly(out);
             }
             ctx.getDoc().setInputStream(newInputStream);
+            if (hasher != null && newInputStream != in) {
+                ctx.getDoc().addContentHashes(hasher.getHashes());
+            }
         }
     }
 
@@ -186,14 +218,19 @@ public class HandlerConsumer
                     throws ImporterHandlerException, IOException {
         List<Doc> childDocs = null;
         CachedInputStream in = ctx.getDoc().getInputStream();
+        ContentHasher hasher = newContentHasher(ctx.getDoc());
         try (CachedOutputStream out =
                 ctx.getDoc().getStreamFactory().newOuputStream()) {
-            childDocs = splitter.splitDocument(
-                    new HandlerDoc(ctx.getDoc()), in, out, ctx.getParseState());
+            childDocs = splitter.splitDocument(ctx.getHandlerDoc(), in,
+                    hasher == null ? out : hasher.tee(out),
+                    ctx.getParseState());
             // If writing was performed, get new content
             if (!out.isCacheEmpty()) {
                 ctx.getDoc().setInputStream(out.getInputStream());
                 in.dispose();
+                if (hasher != null) {
+                    ctx.getDoc().addContentHashes(hasher.getHashes());
+                }
             }
         }
         if (childDocs != null) {
@@ -207,6 +244,14 @@ public class HandlerConsumer
         }
     }
 
+    // Hashes new content as it gets written, if hashes are expected
+    private static ContentHasher newContentHasher(Doc doc) {
+        if (doc.getContentHashAlgorithms().isEmpty()) {
+            return null;
+        }
+        return new ContentHasher(doc.getContentHashAlgorithms());
+    }
+
     private boolean isMatchIncludeFilter(IDocumentFilter filter) {
         return filter instanceof IOnMatchFilter
                 && OnMatch.INCLUDE == ((IOnMatchFilter) filter).getOnMatch();
@@ -217,6 +262,9 @@ public class HandlerConsumer
     }
     private void fireEvent(
             HandlerContext ctx, String eventName, Exception e) {
+        if (!ctx.isFiringEvent(eventName)) {
+            return;
+        }
         ctx.getEventManager().fire(
                 new ImporterEvent.Builder(eventName, ctx.getDoc())
                     .subject(handler)
@@ -228,9 +276,9 @@ public class HandlerConsumer
     @Override
     public void loadFromXML(XML xml) {
         if (xml.getName().equals("reject")) {
-            this.handler = RejectFilter.INSTANCE;
+            setHandler(RejectFilter.INSTANCE);
         } else {
-            this.handler = xml.toObjectImpl(IImporterHandler.class);
+            setHandler(xml.toObjectImpl(IImporterHandler.class));
         }
         if (this.handler == null) {
             LOG.warn("Importer handler from the following XML resolved to null "
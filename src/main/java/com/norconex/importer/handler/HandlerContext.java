@@ -16,6 +16,7 @@ package com.norconex.importer.handler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import com.norconex.commons.lang.event.EventManager;
 import com.norconex.importer.doc.Doc;
@@ -29,19 +30,42 @@ public class HandlerContext {
     private final List<Doc> childDocs = new ArrayList<>();
     private final ParseState parseState;
     private final EventManager eventManager;
+    private final Predicate<String> eventFilter;
 
     private IDocumentFilter rejectedBy;
     private final IncludeMatchResolver includeResolver =
             new IncludeMatchResolver();
+    // Shared by all handlers invoked for this context
+    private final HandlerDoc handlerDoc;
 
     public HandlerContext(
             Doc doc,
             EventManager eventManager,
             ParseState parseState) {
+        this(doc, eventManager, parseState, null);
+    }
+    /**
+     * Creates a handler context.
+     * @param doc the document being handled
+     * @param eventManager event manager
+     * @param parseState parse state
+     * @param eventFilter which handler events to fire, by event name
+     *     (e.g., only those someone is listening to). <code>null</code>
+     *     fires them all.
+     * @since 3.2.0
+     */
+    public HandlerContext(
+            Doc doc,
+            EventManager eventManager,
+            ParseState parseState,
+            Predicate<String> eventFilter) {
         super();
         this.doc = doc;
         this.eventManager = eventManager;
         this.parseState = parseState;
+        this.eventFilter = eventFilter;
+        this.handlerDoc = new HandlerDoc(
+                doc, new RestrictionMemo(), new DOMCache());
     }
     public Doc getDoc() {
         return doc;
@@ -55,6 +79,18 @@ public class HandlerContext {
     public EventManager getEventManager() {
         return eventManager;
     }
+    /**
+     * Gets whether a handler event should be fired for this context.
+     * Events should only be created when this method returns
+     * <code>true</code>.
+     * @param eventName name of the event
+     * @return <code>true</code> if firing the event
+     * @since 3.2.0
+     */
+    public boolean isFiringEvent(String eventName) {
+        return eventManager != null
+                && (eventFilter == null || eventFilter.test(eventName));
+    }
     public boolean isRejected() {
         return rejectedBy != null;
     }
@@ -67,6 +103,9 @@ public class HandlerContext {
     public IncludeMatchResolver getIncludeResolver() {
         return includeResolver;
     }
+    HandlerDoc getHandlerDoc() {
+        return handlerDoc;
+    }
 
     public static class IncludeMatchResolver {
         private boolean hasIncludes = false;
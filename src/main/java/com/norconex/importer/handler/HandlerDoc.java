@@ -14,18 +14,32 @@
  */
 package com.norconex.importer.handler;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
+import org.apache.commons.io.function.IOSupplier;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.apache.commons.lang3.builder.ToStringSummary;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 
 import com.norconex.commons.lang.io.CachedStreamFactory;
 import com.norconex.commons.lang.map.Properties;
 import com.norconex.importer.doc.Doc;
 import com.norconex.importer.doc.DocInfo;
+import com.norconex.importer.util.ContentHasher;
+import com.norconex.importer.util.DOMUtil;
 
 /**
  * Lighter version of {@link Doc} which leaves content out to let each
@@ -37,9 +51,16 @@ public class HandlerDoc {
 
     @ToStringSummary
     private final Doc doc;
+    private final transient RestrictionMemo restrictionMemo;
+    private final transient DOMCache domCache;
 
     public HandlerDoc(Doc doc) {
+        this(doc, null, null);
+    }
+    HandlerDoc(Doc doc, RestrictionMemo restrictionMemo, DOMCache domCache) {
         this.doc = Objects.requireNonNull(doc, "'doc' must not be null.");
+        this.restrictionMemo = restrictionMemo;
+        this.domCache = domCache;
     }
 
     public DocInfo getDocInfo() {
@@ -54,6 +75,115 @@ public class HandlerDoc {
     public CachedStreamFactory getStreamFactory() {
         return doc.getStreamFactory();
     }
+    // null when not created from a handler context
+    RestrictionMemo getRestrictionMemo() {
+        return restrictionMemo;
+    }
+
+    /**
+     * Parses the given document content into a DOM. When invoked
+     * by the importer handler pipeline, the DOM is parsed only once
+     * for a given content, parser, and character encoding, and is
+     * shared with other handlers until the content changes.
+     * Handlers modifying the returned DOM must first invoke
+     * {@link #discardDOMs()}.
+     * @param content document content, as received by the handler
+     * @param charset content character encoding
+     * @param parser {@value DOMUtil#PARSER_HTML} or
+     *     {@value DOMUtil#PARSER_XML}
+     * @return parsed DOM
+     * @throws IOException problem parsing the content
+     * @since 3.2.0
+     */
+    public Document parseDOM(InputStream content, String charset,
+            String parser) throws IOException {
+        IOSupplier<Document> parse = () -> Jsoup.parse(content, charset,
+                getReference(), DOMUtil.toJSoupParser(parser));
+        if (domCache == null || content != doc.getInputStream()) {
+            return parse.get();
+        }
+        return domCache.get(content, false, charset, parser, parse);
+    }
+    /**
+     * Parses the given document content into a DOM. Same as
+     * {@link #parseDOM(InputStream, String, String)}, for handlers
+     * receiving the content as characters. The reader must be
+     * for the current document content.
+     * @param content document content, as received by the handler
+     * @param charset character encoding the content was decoded with
+     * @param parser {@value DOMUtil#PARSER_HTML} or
+     *     {@value DOMUtil#PARSER_XML}
+     * @return parsed DOM
+     * @throws IOException problem parsing the content
+     * @since 3.2.0
+     */
+    public Document parseDOM(Reader content, String charset,
+            String parser) throws IOException {
+        IOSupplier<Document> parse = () -> DOMUtil.toJSoupParser(
+                parser).parseInput(content, getReference());
+        if (domCache == null) {
+            return parse.get();
+        }
+        return domCache.get(
+                doc.getInputStream(), true, charset, parser, parse);
+    }
+    /**
+     * Stops sharing DOMs obtained from
+     * {@link #parseDOM(InputStream, String, String)} or
+     * {@link #parseDOM(Reader, String, String)} for the current content.
+     * To be invoked by handlers before modifying such a DOM (which they
+     * can then do without copying it). DOMs are parsed again when next
+     * requested.
+     * @since 3.2.0
+     */
+    public void discardDOMs() {
+        if (domCache != null) {
+            domCache.clear();
+        }
+    }
+
+    /**
+     * Gets hashes of the given document content. Hashes already known
+     * for the current document content (e.g., computed by the importer
+     * as it was writing it) are returned without reading the content.
+     * Other hashes are computed in a single read and are then
+     * remembered until the content changes.
+     * @param content document content, as received by the handler
+     * @param algorithms hash algorithms
+     * @return hashes, keyed by algorithm (case-insensitive)
+     * @throws IOException problem reading the content
+     * @see ContentHasher
+     * @since 3.2.0
+     */
+    public Map<String, String> hashContent(InputStream content,
+            Collection<String> algorithms) throws IOException {
+        boolean current = content == doc.getInputStream();
+        Map<String, String> known = current
+                ? doc.getContentHashes() : Collections.emptyMap();
+        List<String> missing = new ArrayList<>();
+        for (String algorithm : algorithms) {
+            if (!known.containsKey(algorithm)) {
+                missing.add(algorithm);
+            }
+        }
+        Map<String, String> hashes =
+                new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (!missing.isEmpty()) {
+            Map<String, String> computed =
+                    ContentHasher.hash(content, missing);
+            if (current) {
+                doc.addContentHashes(computed);
+            }
+            hashes.putAll(computed);
+        }
+        for (String algorithm : algorithms) {
+            String hash = known.get(algorithm);
+            if (hash != null) {
+                hashes.put(algorithm, hash);
+            }
+        }
+        return hashes;
+    }
 
     @Override
     public boolean equals(final Object other) {
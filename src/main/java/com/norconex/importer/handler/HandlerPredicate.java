@@ -66,7 +66,7 @@ public class HandlerPredicate
         fireEvent(ctx, IMPORTER_HANDLER_BEGIN);
         try {
             boolean result = condition.testDocument(
-                    new HandlerDoc(ctx.getDoc()),
+                    ctx.getHandlerDoc(),
                     ctx.getDoc().getInputStream(),
                     ctx.getParseState());
             fireEvent(ctx, result
@@ -90,6 +90,9 @@ public class HandlerPredicate
     }
     private void fireEvent(
             HandlerContext ctx, String eventName, Exception e) {
+        if (!ctx.isFiringEvent(eventName)) {
+            return;
+        }
         ctx.getEventManager().fire(
                 new ImporterEvent.Builder(eventName, ctx.getDoc())
                     .subject(condition)
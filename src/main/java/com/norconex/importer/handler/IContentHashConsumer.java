@@ -0,0 +1,40 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler;
+
+import java.util.Set;
+
+/**
+ * <p>
+ * A handler using hashes of the document content (obtained with
+ * {@link HandlerDoc#hashContent(java.io.InputStream, java.util.Collection)}).
+ * The importer computes hashes for the returned algorithms while it writes
+ * new content in the same processing phase (pre-parse or post-parse),
+ * so the handler does not have to read the content again.
+ * Handlers are found in the importer configuration, including in
+ * XML flow conditions.
+ * </p>
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ * @see com.norconex.importer.util.ContentHasher
+ */
+public interface IContentHashConsumer {
+
+    /**
+     * Gets the hash algorithms used by this handler.
+     * @return hash algorithms (never <code>null</code>)
+     */
+    Set<String> getContentHashAlgorithms();
+}
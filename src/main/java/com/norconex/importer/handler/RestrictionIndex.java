@@ -0,0 +1,115 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.norconex.commons.lang.map.Properties;
+import com.norconex.commons.lang.map.PropertyMatcher;
+import com.norconex.commons.lang.map.PropertyMatchers;
+import com.norconex.commons.lang.text.TextMatcher;
+import com.norconex.commons.lang.text.TextMatcher.Method;
+
+/**
+ * Indexes handler restrictions ("restrictTo") for per-document evaluation.
+ * Indexed restrictions are equal when their property matchers are equal,
+ * so equivalent restrictions found on different handlers only need to be
+ * evaluated once per document (see {@link RestrictionMemo}).
+ * Restrictions are indexed when handlers are configured.
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+final class RestrictionIndex {
+
+    private RestrictionIndex() {
+    }
+
+    static Restriction[] index(PropertyMatchers matchers) {
+        List<Restriction> list = new ArrayList<>(matchers.size());
+        for (PropertyMatcher matcher : matchers) {
+            list.add(new Restriction(matcher));
+        }
+        return list.toArray(new Restriction[list.size()]);
+    }
+
+    /**
+     * An indexed restriction.
+     */
+    static final class Restriction {
+        private final PropertyMatcher matcher;
+        // matchers are not expected to change once indexed
+        private final int hash;
+        // Only set when the field matcher is a literal field name
+        private final String field;
+        private final boolean fieldIgnoreCase;
+
+        private Restriction(PropertyMatcher matcher) {
+            this.matcher = matcher;
+            this.hash = matcher.hashCode();
+            TextMatcher fm = matcher.getFieldMatcher();
+            if (fm != null && fm.getMethod() == Method.BASIC
+                    && !fm.isPartial() && fm.getPattern() != null) {
+                field = fm.getPattern();
+                fieldIgnoreCase = fm.isIgnoreCase();
+            } else {
+                field = null;
+                fieldIgnoreCase = false;
+            }
+        }
+
+        boolean isMemoizable() {
+            return field != null;
+        }
+        boolean matches(Properties metadata) {
+            return matcher.matches(metadata);
+        }
+        // Values of the restricted field, obtained without evaluating
+        // the field matcher.
+        List<String> fieldValues(Properties metadata) {
+            if (!fieldIgnoreCase) {
+                return metadata.getStrings(field);
+            }
+            List<String> values = new ArrayList<>();
+            for (Entry<String, List<String>> en : metadata.entrySet()) {
+                if (field.equalsIgnoreCase(en.getKey())) {
+                    values.addAll(en.getValue());
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Restriction)) {
+                return false;
+            }
+            Restriction r = (Restriction) other;
+            return hash == r.hash && matcher.equals(r.matcher);
+        }
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+        @Override
+        public String toString() {
+            return matcher.toString();
+        }
+    }
+}
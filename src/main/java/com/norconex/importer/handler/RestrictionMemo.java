@@ -0,0 +1,61 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.norconex.commons.lang.map.Properties;
+import com.norconex.importer.handler.RestrictionIndex.Restriction;
+
+/**
+ * Remembers, for a single document, the outcome of indexed handler
+ * restrictions. A remembered outcome is reused as long as the
+ * values of the restricted field did not change. Restrictions
+ * not on a literal field name are always evaluated.
+ * Not thread-safe (a document is processed by one thread at a time).
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+final class RestrictionMemo {
+
+    private final Map<Restriction, Result> results = new HashMap<>();
+
+    boolean matches(Restriction restriction, Properties metadata) {
+        if (!restriction.isMemoizable()) {
+            return restriction.matches(metadata);
+        }
+        List<String> values = restriction.fieldValues(metadata);
+        Result result = results.get(restriction);
+        if (result != null && result.values.equals(values)) {
+            return result.match;
+        }
+        boolean match = restriction.matches(metadata);
+        results.put(restriction,
+                new Result(new ArrayList<>(values), match));
+        return match;
+    }
+
+    private static final class Result {
+        private final List<String> values;
+        private final boolean match;
+        private Result(List<String> values, boolean match) {
+            this.values = values;
+            this.match = match;
+        }
+    }
+}
@@ -106,6 +106,8 @@ public abstract class AbstractStringCondition
         int sectionIndex = 0;
         StringBuilder b = new StringBuilder();
         String text = null;
+        int readLimit = getContentReadLimit();
+        long charsRead = 0;
         try (TextReader reader = new TextReader(
                 IOUtil.toNonNullReader(input), maxReadSize)) {
             while ((text = reader.readText()) != null) {
@@ -117,6 +119,10 @@ public abstract class AbstractStringCondition
                 if (matched) {
                     return true;
                 }
+                charsRead += text.length();
+                if (readLimit >= 0 && charsRead >= readLimit) {
+                    break;
+                }
             }
             // should have been incremented at least once if there is content
             if (sectionIndex == 0) {
@@ -132,6 +138,17 @@ public abstract class AbstractStringCondition
         return false;
     }
 
+    /**
+     * Gets the number of characters from the beginning of the content
+     * this condition needs. Same as
+     * {@link com.norconex.importer.handler.tagger.AbstractStringTagger#getContentReadLimit()}.
+     * @return number of characters needed, or <code>-1</code> for all
+     * @since 3.2.0
+     */
+    protected int getContentReadLimit() {
+        return -1;
+    }
+
     protected abstract boolean testDocument(
             HandlerDoc doc,
             String input,
@@ -17,7 +17,6 @@ package com.norconex.importer.handler.condition.impl;
 import java.io.IOException;
 import java.io.Reader;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
@@ -35,6 +34,7 @@ import com.norconex.importer.handler.ImporterHandlerException;
 import com.norconex.importer.handler.condition.AbstractCharStreamCondition;
 import com.norconex.importer.handler.filter.impl.TextFilter;
 import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.util.CharsetUtil;
 import com.norconex.importer.util.DOMUtil;
 
 /**
@@ -266,9 +266,12 @@ public class DOMCondition extends AbstractCharStreamCondition {
                 }
                 return false;
             }
-            return testDocument(Jsoup.parse(
-                    IOUtils.toString(input), doc.getReference(),
-                    DOMUtil.toJSoupParser(getParser())));
+            return testDocument(doc.parseDOM(input,
+                    CharsetUtil.firstNonBlankOrUTF8(
+                            parseState,
+                            getSourceCharset(),
+                            doc.getDocInfo().getContentEncoding()),
+                    getParser()));
         } catch (IOException e) {
             throw new ImporterHandlerException(
                     "Cannot parse document into a DOM-tree.", e);
@@ -89,6 +89,8 @@ public abstract class AbstractStringFilter
         int sectionIndex = 0;
         StringBuilder b = new StringBuilder();
         String text = null;
+        int readLimit = getContentReadLimit();
+        long charsRead = 0;
         try (TextReader reader = new TextReader(
                 IOUtil.toNonNullReader(input), maxReadSize)) {
             while ((text = reader.readText()) != null) {
@@ -100,6 +102,10 @@ public abstract class AbstractStringFilter
                 if (matched) {
                     return true;
                 }
+                charsRead += text.length();
+                if (readLimit >= 0 && charsRead >= readLimit) {
+                    break;
+                }
             }
             // should have been incremented at least once if there is content
             if (sectionIndex == 0) {
@@ -132,6 +138,17 @@ public abstract class AbstractStringFilter
         this.maxReadSize = maxReadSize;
     }
 
+    /**
+     * Gets the number of characters from the beginning of the content
+     * this filter needs. Same as
+     * {@link com.norconex.importer.handler.tagger.AbstractStringTagger#getContentReadLimit()}.
+     * @return number of characters needed, or <code>-1</code> for all
+     * @since 3.2.0
+     */
+    protected int getContentReadLimit() {
+        return -1;
+    }
+
     protected abstract boolean isStringContentMatching(
             HandlerDoc doc, StringBuilder content,
             ParseState parseState, int sectionIndex)
@@ -21,7 +21,6 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -337,8 +336,7 @@ public class DOMContentFilter extends AbstractDocumentFilter {
                 sourceCharset,
                 doc.getDocInfo().getContentEncoding());
         try {
-            Document jdoc = Jsoup.parse(input, inputCharset,
-                    doc.getReference(), DOMUtil.toJSoupParser(getParser()));
+            Document jdoc = doc.parseDOM(input, inputCharset, getParser());
             Elements elms = jdoc.select(selector);
             // no elements matching
             if (elms.isEmpty()) {
@@ -262,9 +262,8 @@ public class DOMFilter extends AbstractDocumentFilter {
                     parseState,
                     sourceCharset,
                     doc.getDocInfo().getContentEncoding());
-            return isDocumentMatched(Jsoup.parse(
-                    input, inputCharset, doc.getReference(),
-                    DOMUtil.toJSoupParser(getParser())));
+            return isDocumentMatched(
+                    doc.parseDOM(input, inputCharset, getParser()));
         } catch (IOException e) {
             throw new ImporterHandlerException(
                     "Cannot parse document into a DOM-tree.", e);
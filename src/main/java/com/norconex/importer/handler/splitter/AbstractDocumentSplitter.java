@@ -14,8 +14,11 @@
  */
 package com.norconex.importer.handler.splitter;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 
@@ -55,6 +58,28 @@ public abstract class AbstractDocumentSplitter extends AbstractImporterHandler
                 doc, docInput, docOutput, parseState);
     }
 
+    /**
+     * Creates an empty temporary file in the same directory as the
+     * document cached streams (i.e., the importer temporary directory),
+     * or in the system temporary directory when not set.
+     * Callers are responsible for deleting it.
+     * @param doc the document being split
+     * @param prefix file name prefix
+     * @param suffix file name suffix
+     * @return temporary file path
+     * @throws IOException could not create the file
+     * @since 3.2.0
+     */
+    protected Path createTempFile(
+            HandlerDoc doc, String prefix, String suffix) throws IOException {
+        Path dir = doc.getStreamFactory().getCacheDirectory();
+        if (dir == null) {
+            return Files.createTempFile(prefix, suffix);
+        }
+        Files.createDirectories(dir);
+        return Files.createTempFile(dir, prefix, suffix);
+    }
+
     protected abstract List<Doc> splitApplicableDocument(
             HandlerDoc doc, InputStream input, OutputStream output,
             ParseState parseState)
@@ -14,16 +14,29 @@
  */
 package com.norconex.importer.handler.splitter.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -32,6 +45,8 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.apache.commons.lang3.math.NumberUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.norconex.commons.lang.collection.CollectionUtil;
 import com.norconex.commons.lang.config.ConfigurationException;
@@ -42,6 +57,7 @@ import com.norconex.commons.lang.xml.XML;
 import com.norconex.importer.doc.Doc;
 import com.norconex.importer.doc.DocInfo;
 import com.norconex.importer.doc.DocMetadata;
+import com.norconex.importer.doc.InheritedMetadata;
 import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.ImporterHandlerException;
 import com.norconex.importer.handler.splitter.AbstractDocumentSplitter;
@@ -69,6 +85,8 @@ import com.opencsv.CSVReaderBuilder;
  * escapeCharacter=""
  * useFirstRowAsFields="(false|true)"
  * linesToSkip="(integer)"
+ * rowsPerDocument="(integer, default is 1)"
+ * parserThreads="(integer, default is 1)"
  * referenceColumn="(column name or position from 1)"
  * contentColumns="(csv list of column/position to use as content)" >
  * {@nx.include
@@ -100,6 +118,17 @@ import com.opencsv.CSVReaderBuilder;
  * row after the header row):
  * </p>
  *
+ * <p>
+ * Rows are turned into child documents as they are read. To reduce
+ * per-document overhead on very large files, you can group many rows
+ * into each child document with <code>rowsPerDocument</code>
+ * (since 3.2.0). Column values are then stored as multi-value fields.
+ * </p>
+ * <p>
+ * Very large files without line breaks inside values can be parsed
+ * on many threads with <code>parserThreads</code> (since 3.2.0).
+ * </p>
+ *
  * @author Pascal Essiembre
  * @since 2.0.0
  */
@@ -114,6 +143,12 @@ public class CsvSplitter extends AbstractDocumentSplitter
     /** Default CSV escape character (backslash). */
     public static final char DEFAULT_ESCAPE_CHARACTER = '\\';
 
+    private static final Logger LOG =
+            LoggerFactory.getLogger(CsvSplitter.class);
+
+    // Approximate size of file portions parsed by each thread
+    static final int PARALLEL_CHUNK_SIZE = 8 * 1024 * 1024;
+
     // --- Fields to define ---
     // TODO add to base class for most/all splitters with a protected method
     // that has the strategy
@@ -129,11 +164,25 @@ public class CsvSplitter extends AbstractDocumentSplitter
     private char escapeCharacter = DEFAULT_ESCAPE_CHARACTER;
     private boolean useFirstRowAsFields;
     private int linesToSkip;
+    private int rowsPerDocument = 1;
+    private int parserThreads = 1;
+    private final transient int parallelChunkSize;
+    private final transient SplitterExecutor parserExecutor =
+            new SplitterExecutor("CsvSplitter-parser");
 
     // These can be either column names or position, starting at 1
     private String referenceColumn;
     private final List<String> contentColumns = new ArrayList<>();
 
+    public CsvSplitter() {
+        this(PARALLEL_CHUNK_SIZE);
+    }
+    // Package-private so tests can use smaller file portions
+    CsvSplitter(int parallelChunkSize) {
+        super();
+        this.parallelChunkSize = parallelChunkSize;
+    }
+
     @Override
     protected List<Doc> splitApplicableDocument(
             HandlerDoc doc, InputStream input,
@@ -152,11 +201,12 @@ public class CsvSplitter extends AbstractDocumentSplitter
 
         List<Doc> rows = new ArrayList<>();
 
-        CSVParser parser = new CSVParserBuilder()
-                .withSeparator(separatorCharacter)
-                .withQuoteChar(quoteCharacter)
-                .withEscapeChar(escapeCharacter)
-                .build();
+        if (parserThreads > 1) {
+            parallelSplit(doc, input, rows);
+            return rows;
+        }
+
+        CSVParser parser = newCSVParser();
 
         // TODO by default (or as an option), try to detect the format of the
         // file (read first few lines and count number of tabs vs coma,
@@ -168,70 +218,285 @@ public class CsvSplitter extends AbstractDocumentSplitter
                 .build()) {
 
             String[] cols;
-            String[] colNames = null;
             int count = 0;
-            StringBuilder contentStr = new StringBuilder();
+            RowEmitter emitter = new RowEmitter(doc, rows);
             while ((cols = csvreader.readNextSilently()) != null) {
                 count++;
-                Properties childMeta = new Properties();
-                childMeta.loadFromMap(doc.getMetadata());
-                String childEmbedRef = "row-" + count;
                 if (count == 1 && useFirstRowAsFields) {
-                    colNames = cols;
+                    emitter.setColumnNames(cols);
                 } else {
-                    for (int i = 0; i < cols.length; i++) {
-                        int colPos = i + 1;
-                        String colName = null;
-                        if (colNames == null || i >= colNames.length) {
-                            colName = "column" + colPos;
-                        } else {
-                            colName = colNames[i];
-                        }
-                        String colValue = cols[i];
-
-                        // If a reference column, set reference value
-                        if (isColumnMatching(colName, colPos,
-                                Arrays.asList(referenceColumn))) {
-                            childEmbedRef = colValue;
-                        }
-                        // If a content column, add it to content
-                        if (isColumnMatching(colName, colPos, contentColumns)) {
-                            if (contentStr.length() > 0) {
-                                contentStr.append(" ");
-                            }
-                            contentStr.append(colValue);
-                        }
-                        childMeta.set(colName, colValue);
+                    emitter.addRow(count, cols);
+                }
+            }
+            emitter.flush();
+        }
+        return rows;
+    }
+
+    private CSVParser newCSVParser() {
+        return new CSVParserBuilder()
+                .withSeparator(separatorCharacter)
+                .withQuoteChar(quoteCharacter)
+                .withEscapeChar(escapeCharacter)
+                .build();
+    }
+
+    // Splits the file in byte ranges ending on line boundaries, parsed
+    // concurrently. Parsed ranges are consumed in file order so row
+    // numbering and output order are the same as sequential parsing.
+    private void parallelSplit(
+            HandlerDoc doc, InputStream input, List<Doc> rows)
+                    throws IOException {
+        Path csvFile = createTempFile(doc, "CsvSplitter-", ".csv");
+        try {
+            Files.copy(input, csvFile, StandardCopyOption.REPLACE_EXISTING);
+            parallelSplit(doc, csvFile,
+                    parserExecutor.get(parserThreads), rows);
+        } finally {
+            try {
+                Files.deleteIfExists(csvFile);
+            } catch (IOException e) {
+                LOG.debug("Could not delete temporary CSV file: {}",
+                        csvFile, e);
+            }
+        }
+    }
+
+    private void parallelSplit(HandlerDoc doc, Path csvFile,
+            ExecutorService executor, List<Doc> rows) throws IOException {
+        Deque<Future<List<String[]>>> pending = new ArrayDeque<>();
+        try (FileChannel channel =
+                FileChannel.open(csvFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            RowEmitter emitter = new RowEmitter(doc, rows);
+            long start = 0;
+            int lineNo = 0;
+            int count = 0;
+            while (start < size || !pending.isEmpty()) {
+                // keep all threads busy, with a bounded number of
+                // parsed ranges waiting
+                while (start < size && pending.size() < parserThreads * 2) {
+                    long end = nextLineStart(
+                            channel, start + parallelChunkSize, size);
+                    long rangeStart = start;
+                    pending.add(executor.submit(() ->
+                            parseRange(channel, rangeStart, end)));
+                    start = end;
+                }
+                for (String[] cols : waitFor(pending.poll())) {
+                    lineNo++;
+                    if (lineNo <= linesToSkip) {
+                        continue;
                     }
-                    String childDocRef = doc.getReference() + "!" + childEmbedRef;
-                    CachedInputStream content = null;
-                    if (contentStr.length() > 0) {
-                        content = doc.getStreamFactory().newInputStream(
-                                contentStr.toString());
-                        contentStr.setLength(0);
+                    count++;
+                    if (count == 1 && useFirstRowAsFields) {
+                        emitter.setColumnNames(cols);
                     } else {
-                        content = doc.getStreamFactory().newInputStream();
+                        emitter.addRow(count, cols);
                     }
-                    Doc childDoc = new Doc(
-                            childDocRef, content, childMeta);
-                    DocInfo childInfo = childDoc.getDocInfo();
-                    childInfo.setReference(childDocRef);
-                    childInfo.addEmbeddedParentReference(doc.getReference());
-
-                    childMeta.set(
-                            DocMetadata.EMBEDDED_REFERENCE, childEmbedRef);
-
-                    // childInfo.setEmbeddedReference(childEmbedRef);
-
-                    // childMeta.setReference(childDocRef);
-                    // childMeta.setEmbeddedReference(childEmbedRef);
-                    // childMeta.setEmbeddedParentReference(doc.getReference());
-                    // childMeta.setEmbeddedParentRootReference(doc.getReference());
-                    rows.add(childDoc);
                 }
             }
+            emitter.flush();
+        } finally {
+            // only left when failing, the executor is shared
+            pending.forEach(f -> f.cancel(true));
+        }
+    }
+
+    // Position right after the first line feed found at or after "from".
+    private static long nextLineStart(
+            FileChannel channel, long from, long size) throws IOException {
+        if (from >= size) {
+            return size;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(8192);
+        long pos = from;
+        while (pos < size) {
+            buf.clear();
+            int read = channel.read(buf, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buf.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private List<String[]> parseRange(
+            FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate((int) (end - start));
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, start + buf.position()) < 0) {
+                break;
+            }
+        }
+        List<String[]> records = new ArrayList<>();
+        try (CSVReader csvreader = new CSVReaderBuilder(
+                new InputStreamReader(new ByteArrayInputStream(
+                        buf.array(), 0, buf.position()),
+                        StandardCharsets.UTF_8))
+                .withCSVParser(newCSVParser())
+                .build()) {
+            String[] cols;
+            while ((cols = csvreader.readNextSilently()) != null) {
+                records.add(cols);
+            }
+        }
+        return records;
+    }
+
+    private static List<String[]> waitFor(Future<List<String[]>> future)
+            throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing CSV.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not parse CSV.", e.getCause());
+        }
+    }
+
+    // Creates child documents as rows are read, one per row or one per
+    // batch of rows. Column details are resolved once per column position.
+    private class RowEmitter {
+        private final HandlerDoc doc;
+        private final List<Doc> children;
+        private final Map<String, List<String>> parentMeta;
+        private final boolean batch = rowsPerDocument > 1;
+        private final StringBuilder content = new StringBuilder();
+        private String[] colNames;
+        private String[] names = new String[0];
+        private boolean[] refCols = new boolean[0];
+        private boolean[] contentCols = new boolean[0];
+
+        // current child
+        private Properties childMeta;
+        private String childEmbedRef;
+        private int firstRow;
+        private int lastRow;
+        private int rowCount;
+        // columns holding one value per row of the current batch
+        private int batchColumns;
+
+        private RowEmitter(HandlerDoc doc, List<Doc> children) {
+            this.doc = doc;
+            this.children = children;
+            this.parentMeta = InheritedMetadata.snapshot(doc.getMetadata());
+        }
+
+        private void setColumnNames(String[] colNames) {
+            this.colNames = colNames;
+            this.names = new String[0];
+        }
+
+        private void addRow(int rowNo, String[] cols) {
+            if (childMeta == null) {
+                childMeta = InheritedMetadata.newChildMetadata(parentMeta);
+                childEmbedRef = "row-" + rowNo;
+                firstRow = rowNo;
+            } else if (content.length() > 0) {
+                content.append('\n');
+            }
+            resolveColumns(cols.length);
+            int rowContentStart = content.length();
+            for (int i = 0; i < cols.length; i++) {
+                String colValue = cols[i];
+
+                // If a reference column, set reference value
+                if (refCols[i] && !batch) {
+                    childEmbedRef = colValue;
+                }
+                // If a content column, add it to content
+                if (contentCols[i]) {
+                    if (content.length() > rowContentStart) {
+                        content.append(' ');
+                    }
+                    content.append(colValue);
+                }
+                if (!batch) {
+                    childMeta.set(names[i], colValue);
+                } else if (i < batchColumns) {
+                    childMeta.add(names[i], colValue);
+                } else {
+                    // first value for this batch: replaces inherited
+                    // values, after blanks for previous shorter rows
+                    List<String> values = new ArrayList<>(rowCount + 1);
+                    for (int r = 0; r < rowCount; r++) {
+                        values.add("");
+                    }
+                    values.add(colValue);
+                    childMeta.put(names[i], values);
+                }
+            }
+            if (batch) {
+                // keep multi-value columns aligned on rows
+                for (int i = cols.length; i < batchColumns; i++) {
+                    childMeta.add(names[i], "");
+                }
+                batchColumns = Math.max(batchColumns, cols.length);
+            }
+            lastRow = rowNo;
+            rowCount++;
+            if (rowCount >= rowsPerDocument) {
+                flush();
+            }
+        }
+
+        private void resolveColumns(int size) {
+            if (names.length >= size) {
+                return;
+            }
+            int from = names.length;
+            names = Arrays.copyOf(names, size);
+            refCols = Arrays.copyOf(refCols, size);
+            contentCols = Arrays.copyOf(contentCols, size);
+            List<String> refColumns = Arrays.asList(referenceColumn);
+            for (int i = from; i < size; i++) {
+                int colPos = i + 1;
+                if (colNames == null || i >= colNames.length) {
+                    names[i] = "column" + colPos;
+                } else {
+                    names[i] = colNames[i];
+                }
+                refCols[i] = isColumnMatching(names[i], colPos, refColumns);
+                contentCols[i] =
+                        isColumnMatching(names[i], colPos, contentColumns);
+            }
+        }
+
+        private void flush() {
+            if (childMeta == null) {
+                return;
+            }
+            if (batch) {
+                childEmbedRef = "rows-" + firstRow + "-" + lastRow;
+            }
+            String childDocRef = doc.getReference() + "!" + childEmbedRef;
+            CachedInputStream childContent = null;
+            if (content.length() > 0) {
+                childContent = doc.getStreamFactory().newInputStream(
+                        content.toString());
+                content.setLength(0);
+            } else {
+                childContent = doc.getStreamFactory().newInputStream();
+            }
+            Doc childDoc = new Doc(childDocRef, childContent, childMeta);
+            DocInfo childInfo = childDoc.getDocInfo();
+            childInfo.setReference(childDocRef);
+            childInfo.addEmbeddedParentReference(doc.getReference());
+            childMeta.set(DocMetadata.EMBEDDED_REFERENCE, childEmbedRef);
+            children.add(childDoc);
+
+            childMeta = null;
+            rowCount = 0;
+            batchColumns = 0;
         }
-        return rows;
     }
 
     private boolean isColumnMatching(
@@ -345,6 +610,56 @@ public class CsvSplitter extends AbstractDocumentSplitter
         this.linesToSkip = linesToSkip;
     }
 
+    /**
+     * Gets how many rows are grouped into each child document.
+     * @return number of rows per child document
+     * @since 3.2.0
+     */
+    public int getRowsPerDocument() {
+        return rowsPerDocument;
+    }
+
+    /**
+     * Sets how many rows are grouped into each child document.
+     * Default is 1 (one document per row). When greater than one,
+     * column values of all rows in a batch are stored as multi-value
+     * fields, in row order, content column values of each row are
+     * separated by a new line, and the reference column is ignored in
+     * favor of an embedded reference made of the first and last
+     * row numbers (e.g., <code>rows-1-100</code>).
+     * @param rowsPerDocument number of rows per child document
+     * @since 3.2.0
+     */
+    public void setRowsPerDocument(int rowsPerDocument) {
+        this.rowsPerDocument = Math.max(1, rowsPerDocument);
+    }
+
+    /**
+     * Gets the number of threads used to parse the CSV file.
+     * @return number of parser threads
+     * @since 3.2.0
+     */
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    /**
+     * Sets the number of threads used to parse the CSV file.
+     * Default is 1. When greater than one, the file is divided into
+     * portions ending on line boundaries, parsed concurrently. Row
+     * numbering and child document order remain the same.
+     * <b>Only use with files having no line breaks within values</b>
+     * (quoted multi-line values would be broken).
+     * @param parserThreads number of parser threads
+     * @since 3.2.0
+     */
+    public void setParserThreads(int parserThreads) {
+        this.parserThreads = Math.max(1, parserThreads);
+        if (this.parserThreads == 1) {
+            parserExecutor.shutdown();
+        }
+    }
+
     /**
      * Gets the reference column.
      * 
@@ -402,6 +717,9 @@ public class CsvSplitter extends AbstractDocumentSplitter
         setUseFirstRowAsFields(
                 xml.getBoolean("@useFirstRowAsFields", useFirstRowAsFields));
         setLinesToSkip(xml.getInteger("@linesToSkip", linesToSkip));
+        setRowsPerDocument(
+                xml.getInteger("@rowsPerDocument", rowsPerDocument));
+        setParserThreads(xml.getInteger("@parserThreads", parserThreads));
         setReferenceColumn(
                 xml.getString("@referenceColumn", referenceColumn));
 
@@ -416,6 +734,8 @@ public class CsvSplitter extends AbstractDocumentSplitter
         xml.setAttribute("escapeCharacter", escapeCharacter);
         xml.setAttribute("useFirstRowAsFields", useFirstRowAsFields);
         xml.setAttribute("linesToSkip", linesToSkip);
+        xml.setAttribute("rowsPerDocument", rowsPerDocument);
+        xml.setAttribute("parserThreads", parserThreads);
         xml.setAttribute("referenceColumn", referenceColumn);
         xml.setDelimitedAttributeList("contentColumns", contentColumns);
     }
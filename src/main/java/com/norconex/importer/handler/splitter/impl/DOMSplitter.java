@@ -16,18 +16,24 @@ package com.norconex.importer.handler.splitter.impl;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.parser.StreamParser;
 import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
 
 import com.norconex.commons.lang.io.CachedInputStream;
 import com.norconex.commons.lang.map.Properties;
@@ -36,6 +42,7 @@ import com.norconex.commons.lang.xml.XML;
 import com.norconex.importer.doc.Doc;
 import com.norconex.importer.doc.DocInfo;
 import com.norconex.importer.doc.DocMetadata;
+import com.norconex.importer.doc.InheritedMetadata;
 import com.norconex.importer.handler.CommonRestrictions;
 import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.ImporterHandlerException;
@@ -89,10 +96,28 @@ import com.norconex.importer.util.DOMUtil;
  * with, specifying "xml" should be a good option.
  * </p>
  *
+ * <p><b>Since 3.2.0</b>, you can enable "streaming" to split large
+ * documents without loading them entirely in memory. Each matching
+ * element is created as soon as it is fully read and its content is
+ * discarded right after. Only selectors that can be evaluated on an
+ * element when it ends, without knowing what follows it (e.g., tag,
+ * attribute, class, id, or ancestor selectors), are supported in
+ * streaming mode.
+ * </p>
+ *
+ * <p>
+ * In streaming mode, the embedded reference of each child document
+ * is a CSS selector made of the element position from the root element
+ * (e.g., <code>html &gt; body:nth-child(2) &gt; div:nth-child(3)</code>),
+ * since the document is only partially read when the element is found.
+ * It may differ from the reference obtained without streaming.
+ * </p>
+ *
  * {@nx.xml.usage
  * <handler class="com.norconex.importer.handler.splitter.impl.DOMSplitter"
  *     selector="(selector syntax)"
  *     parser="[html|xml]"
+ *     streaming="[false|true]"
  *     sourceCharset="(character encoding)" >
  *   {@nx.include com.norconex.importer.handler.AbstractImporterHandler#restrictTo}
  * </handler>
@@ -118,6 +143,7 @@ public class DOMSplitter extends AbstractDocumentSplitter
     private String selector;
     private String sourceCharset = null;
     private String parser = DOMUtil.PARSER_HTML;
+    private boolean streaming;
 
     public DOMSplitter() {
         super();
@@ -165,6 +191,26 @@ public class DOMSplitter extends AbstractDocumentSplitter
         this.parser = parser;
     }
 
+    /**
+     * Gets whether to split the document as it is being parsed, without
+     * keeping it entirely in memory.
+     * @return <code>true</code> if streaming
+     * @since 3.2.0
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+    /**
+     * Sets whether to split the document as it is being parsed, without
+     * keeping it entirely in memory.  Only works with selectors
+     * that can be evaluated when an element ends.
+     * @param streaming <code>true</code> to stream
+     * @since 3.2.0
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     @Override
     protected List<Doc> splitApplicableDocument(
             HandlerDoc doc, InputStream input, OutputStream output,
@@ -174,10 +220,13 @@ public class DOMSplitter extends AbstractDocumentSplitter
                 parseState,
                 sourceCharset,
                 doc.getDocInfo().getContentEncoding());
+        if (streaming) {
+            return streamSplit(doc, input, inputCharset);
+        }
         List<Doc> docs = new ArrayList<>();
         try {
-            Document soupDoc = Jsoup.parse(input, inputCharset,
-                    doc.getReference(), DOMUtil.toJSoupParser(getParser()));
+            Document soupDoc =
+                    doc.parseDOM(input, inputCharset, getParser());
             Elements elms = soupDoc.select(selector);
 
             // if there only 1 element matched, make sure it is not the same as
@@ -192,42 +241,155 @@ public class DOMSplitter extends AbstractDocumentSplitter
             }
 
             // process "legit" child elements
+            Map<String, List<String>> parentMeta =
+                    InheritedMetadata.snapshot(doc.getMetadata());
             for (Element elm : elms) {
-                Properties childMeta = new Properties();
-                childMeta.loadFromMap(doc.getMetadata());
-                String childContent = elm.outerHtml();
-                String childEmbedRef = elm.cssSelector();
-                String childRef = doc.getReference() + "!" + childEmbedRef;
-                CachedInputStream content = null;
-                if (childContent.length() > 0) {
-                    content = doc.getStreamFactory().newInputStream(
-                            childContent);
+                docs.add(toChildDoc(doc, elm, elm.cssSelector(), parentMeta));
+            }
+        } catch (IOException e) {
+            throw new ImporterHandlerException(
+                    "Cannot parse document into a DOM-tree.", e);
+        }
+        return docs;
+    }
+
+    private List<Doc> streamSplit(HandlerDoc doc, InputStream input,
+            String inputCharset) throws ImporterHandlerException {
+        List<Doc> docs = new ArrayList<>();
+        Map<String, List<String>> parentMeta =
+                InheritedMetadata.snapshot(doc.getMetadata());
+        try (StreamParser streamer =
+                new StreamParser(DOMUtil.toJSoupParser(getParser()))) {
+            streamer.parse(new InputStreamReader(input, inputCharset),
+                    doc.getReference());
+            Evaluator evaluator = QueryParser.parse(selector);
+            ElementPath path = new ElementPath();
+            Element firstMatch = null;
+            Element elm;
+            while ((elm = streamer.selectNext(evaluator)) != null) {
+                docs.add(toChildDoc(doc, elm, path.reference(elm), parentMeta));
+                if (firstMatch == null) {
+                    // kept until we know it is not the whole document
+                    firstMatch = elm;
                 } else {
-                    content = doc.getStreamFactory().newInputStream();
+                    release(firstMatch, evaluator);
+                    release(elm, evaluator);
                 }
-                Doc childDoc =
-                        new Doc(childRef, content, childMeta);
-
-                DocInfo childInfo = childDoc.getDocInfo();
-                childInfo.addEmbeddedParentReference(doc.getReference());
-                childMeta.set(
-                        DocMetadata.EMBEDDED_REFERENCE, childEmbedRef);
-
-//                childInfo.setEmbeddedReference(childEmbedRef);
-
-//                childMeta.setReference(childRef);
-//                childMeta.setEmbeddedReference(childEmbedRef);
-//                childMeta.setEmbeddedParentReference(doc.getReference());
-//                childMeta.setEmbeddedParentRootReference(doc.getReference());
-                docs.add(childDoc);
             }
-        } catch (IOException e) {
+            // Same as non-streaming: a single match being the document
+            // itself is not split
+            if (docs.size() == 1 && firstMatch.equals(
+                    getBodyElement(streamer.document()))) {
+                docs.clear();
+            }
+        } catch (IOException | UncheckedIOException e) {
             throw new ImporterHandlerException(
                     "Cannot parse document into a DOM-tree.", e);
         }
         return docs;
     }
 
+    // Discards an element content, unless part of an enclosing match
+    // yet to be read. What precedes the element and its ancestors was
+    // entirely read and processed, so it is discarded as well. The element
+    // and its ancestors are kept for positions of elements that follow.
+    private void release(Element elm, Evaluator evaluator) {
+        for (Element parent : elm.parents()) {
+            if (parent.is(evaluator)) {
+                return;
+            }
+        }
+        elm.empty();
+        for (Element e = elm; e != null; e = e.parent()) {
+            Node previous;
+            while ((previous = e.previousSibling()) != null) {
+                previous.remove();
+            }
+        }
+    }
+
+    private Doc toChildDoc(HandlerDoc doc, Element elm, String childEmbedRef,
+            Map<String, List<String>> parentMeta) {
+        Properties childMeta = InheritedMetadata.newChildMetadata(parentMeta);
+        String childContent = elm.outerHtml();
+        String childRef = doc.getReference() + "!" + childEmbedRef;
+        CachedInputStream content = null;
+        if (childContent.length() > 0) {
+            content = doc.getStreamFactory().newInputStream(childContent);
+        } else {
+            content = doc.getStreamFactory().newInputStream();
+        }
+        Doc childDoc = new Doc(childRef, content, childMeta);
+
+        DocInfo childInfo = childDoc.getDocInfo();
+        childInfo.addEmbeddedParentReference(doc.getReference());
+        childMeta.set(DocMetadata.EMBEDDED_REFERENCE, childEmbedRef);
+        return childDoc;
+    }
+
+    // Positional CSS selectors of streamed elements, in document order.
+    // Element positions on the path to the last element are remembered
+    // so positions of following elements are obtained by only
+    // looking at siblings in between, without querying the document
+    // (which may only be partially read or partially discarded).
+    private static final class ElementPath {
+        private final List<Element> elements = new ArrayList<>();
+        private final List<Integer> positions = new ArrayList<>();
+
+        private String reference(Element elm) {
+            List<Element> chain = new ArrayList<>();
+            for (Element e = elm; e != null && !(e instanceof Document);
+                    e = e.parent()) {
+                chain.add(0, e);
+            }
+            StringBuilder b = new StringBuilder();
+            for (int depth = 0; depth < chain.size(); depth++) {
+                Element e = chain.get(depth);
+                int position = position(depth, e);
+                if (depth > 0) {
+                    b.append(" > ");
+                }
+                b.append(e.tagName().replace(':', '|'));
+                // root element has no siblings
+                if (depth > 0) {
+                    b.append(":nth-child(").append(position).append(')');
+                }
+            }
+            return b.toString();
+        }
+
+        private int position(int depth, Element elm) {
+            Element known = null;
+            int knownPosition = 0;
+            if (depth < elements.size()) {
+                known = elements.get(depth);
+                knownPosition = positions.get(depth);
+                // different element at this depth: deeper ones are obsolete
+                if (known != elm) {
+                    elements.subList(depth, elements.size()).clear();
+                    positions.subList(depth, positions.size()).clear();
+                }
+            }
+            if (known == elm) {
+                return knownPosition;
+            }
+            int position = 1;
+            for (Node n = elm.previousSibling(); n != null;
+                    n = n.previousSibling()) {
+                if (n == known) {
+                    position += knownPosition;
+                    break;
+                }
+                if (n instanceof Element) {
+                    position++;
+                }
+            }
+            elements.add(elm);
+            positions.add(position);
+            return position;
+        }
+    }
+
     private Element getBodyElement(Document soupDoc) {
         Element body = soupDoc.body();
         if (body.childNodeSize() == 1) {
@@ -241,6 +403,7 @@ public class DOMSplitter extends AbstractDocumentSplitter
         setSelector(xml.getString("@selector", selector));
         setSourceCharset(xml.getString("@sourceCharset", sourceCharset));
         setParser(xml.getString("@parser", parser));
+        setStreaming(xml.getBoolean("@streaming", streaming));
     }
 
     @Override
@@ -248,6 +411,7 @@ public class DOMSplitter extends AbstractDocumentSplitter
         xml.setAttribute("selector", selector);
         xml.setAttribute("sourceCharset", sourceCharset);
         xml.setAttribute("parser", parser);
+        xml.setAttribute("streaming", streaming);
     }
 
     @Override
@@ -17,18 +17,25 @@ package com.norconex.importer.handler.splitter.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
-import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.multipdf.Splitter;
+import org.apache.pdfbox.io.IOUtils;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.norconex.commons.lang.io.CachedOutputStream;
 import com.norconex.commons.lang.map.Properties;
 import com.norconex.commons.lang.map.PropertyMatcher;
 import com.norconex.commons.lang.text.TextMatcher;
@@ -37,6 +44,7 @@ import com.norconex.commons.lang.xml.XML;
 import com.norconex.importer.doc.Doc;
 import com.norconex.importer.doc.DocInfo;
 import com.norconex.importer.doc.DocMetadata;
+import com.norconex.importer.doc.InheritedMetadata;
 import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.ImporterHandlerException;
 import com.norconex.importer.handler.splitter.AbstractDocumentSplitter;
@@ -72,6 +80,12 @@ import com.norconex.importer.parser.ParseState;
  * Should be used as a pre-parse handler.
  * </p>
  *
+ * <p>
+ * As of 3.2.0, the PDF is read from a temporary file and pages are
+ * extracted one at a time, each written to its own cached stream,
+ * so large PDFs do not have to fit in memory.
+ * </p>
+ *
  * {@nx.xml.usage
  * <handler class="com.norconex.importer.handler.splitter.impl.PDFPageSplitter">
  * {@nx.include
@@ -107,6 +121,9 @@ public class PDFPageSplitter extends AbstractDocumentSplitter
 
     public static final String DEFAULT_REFERENCE_PAGE_PREFIX = "#";
 
+    private static final Logger LOG =
+            LoggerFactory.getLogger(PDFPageSplitter.class);
+
     private String referencePagePrefix = DEFAULT_REFERENCE_PAGE_PREFIX;
 
     public PDFPageSplitter() {
@@ -136,64 +153,83 @@ public class PDFPageSplitter extends AbstractDocumentSplitter
             return pageDocs;
         }
 
-        try (PDDocument document = Loader.loadPDF(input.readAllBytes())) {
-
-            // Make sure we are not splitting single pages.
-            if (document.getNumberOfPages() <= 1) {
-                doc.getMetadata().set(DOC_PDF_PAGE_NO, 1);
-                doc.getMetadata().set(DOC_PDF_TOTAL_PAGES, 1);
-                return pageDocs;
-            }
-
-            Splitter splitter = new Splitter();
-            List<PDDocument> splittedDocuments = splitter.split(document);
-            int pageNo = 0;
-            for (PDDocument page : splittedDocuments) {
-                pageNo++;
-
-                String pageRef = doc.getReference() + referencePagePrefix + pageNo;
-
-                // metadata
-                Properties pageMeta = new Properties();
-                pageMeta.loadFromMap(doc.getMetadata());
-
-                DocInfo pageInfo = new DocInfo(pageRef);
-
-                // pageInfo.setEmbeddedReference(Integer.toString(pageNo));
-                pageMeta.set(DocMetadata.EMBEDDED_REFERENCE,
-                        Integer.toString(pageNo));
-
-                pageInfo.addEmbeddedParentReference(doc.getReference());
-
-                // pageMeta.setReference(pageRef);
-                // pageMeta.setEmbeddedReference(Integer.toString(pageNo));
-                // pageMeta.setEmbeddedParentReference(doc.getReference());
-                // pageMeta.setEmbeddedParentRootReference(doc.getReference());
-
-                pageMeta.set(DOC_PDF_PAGE_NO, pageNo);
-                pageMeta.set(DOC_PDF_TOTAL_PAGES, document.getNumberOfPages());
-
-                // a single page should not be too big to store in memory
-                ByteArrayOutputStream os = new ByteArrayOutputStream();
-                try {
-                    page.save(os);
-                } finally {
-                    page.close();
-                }
-                Doc pageDoc = new Doc(
-                        pageInfo,
-                        doc.getStreamFactory().newInputStream(
-                                os.toInputStream()),
-                        pageMeta);
-                pageDocs.add(pageDoc);
+        Path pdfFile = null;
+        try {
+            // Random access from a file rather than from memory
+            pdfFile = createTempFile(doc, "PDFPageSplitter-", ".pdf");
+            Files.copy(input, pdfFile, StandardCopyOption.REPLACE_EXISTING);
+            try (PDDocument document = Loader.loadPDF(pdfFile.toFile(),
+                    IOUtils.createTempFileOnlyStreamCache())) {
+                splitPages(doc, document, pageDocs);
             }
         } catch (IOException e) {
             throw new ImporterHandlerException(
                     "Could not split PDF: " + doc.getReference(), e);
+        } finally {
+            deleteQuietly(pdfFile);
         }
         return pageDocs;
     }
 
+    private void splitPages(
+            HandlerDoc doc, PDDocument document, List<Doc> pageDocs)
+                    throws IOException {
+        int totalPages = document.getNumberOfPages();
+
+        // Make sure we are not splitting single pages.
+        if (totalPages <= 1) {
+            doc.getMetadata().set(DOC_PDF_PAGE_NO, 1);
+            doc.getMetadata().set(DOC_PDF_TOTAL_PAGES, 1);
+            return;
+        }
+
+        Map<String, List<String>> parentMeta =
+                InheritedMetadata.snapshot(doc.getMetadata());
+        int pageNo = 0;
+        for (PDPage page : document.getPages()) {
+            pageNo++;
+            String pageRef = doc.getReference() + referencePagePrefix + pageNo;
+
+            // metadata
+            Properties pageMeta =
+                    InheritedMetadata.newChildMetadata(parentMeta);
+
+            DocInfo pageInfo = new DocInfo(pageRef);
+
+            pageMeta.set(DocMetadata.EMBEDDED_REFERENCE,
+                    Integer.toString(pageNo));
+
+            pageInfo.addEmbeddedParentReference(doc.getReference());
+
+            pageMeta.set(DOC_PDF_PAGE_NO, pageNo);
+            pageMeta.set(DOC_PDF_TOTAL_PAGES, totalPages);
+
+            // One page at a time, straight to a cached stream
+            CachedOutputStream out = doc.getStreamFactory().newOuputStream();
+            try (PDDocument pageDoc = new PDDocument(
+                    IOUtils.createTempFileOnlyStreamCache())) {
+                pageDoc.importPage(page);
+                pageDoc.save(out);
+                pageDocs.add(new Doc(
+                        pageInfo, out.getInputStream(), pageMeta));
+            } catch (IOException | RuntimeException e) {
+                IOUtils.closeQuietly(out);
+                throw e;
+            }
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.debug("Could not delete temporary PDF file: {}", file, e);
+        }
+    }
+
     @Override
     protected void loadHandlerFromXML(XML xml) {
         setReferencePagePrefix(
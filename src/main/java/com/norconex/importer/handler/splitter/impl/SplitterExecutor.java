@@ -0,0 +1,67 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler.splitter.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pool shared by all documents processed by the same splitter,
+ * created on first use. Threads are daemon threads ending after being
+ * idle for a minute, so a splitter no longer in use does not hold any.
+ * The pool is replaced (and the previous one shut down) when a different
+ * number of threads is requested.
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+final class SplitterExecutor {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final String threadNamePrefix;
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private ThreadPoolExecutor executor;
+
+    SplitterExecutor(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    synchronized ExecutorService get(int threads) {
+        if (executor == null || executor.getMaximumPoolSize() != threads) {
+            shutdown();
+            executor = new ThreadPoolExecutor(threads, threads,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread t = new Thread(r, threadNamePrefix + "-"
+                                + threadCount.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    // Lets already submitted tasks complete
+    synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+}
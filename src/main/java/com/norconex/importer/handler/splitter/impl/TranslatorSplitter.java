@@ -17,28 +17,47 @@ package com.norconex.importer.handler.splitter.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.function.IOSupplier;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.apache.tika.exception.TikaException;
 import org.apache.tika.language.translate.Translator;
-import org.apache.tika.language.translate.impl.CachedTranslator;
 import org.apache.tika.language.translate.impl.MicrosoftTranslator;
 import org.apache.tika.language.translate.impl.MosesTranslator;
 import org.apache.tika.language.translate.impl.YandexTranslator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.memetix.mst.language.Language;
 import com.norconex.commons.lang.collection.CollectionUtil;
@@ -113,10 +132,39 @@ import com.norconex.importer.parser.ParseState;
  * will always be the translations.
  * </p>
  *
+ * <h3>Custom translator</h3>
+ * <p>
+ * <b>Since 3.2.0</b>, the "api" can also be the fully qualified class name
+ * of a Tika {@link Translator} implementation having an empty constructor
+ * (e.g., a local translation service or an offline stand-in).
+ * </p>
+ *
+ * <h3>Performance</h3>
+ * <p>
+ * <b>Since 3.2.0</b>, the following options can reduce translation time
+ * and cost:
+ * </p>
+ * <ul>
+ *   <li><b>requestSize</b>: Maximum number of characters of content
+ *       sent per translation request (default is 2048). Larger values
+ *       mean fewer requests, if supported by the translation API.</li>
+ *   <li><b>cacheDir</b>: Directory where translations are kept
+ *       and reused across documents and importer executions. Translations
+ *       are identified by their source text, source and target languages,
+ *       and API.</li>
+ *   <li><b>threads</b>: Number of target languages translated
+ *       concurrently for a document (default is 1). Threads are shared
+ *       by all documents translated by this splitter. When greater than one,
+ *       the text of a document to translate is held in memory.</li>
+ *   <li><b>maxRequestsPerMinute</b>: Maximum number of requests per minute
+ *       sent to the translation API, shared by all translators using the
+ *       same API (default is unlimited).</li>
+ * </ul>
+ *
  * {@nx.xml.usage
  * <handler class=
  * "com.norconex.importer.handler.splitter.impl.TranslatorSplitter"
- * api="(microsoft|google|lingo24|moses|yandex)">
+ * api="(microsoft|google|lingo24|moses|yandex|(Translator class name))">
  *
  * {@nx.include
  * com.norconex.importer.handler.AbstractImporterHandler#restrictTo}
@@ -127,6 +175,10 @@ import com.norconex.importer.parser.ParseState;
  * <sourceLanguageField>(field containing language)</sourceLanguageField>
  * <sourceLanguage>(language when no source language field)</sourceLanguage>
  * <targetLanguages>(coma-separated list of languages)</targetLanguages>
+ * <requestSize>(max characters per translation request)</requestSize>
+ * <cacheDir>(directory where to keep translations)</cacheDir>
+ * <threads>(number of languages translated concurrently)</threads>
+ * <maxRequestsPerMinute>(max API requests per minute)</maxRequestsPerMinute>
  *
  * <!-- Microsoft -->
  * <clientId>...</clientId>
@@ -173,7 +225,19 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
     public static final String API_MOSES = "moses";
     public static final String API_YANDEX = "yandex";
 
-    private final Map<String, TranslatorStrategy> translators = new HashMap<>();
+    private static final Logger LOG =
+            LoggerFactory.getLogger(TranslatorSplitter.class);
+
+    // Rate limiters shared by all translators of the same API and rate
+    private static final Map<String, RateLimiter> RATE_LIMITERS =
+            new ConcurrentHashMap<>();
+
+    // Pooled translators are created from current settings and are
+    // discarded when settings they depend on change.
+    private final transient Map<String, TranslatorStrategy> translators =
+            new ConcurrentHashMap<>();
+    private final transient SplitterExecutor executor =
+            new SplitterExecutor("TranslatorSplitter");
 
     private String api;
 
@@ -203,6 +267,11 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
     private String smtPath;
     private String scriptPath;
 
+    private int requestSize;
+    private Path cacheDir;
+    private int threads = 1;
+    private int maxRequestsPerMinute;
+
     /**
      * Constructor.
      */
@@ -302,8 +371,6 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
 
         validateProperties(doc);
 
-        List<Doc> translatedDocs = new ArrayList<>();
-
         CachedInputStream cachedInput = null;
         if (input instanceof CachedInputStream) {
             cachedInput = (CachedInputStream) input;
@@ -311,32 +378,105 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
             cachedInput = doc.getStreamFactory().newInputStream(input);
         }
 
+        List<String> langs = new ArrayList<>();
         for (String lang : targetLanguages) {
-            if (Objects.equals(sourceLanguage, lang)) {
-                continue;
+            if (!Objects.equals(sourceLanguage, lang)) {
+                langs.add(lang);
             }
+        }
+        if (threads > 1 && langs.size() > 1) {
+            return translateConcurrently(doc, cachedInput, langs);
+        }
+
+        List<Doc> translatedDocs = new ArrayList<>();
+        for (String lang : langs) {
             cachedInput.rewind();
-            try (TextReader reader = new TextReader(
-                    new InputStreamReader(cachedInput, StandardCharsets.UTF_8),
-                    getTranslatorStrategy().getReadSize())) {
-                translatedDocs.add(
-                        translateDocument(doc, doc.getStreamFactory(), lang, reader));
+            try (TextReader reader = newTextReader(cachedInput)) {
+                translatedDocs.add(translateDocument(
+                        doc, lang, doc.getMetadata(), reader::readText));
             } catch (Exception e) {
-                String extra = "";
-                if (API_GOOGLE.equals(api)
-                        && e instanceof IndexOutOfBoundsException) {
-                    extra = " \"apiKey\" is likely invalid.";
+                throw translationException(doc, lang, e);
+            }
+        }
+        return translatedDocs;
+    }
+
+    // Each target language is translated on its own thread, with its own
+    // translator. The text to translate is read only once.
+    private List<Doc> translateConcurrently(HandlerDoc doc,
+            CachedInputStream cachedInput, List<String> langs)
+                    throws ImporterHandlerException {
+        List<String> texts = new ArrayList<>();
+        if (!ignoreContent) {
+            cachedInput.rewind();
+            try (TextReader reader = newTextReader(cachedInput)) {
+                String text = null;
+                while ((text = reader.readText()) != null) {
+                    texts.add(text);
                 }
+            } catch (IOException e) {
                 throw new ImporterHandlerException(
-                        "Translation failed form \"" + sourceLanguage
-                                + "\" to \"" + lang + "\" for: \""
-                                + doc.getReference() + "\"." + extra,
-                        e);
+                        "Could not read content to translate for: "
+                                + doc.getReference(), e);
+            }
+        }
+        // Metadata is copied as it may not support concurrent reads
+        Properties metadata = new Properties();
+        metadata.loadFromMap(doc.getMetadata());
+
+        List<Doc> translatedDocs = new ArrayList<>();
+        ExecutorService pool = executor.get(threads);
+        List<Future<Doc>> futures = new ArrayList<>();
+        try {
+            for (String lang : langs) {
+                futures.add(pool.submit(() -> {
+                    Iterator<String> it = texts.iterator();
+                    return translateDocument(doc, lang, metadata,
+                            () -> it.hasNext() ? it.next() : null);
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    translatedDocs.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    throw translationException(doc, langs.get(i),
+                            e.getCause() instanceof Exception
+                                    ? (Exception) e.getCause() : e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImporterHandlerException(
+                    "Translation interrupted for: " + doc.getReference(), e);
+        } finally {
+            for (Future<Doc> future : futures) {
+                future.cancel(true);
             }
         }
         return translatedDocs;
     }
 
+    private TextReader newTextReader(CachedInputStream input) {
+        return new TextReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8),
+                requestSize > 0
+                        ? requestSize : getTranslatorStrategy().getReadSize());
+    }
+
+    private ImporterHandlerException translationException(
+            HandlerDoc doc, String lang, Exception e) {
+        String extra = "";
+        if (API_GOOGLE.equals(api)
+                && e instanceof IndexOutOfBoundsException) {
+            extra = " \"apiKey\" is likely invalid.";
+        }
+        return new ImporterHandlerException(
+                "Translation failed form \"" + sourceLanguage
+                        + "\" to \"" + lang + "\" for: \""
+                        + doc.getReference() + "\"." + extra,
+                e);
+    }
+
     public boolean isIgnoreContent() {
         return ignoreContent;
     }
@@ -400,6 +540,7 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
 
     public void setApiKey(String apiKey) {
         this.apiKey = apiKey;
+        clearTranslators();
     }
 
     public String getUserKey() {
@@ -408,6 +549,7 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
 
     public void setUserKey(String userKey) {
         this.userKey = userKey;
+        clearTranslators();
     }
 
     public String getSmtPath() {
@@ -416,6 +558,7 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
 
     public void setSmtPath(String smtPath) {
         this.smtPath = smtPath;
+        clearTranslators();
     }
 
     public String getScriptPath() {
@@ -424,10 +567,15 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
 
     public void setScriptPath(String scriptPath) {
         this.scriptPath = scriptPath;
+        clearTranslators();
     }
 
     private TranslatorStrategy getTranslatorStrategy() {
         TranslatorStrategy strategy = translators.get(api);
+        if (strategy == null && StringUtils.contains(api, '.')) {
+            strategy = translators.computeIfAbsent(
+                    api, CustomTranslatorStrategy::new);
+        }
         if (strategy == null) {
             throw new ImporterRuntimeException(
                     "Unsupported translation api: " + api);
@@ -435,16 +583,30 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
         return strategy;
     }
 
+    // "metadata" is the parent document metadata
+    private Doc translateDocument(HandlerDoc doc, String targetLang,
+            Properties metadata, IOSupplier<String> texts) throws Exception {
+        TranslatorStrategy strategy = getTranslatorStrategy();
+        Translator translator =
+                strategy.borrowTranslator(this::decorateTranslator);
+        try {
+            return translateDocument(doc, doc.getStreamFactory(),
+                    translator, targetLang, metadata, texts);
+        } finally {
+            strategy.returnTranslator(translator);
+        }
+    }
+
     private Doc translateDocument(HandlerDoc doc,
-            CachedStreamFactory streamFactory, String targetLang,
-            TextReader reader) throws Exception {
+            CachedStreamFactory streamFactory, Translator translator,
+            String targetLang, Properties metadata, IOSupplier<String> texts)
+                    throws Exception {
 
-        Translator translator = getTranslatorStrategy().getTranslator();
-        String sourceLang = getResolvedSourceLanguage(doc);
+        String sourceLang = getResolvedSourceLanguage(metadata);
 
         // --- Do Fields ---
         Properties childMeta = translateFields(
-                doc, translator, sourceLang, targetLang);
+                metadata, translator, sourceLang, targetLang);
 
         // --- Do Content ---
         CachedInputStream childInput = null;
@@ -452,15 +614,11 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
             CachedOutputStream childContent = streamFactory.newOuputStream();
 
             String text = null;
-            while ((text = reader.readText()) != null) {
+            while ((text = texts.get()) != null) {
                 String txt = translator.translate(text, sourceLang, targetLang);
                 childContent.write(txt.getBytes(StandardCharsets.UTF_8));
                 childContent.flush();
             }
-            try {
-                reader.close();
-            } catch (IOException ie) {
-                /* NOOP */}
             childInput = childContent.getInputStream();
         } else {
             childInput = streamFactory.newInputStream();
@@ -492,7 +650,7 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
     }
 
     private Properties translateFields(
-            HandlerDoc doc, Translator translator,
+            Properties metadata, Translator translator,
             String sourceLang, String targetLang) throws Exception {
         Properties childMeta = new Properties();
         if (ignoreNonTranslatedFields) {
@@ -500,13 +658,13 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
                 return childMeta;
             }
             for (String key : fieldsToTranslate) {
-                List<String> values = doc.getMetadata().get(key);
+                List<String> values = metadata.get(key);
                 if (values != null) {
                     childMeta.put(key, values);
                 }
             }
         } else {
-            childMeta.loadFromMap(doc.getMetadata());
+            childMeta.loadFromMap(metadata);
             if (fieldsToTranslate.isEmpty()) {
                 return childMeta;
             }
@@ -514,7 +672,7 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
 
         StringBuilder b = new StringBuilder();
         for (String fld : fieldsToTranslate) {
-            List<String> values = doc.getMetadata().get(fld);
+            List<String> values = metadata.get(fld);
             for (String value : values) {
                 b.append("[" + value.replaceAll("[\n\\[\\]]", " ") + "]");
             }
@@ -548,7 +706,7 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
                     "No translation target language(s) specified.");
         }
 
-        String sourceLang = getResolvedSourceLanguage(doc);
+        String sourceLang = getResolvedSourceLanguage(doc.getMetadata());
         if (sourceLang == null || Language.fromString(sourceLang) == null) {
             throw new ImporterHandlerException(
                     "Unsupported source language: \"" + sourceLang + "\"");
@@ -562,8 +720,8 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
         getTranslatorStrategy().validateProperties();
     }
 
-    private String getResolvedSourceLanguage(HandlerDoc doc) {
-        String lang = doc.getMetadata().getString(sourceLanguageField);
+    private String getResolvedSourceLanguage(Properties metadata) {
+        String lang = metadata.getString(sourceLanguageField);
         if (StringUtils.isBlank(lang)) {
             lang = sourceLanguage;
         }
@@ -576,6 +734,7 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
 
     public void setClientId(String clientId) {
         this.clientId = clientId;
+        clearTranslators();
     }
 
     public String getClientSecret() {
@@ -584,6 +743,7 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
 
     public void setClientSecret(String clientSecret) {
         this.clientSecret = clientSecret;
+        clearTranslators();
     }
 
     public String getApi() {
@@ -594,6 +754,86 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
         this.api = api;
     }
 
+    /**
+     * Gets the maximum number of characters of content sent per
+     * translation request.
+     * @return request size (0 or less uses the API default)
+     * @since 3.2.0
+     */
+    public int getRequestSize() {
+        return requestSize;
+    }
+    /**
+     * Sets the maximum number of characters of content sent per
+     * translation request.
+     * @param requestSize request size (0 or less uses the API default)
+     * @since 3.2.0
+     */
+    public void setRequestSize(int requestSize) {
+        this.requestSize = requestSize;
+    }
+
+    /**
+     * Gets the directory where translations are kept for reuse.
+     * @return cache directory (<code>null</code> if not caching on disk)
+     * @since 3.2.0
+     */
+    public Path getCacheDir() {
+        return cacheDir;
+    }
+    /**
+     * Sets the directory where translations are kept for reuse.
+     * @param cacheDir cache directory (<code>null</code> to not
+     *     cache on disk)
+     * @since 3.2.0
+     */
+    public void setCacheDir(Path cacheDir) {
+        this.cacheDir = cacheDir;
+        clearTranslators();
+    }
+
+    /**
+     * Gets the number of target languages translated concurrently.
+     * @return number of threads
+     * @since 3.2.0
+     */
+    public int getThreads() {
+        return threads;
+    }
+    /**
+     * Sets the number of target languages translated concurrently.
+     * @param threads number of threads
+     * @since 3.2.0
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+        if (this.threads == 1) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Gets the maximum number of requests per minute sent to the
+     * translation API.
+     * @return maximum requests per minute (0 or less for unlimited)
+     * @since 3.2.0
+     */
+    public int getMaxRequestsPerMinute() {
+        return maxRequestsPerMinute;
+    }
+    /**
+     * Sets the maximum number of requests per minute sent to the
+     * translation API. The limit is shared by all translators
+     * using the same API.
+     * @param maxRequestsPerMinute maximum requests per minute (0 or less
+     *     for unlimited)
+     * @since 3.2.0
+     */
+    public void setMaxRequestsPerMinute(int maxRequestsPerMinute) {
+        this.maxRequestsPerMinute = maxRequestsPerMinute;
+        clearTranslators();
+    }
+
     public static void main(String[] args) throws ImporterHandlerException {
         new TranslatorSplitter().splitApplicableDocument(
                 null, null, null, ParseState.PRE);
@@ -620,6 +860,11 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
         setUserKey(xml.getString("userKey", userKey));
         setSmtPath(xml.getString("smtPath", smtPath));
         setScriptPath(xml.getString("scriptPath", scriptPath));
+        setRequestSize(xml.getInteger("requestSize", requestSize));
+        setCacheDir(xml.getPath("cacheDir", cacheDir));
+        setThreads(xml.getInteger("threads", threads));
+        setMaxRequestsPerMinute(xml.getInteger(
+                "maxRequestsPerMinute", maxRequestsPerMinute));
     }
 
     @Override
@@ -637,44 +882,262 @@ public class TranslatorSplitter extends AbstractDocumentSplitter {
         xml.addElement("userKey", userKey);
         xml.addElement("smtPath", smtPath);
         xml.addElement("scriptPath", scriptPath);
+        xml.addElement("requestSize", requestSize);
+        xml.addElement("cacheDir", cacheDir);
+        xml.addElement("threads", threads);
+        xml.addElement("maxRequestsPerMinute", maxRequestsPerMinute);
     }
 
     @Override
     public boolean equals(final Object other) {
-        return EqualsBuilder.reflectionEquals(this, other, "translators");
+        return EqualsBuilder.reflectionEquals(this, other);
     }
 
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this, "translators");
+        return HashCodeBuilder.reflectionHashCode(this);
     }
 
     @Override
     public String toString() {
         return new ReflectionToStringBuilder(
-                this, ToStringStyle.SHORT_PREFIX_STYLE)
-                .setExcludeFieldNames("translators")
-                .toString();
+                this, ToStringStyle.SHORT_PREFIX_STYLE).toString();
+    }
+
+    // Wraps a new translator with disk caching and rate limiting,
+    // as configured.
+    private Translator decorateTranslator(Translator translator) {
+        Translator t = translator;
+        if (maxRequestsPerMinute > 0) {
+            t = new RateLimitedTranslator(t, RATE_LIMITERS.computeIfAbsent(
+                    api + "|" + maxRequestsPerMinute,
+                    k -> new RateLimiter(maxRequestsPerMinute)));
+        }
+        if (cacheDir != null) {
+            t = new DiskCachedTranslator(t, api, cacheDir);
+        }
+        return t;
+    }
+
+    private void clearTranslators() {
+        translators.values().forEach(TranslatorStrategy::clearPool);
     }
 
     private abstract static class TranslatorStrategy {
         private static final int DEFAULT_READ_SIZE = DataUnit.KB.toBytes(2).intValue();
-        private Translator translator;
+        private static final int MAX_CACHED_TRANSLATIONS = 1000;
+        // Translators are not assumed to be thread-safe: each thread
+        // borrows its own.
+        private final Queue<Translator> pool = new ConcurrentLinkedQueue<>();
+        // Most recent translations, shared by pooled translators
+        private final Map<String, String> recentTranslations =
+                new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<String, String> eldest) {
+                return size() > MAX_CACHED_TRANSLATIONS;
+            }
+        };
 
         public int getReadSize() {
             return DEFAULT_READ_SIZE;
         }
 
-        public final Translator getTranslator() {
+        public final Translator borrowTranslator(
+                UnaryOperator<Translator> decorator) {
+            Translator translator = pool.poll();
             if (translator == null) {
-                translator = new CachedTranslator(createTranslator());
+                translator = new MemoryCachedTranslator(
+                        decorator.apply(createTranslator()),
+                        recentTranslations);
             }
             return translator;
         }
+        public final void returnTranslator(Translator translator) {
+            pool.offer(translator);
+        }
+        public final void clearPool() {
+            pool.clear();
+        }
 
         protected abstract Translator createTranslator();
 
         public abstract void validateProperties()
                 throws ImporterHandlerException;
     }
+
+    // A Translator implementation class name given as "api"
+    private static class CustomTranslatorStrategy extends TranslatorStrategy {
+        private final String className;
+        private CustomTranslatorStrategy(String className) {
+            this.className = className;
+        }
+        @Override
+        protected Translator createTranslator() {
+            try {
+                return (Translator) Class.forName(className)
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new ImporterRuntimeException(
+                        "Cannot create translator: " + className, e);
+            }
+        }
+        @Override
+        public void validateProperties() {
+            //NOOP
+        }
+    }
+
+    // Translations kept in a size-bounded map, to save requests for
+    // text repeated across documents (e.g., common field values).
+    private static class MemoryCachedTranslator implements Translator {
+        private final Translator translator;
+        private final Map<String, String> cache;
+        private MemoryCachedTranslator(
+                Translator translator, Map<String, String> cache) {
+            this.translator = translator;
+            this.cache = cache;
+        }
+        @Override
+        public String translate(String text, String sourceLanguage,
+                String targetLanguage) throws TikaException, IOException {
+            String key = sourceLanguage + "\n" + targetLanguage + "\n" + text;
+            String translation;
+            synchronized (cache) {
+                translation = cache.get(key);
+            }
+            if (translation == null) {
+                translation = translator.translate(
+                        text, sourceLanguage, targetLanguage);
+                if (translation != null) {
+                    synchronized (cache) {
+                        cache.put(key, translation);
+                    }
+                }
+            }
+            return translation;
+        }
+        @Override
+        public String translate(String text, String targetLanguage)
+                throws TikaException, IOException {
+            return translator.translate(text, targetLanguage);
+        }
+        @Override
+        public boolean isAvailable() {
+            return translator.isAvailable();
+        }
+    }
+
+    // Translations kept on disk, one file per translation, named after
+    // a hash of the API, languages, and source text.
+    private static class DiskCachedTranslator implements Translator {
+        private final Translator translator;
+        private final String api;
+        private final Path dir;
+        private DiskCachedTranslator(
+                Translator translator, String api, Path dir) {
+            this.translator = translator;
+            this.api = api;
+            this.dir = dir;
+        }
+        @Override
+        public String translate(String text, String sourceLanguage,
+                String targetLanguage) throws TikaException, IOException {
+            String hash = hash(api + "\n" + sourceLanguage + "\n"
+                    + targetLanguage + "\n" + text);
+            Path file = dir.resolve(hash.substring(0, 2)).resolve(hash);
+            if (Files.isRegularFile(file)) {
+                return Files.readString(file, StandardCharsets.UTF_8);
+            }
+            String translation = translator.translate(
+                    text, sourceLanguage, targetLanguage);
+            if (translation != null) {
+                // Written to a temporary file first so other threads or
+                // processes never read a partial translation.
+                Files.createDirectories(file.getParent());
+                Path tmp = Files.createTempFile(
+                        file.getParent(), hash, ".tmp");
+                try {
+                    Files.writeString(tmp, translation, StandardCharsets.UTF_8);
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    LOG.warn("Could not cache translation to {}.", file, e);
+                    Files.deleteIfExists(tmp);
+                }
+            }
+            return translation;
+        }
+        @Override
+        public String translate(String text, String targetLanguage)
+                throws TikaException, IOException {
+            return translator.translate(text, targetLanguage);
+        }
+        @Override
+        public boolean isAvailable() {
+            return translator.isAvailable();
+        }
+        private static String hash(String key) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance(
+                        "SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new ImporterRuntimeException(e);
+            }
+        }
+    }
+
+    private static class RateLimitedTranslator implements Translator {
+        private final Translator translator;
+        private final RateLimiter limiter;
+        private RateLimitedTranslator(
+                Translator translator, RateLimiter limiter) {
+            this.translator = translator;
+            this.limiter = limiter;
+        }
+        @Override
+        public String translate(String text, String sourceLanguage,
+                String targetLanguage) throws TikaException, IOException {
+            limiter.acquire();
+            return translator.translate(text, sourceLanguage, targetLanguage);
+        }
+        @Override
+        public String translate(String text, String targetLanguage)
+                throws TikaException, IOException {
+            limiter.acquire();
+            return translator.translate(text, targetLanguage);
+        }
+        @Override
+        public boolean isAvailable() {
+            return translator.isAvailable();
+        }
+    }
+
+    // Spaces requests evenly: one every (60 / max requests) seconds.
+    private static class RateLimiter {
+        private final long intervalNanos;
+        private long next;
+        private RateLimiter(int maxPerMinute) {
+            intervalNanos = TimeUnit.MINUTES.toNanos(1) / maxPerMinute;
+        }
+        private void acquire() throws InterruptedIOException {
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, next);
+                next = slot + intervalNanos;
+                wait = slot - now;
+            }
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(
+                            "Interrupted while waiting to translate.");
+                }
+            }
+        }
+    }
 }
@@ -14,15 +14,22 @@
  */
 package com.norconex.importer.handler.splitter.impl;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -30,21 +37,16 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.apache.commons.text.StringEscapeUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.xml.sax.Attributes;
-import org.xml.sax.SAXException;
-import org.xml.sax.SAXParseException;
-import org.xml.sax.helpers.DefaultHandler;
+
 
 import com.norconex.commons.lang.io.CachedOutputStream;
 import com.norconex.commons.lang.map.Properties;
 import com.norconex.commons.lang.xml.IXMLConfigurable;
 import com.norconex.commons.lang.xml.XML;
-import com.norconex.commons.lang.xml.XMLUtil;
 import com.norconex.importer.doc.Doc;
 import com.norconex.importer.doc.DocInfo;
 import com.norconex.importer.doc.DocMetadata;
+import com.norconex.importer.doc.InheritedMetadata;
 import com.norconex.importer.handler.CommonRestrictions;
 import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.ImporterHandlerException;
@@ -61,6 +63,11 @@ import com.norconex.importer.parser.ParseState;
  * parsers, such as {@link DOMSplitter}, but is more efficient on large
  * documents.
  * </p>
+ * <p>
+ * As of 3.2.0, the XML is pulled (StAX) and each matching element is
+ * written to its own cached stream as it is read. A child document is
+ * created as soon as the matching element end tag is reached.
+ * </p>
  *
  * <h2>Element matching</h2>
  * <p>
@@ -126,9 +133,6 @@ import com.norconex.importer.parser.ParseState;
 public class XMLStreamSplitter extends AbstractDocumentSplitter
         implements IXMLConfigurable {
 
-    private static final Logger LOG =
-            LoggerFactory.getLogger(XMLStreamSplitter.class);
-
     private String path;
 
     public XMLStreamSplitter() {
@@ -150,18 +154,38 @@ public class XMLStreamSplitter extends AbstractDocumentSplitter
             ParseState parseState) throws ImporterHandlerException {
 
         List<Doc> splitDocs = new ArrayList<>();
-
+        XMLStreamReader reader = null;
         try {
-            XmlHandler h = new XmlHandler(doc,
-                    Arrays.asList(StringUtils.split(path, '/')), splitDocs);
-            XMLUtil.createSaxParserFactory().newSAXParser().parse(input, h);
-        } catch (SAXException | IOException | ParserConfigurationException e) {
+            reader = createInputFactory().createXMLStreamReader(input);
+            new RecordReader(doc, Arrays.asList(
+                    StringUtils.split(path, '/')), splitDocs).read(reader);
+        } catch (XMLStreamException | IOException e) {
             throw new ImporterHandlerException(
                     "Could not split XML document: " + doc.getReference(), e);
+        } finally {
+            closeQuietly(reader);
         }
         return splitDocs;
     }
 
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(
+                XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                //NOOP
+            }
+        }
+    }
+
     @Override
     protected void loadHandlerFromXML(XML xml) {
         setPath(xml.getString("@path", path));
@@ -186,108 +210,132 @@ public class XMLStreamSplitter extends AbstractDocumentSplitter
                 this, ToStringStyle.SHORT_PREFIX_STYLE).toString();
     }
 
-    class XmlHandler extends DefaultHandler {
+    // Pulls XML events, writing matching elements as they are read.
+    private static class RecordReader {
 
         private final List<String> splitPath;
         private final List<Doc> splitDocs;
         private final HandlerDoc xmlDoc;
+        private final Map<String, List<String>> parentMeta;
         private final List<String> currentPath = new ArrayList<>();
-        private PrintWriter w;
+        private Writer w;
         private CachedOutputStream out;
 
-        public XmlHandler(
+        private RecordReader(
                 HandlerDoc xmlDoc,
                 List<String> splitPath,
                 List<Doc> splitDocs) {
-            super();
             this.xmlDoc = xmlDoc;
+            this.parentMeta = InheritedMetadata.snapshot(xmlDoc.getMetadata());
             this.splitDocs = splitDocs;
             this.splitPath = splitPath;
         }
 
-        @Override
-        public void startElement(String uri, String localName, String qName,
-                Attributes attributes) throws SAXException {
+        private void read(XMLStreamReader reader)
+                throws XMLStreamException, IOException {
+            try {
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        startElement(reader);
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        endElement(reader);
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        if (w != null && !reader.isWhiteSpace()) {
+                            w.write(esc(reader.getText()));
+                        }
+                        break;
+                    default:
+                        break;
+                    }
+                }
+            } finally {
+                if (w != null) {
+                    w.close();
+                }
+            }
+        }
 
+        private void startElement(XMLStreamReader reader) throws IOException {
+            String qName = qName(reader.getPrefix(), reader.getLocalName());
             currentPath.add(qName);
-
-            if (currentPath.equals(splitPath)) {
+            if (w == null && isSplitPath()) {
                 out = xmlDoc.getStreamFactory().newOuputStream();
-                w = new PrintWriter(out);
+                w = new BufferedWriter(
+                        new OutputStreamWriter(out, StandardCharsets.UTF_8));
             }
-
             if (w != null) {
-                w.print('<');
-                w.print(esc(qName));
-                for (int i = 0; i < attributes.getLength(); i++) {
-                    w.print(' ' + esc(attributes.getQName(i)) + "=\""
-                            + esc(attributes.getValue(i)) + "\"");
+                w.write('<');
+                w.write(esc(qName));
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    String prefix = reader.getNamespacePrefix(i);
+                    w.write(StringUtils.isEmpty(prefix)
+                            ? " xmlns" : " xmlns:" + esc(prefix));
+                    writeAttributeValue(reader.getNamespaceURI(i));
+                }
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    w.write(' ');
+                    w.write(esc(qName(reader.getAttributePrefix(i),
+                            reader.getAttributeLocalName(i))));
+                    writeAttributeValue(reader.getAttributeValue(i));
                 }
-                w.print('>');
+                w.write('>');
             }
         }
 
-        @Override
-        public void characters(char[] ch, int start, int length)
-                throws SAXException {
+        private void endElement(XMLStreamReader reader) throws IOException {
             if (w != null) {
-                String ctnt = new String(ch, start, length);
-                ctnt = ctnt.replaceFirst("^\\s+$", "");
-                w.write(esc(ctnt));
-            }
-        }
-
-        @Override
-        public void endElement(String uri, String localName, String qName)
-                throws SAXException {
-            try {
-                if (w != null) {
-                    w.print("</" + esc(qName) + ">");
-                    if (currentPath.equals(splitPath)) {
-                        w.flush();
-                        Properties childMeta = new Properties();
-                        childMeta.loadFromMap(xmlDoc.getMetadata());
-                        String embedRef = Integer.toString(splitDocs.size());
-                        Doc childDoc = new Doc(
-                                xmlDoc.getReference() + "!" + embedRef,
-                                out.getInputStream(),
-                                childMeta);
-                        w.close();
-                        out = null;
-                        w = null;
-                        DocInfo childInfo = childDoc.getDocInfo();
-                        childInfo.addEmbeddedParentReference(
-                                xmlDoc.getReference());
-                        childMeta.set(
-                                DocMetadata.EMBEDDED_REFERENCE, embedRef);
-                        splitDocs.add(childDoc);
-                    }
+                w.write("</");
+                w.write(esc(qName(
+                        reader.getPrefix(), reader.getLocalName())));
+                w.write('>');
+                if (isSplitPath()) {
+                    w.flush();
+                    Properties childMeta =
+                            InheritedMetadata.newChildMetadata(parentMeta);
+                    String embedRef = Integer.toString(splitDocs.size());
+                    Doc childDoc = new Doc(
+                            xmlDoc.getReference() + "!" + embedRef,
+                            out.getInputStream(),
+                            childMeta);
+                    w.close();
+                    w = null;
+                    out = null;
+                    DocInfo childInfo = childDoc.getDocInfo();
+                    childInfo.addEmbeddedParentReference(
+                            xmlDoc.getReference());
+                    childMeta.set(DocMetadata.EMBEDDED_REFERENCE, embedRef);
+                    splitDocs.add(childDoc);
                 }
-            } catch (IOException e) {
-                throw new SAXException("Cannot parse XML for document: "
-                        + xmlDoc.getReference(), e);
             }
-
             if (!currentPath.isEmpty()) {
                 currentPath.remove(currentPath.size() - 1);
             }
         }
-        @Override
-        public void warning(SAXParseException e) throws SAXException {
-            LOG.warn("XML warning: {}.", e.getMessage(), e);
+
+        private boolean isSplitPath() {
+            return currentPath.size() == splitPath.size()
+                    && currentPath.equals(splitPath);
         }
-        @Override
-        public void error(SAXParseException e) throws SAXException {
-            LOG.error("XML error: {}.", e.getMessage(), e);
+
+        private void writeAttributeValue(String value) throws IOException {
+            w.write("=\"");
+            w.write(esc(value));
+            w.write('"');
         }
-        @Override
-        public void fatalError(SAXParseException e) throws SAXException {
-            LOG.error("XML fatal error: {}.", e.getMessage(), e);
+
+        private static String qName(String prefix, String localName) {
+            if (StringUtils.isEmpty(prefix)) {
+                return localName;
+            }
+            return prefix + ":" + localName;
         }
 
-        private String esc(String txt) {
+        private static String esc(String txt) {
             return StringEscapeUtils.escapeXml11(txt);
         }
     }
 }
-
@@ -80,6 +80,8 @@ public abstract class AbstractStringTagger
         StringBuilder b = new StringBuilder();
         String text = null;
         boolean atLeastOnce = false;
+        int readLimit = getContentReadLimit();
+        long charsRead = 0;
         try (TextReader reader = new TextReader(input, maxReadSize)) {
             while ((text = reader.readText()) != null) {
                 b.append(text);
@@ -87,6 +89,10 @@ public abstract class AbstractStringTagger
                 sectionIndex++;
                 b.setLength(0);
                 atLeastOnce = true;
+                charsRead += text.length();
+                if (readLimit >= 0 && charsRead >= readLimit) {
+                    break;
+                }
             }
             // If no content, go at least once in it in case the tagger
             // supports has metadata-related operations that should work
@@ -119,6 +125,21 @@ public abstract class AbstractStringTagger
         this.maxReadSize = maxReadSize;
     }
 
+    /**
+     * Gets the number of characters from the beginning of the content
+     * this tagger needs. Content is read one section at a time (see
+     * {@link #getMaxReadSize()}) and reading stops after the section
+     * reaching that number of characters, leaving the rest of the content
+     * unread. For instance, a value of <code>1</code> means only the
+     * first section is needed.
+     * Default implementation returns <code>-1</code> (all content).
+     * @return number of characters needed, or <code>-1</code> for all
+     * @since 3.2.0
+     */
+    protected int getContentReadLimit() {
+        return -1;
+    }
+
     protected abstract void tagStringContent(
            HandlerDoc doc, StringBuilder content, ParseState parseState,
            int sectionIndex) throws ImporterHandlerException;
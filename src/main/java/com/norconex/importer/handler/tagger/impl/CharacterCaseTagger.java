@@ -122,6 +122,13 @@ public class CharacterCaseTagger extends AbstractDocumentTagger {
     public static final String APPLY_FIELD = "field";
     public static final String APPLY_BOTH = "both";
 
+    private static final Pattern PATTERN_FIRST_LETTER = Pattern.compile(
+            "^(.*?)([\\p{IsAlphabetic}\\p{IsDigit}])");
+    private static final Pattern PATTERN_SENTENCE = Pattern.compile(
+            "[^.!?\\s][^.!?]*(?:[.!?](?!['\"]?\\s|$)[^.!?]*)*"
+          + "[.!?]?['\"]?(?=\\s|$)",
+            Pattern.MULTILINE);
+
     private final TextMatcher fieldMatcher = new TextMatcher();
     private String caseType;
     private String applyTo;
@@ -327,8 +334,7 @@ public class CharacterCaseTagger extends AbstractDocumentTagger {
 
     private String capitalizeString(String value) {
         if (StringUtils.isNotBlank(value)) {
-            Matcher m = Pattern.compile(
-                    "^(.*?)([\\p{IsAlphabetic}\\p{IsDigit}])").matcher(value);
+            Matcher m = PATTERN_FIRST_LETTER.matcher(value);
             if (m.find()) {
                 String firstChar =
                         StringUtils.upperCase(m.group(2), Locale.ENGLISH);
@@ -343,11 +349,7 @@ public class CharacterCaseTagger extends AbstractDocumentTagger {
     private String capitalizeSentences(String value) {
         if (StringUtils.isNotBlank(value)) {
             StringBuffer b = new StringBuffer();
-            Pattern re = Pattern.compile(
-                    "[^.!?\\s][^.!?]*(?:[.!?](?!['\"]?\\s|$)[^.!?]*)*"
-                  + "[.!?]?['\"]?(?=\\s|$)",
-                    Pattern.MULTILINE);
-            Matcher m = re.matcher(value);
+            Matcher m = PATTERN_SENTENCE.matcher(value);
             while (m.find()) {
                 m.appendReplacement(b, capitalizeString(m.group()));
             }
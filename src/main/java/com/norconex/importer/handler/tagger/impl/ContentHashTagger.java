@@ -0,0 +1,240 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler.tagger.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import com.norconex.commons.lang.map.PropertySetter;
+import com.norconex.commons.lang.xml.XML;
+import com.norconex.importer.handler.HandlerDoc;
+import com.norconex.importer.handler.IContentHashConsumer;
+import com.norconex.importer.handler.ImporterHandlerException;
+import com.norconex.importer.handler.tagger.AbstractDocumentTagger;
+import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.util.ContentHasher;
+
+/**
+ * <p>
+ * Stores hashes of the document content in metadata fields, for
+ * identifying documents, detecting content changes, or detecting
+ * near-duplicates. Like with {@link DocumentLengthTagger}, hashes are
+ * for the document content as it is in its current processing stage.
+ * </p>
+ *
+ * <h2>Supported algorithms</h2>
+ * <ul>
+ *   <li>Any message digest supported by the JVM (e.g.,
+ *       <code>SHA-256</code>, <code>SHA-1</code>, <code>MD5</code>).</li>
+ *   <li><code>CRC32</code> and <code>CRC32C</code>: much faster,
+ *       non-cryptographic checksums, good enough to detect content
+ *       changes.</li>
+ *   <li><code>SimHash</code>: 64-bit similarity hash of content words.
+ *       The fewer bits differ between the hashes of two documents,
+ *       the more similar they are.</li>
+ * </ul>
+ * <p>
+ * Hashes are stored as lowercase hexadecimal strings.
+ * </p>
+ *
+ * <h2>Hashing without reading content again</h2>
+ * <p>
+ * The importer computes hashes for the algorithms used by this tagger
+ * while it writes new content (parsed content, and
+ * content modified by transformers or splitters) in the same
+ * processing phase (see {@link IContentHashConsumer}). Matching
+ * hashes are then obtained by this tagger without reading the content.
+ * When the content was not written by the importer since it was received
+ * (e.g., before parsing, with no transformer applied), all configured
+ * hashes are computed in a single read of the content.
+ * </p>
+ *
+ * <h2>Storing values in an existing field</h2>
+ * <p>
+ * If a target field with the same name already exists for a document,
+ * values will be added to the end of the existing value list.
+ * It is possible to change this default behavior by supplying a
+ * {@link PropertySetter}.
+ * </p>
+ *
+ * <p>Can be used both as a pre-parse or post-parse handler.</p>
+ *
+ * {@nx.xml.usage
+ * <handler class="com.norconex.importer.handler.tagger.impl.ContentHashTagger">
+ *
+ *   {@nx.include com.norconex.importer.handler.AbstractImporterHandler#restrictTo}
+ *
+ *   <!-- multiple hash tags allowed -->
+ *   <hash algorithm="(hash algorithm)" toField="(target field)"
+ *       {@nx.include com.norconex.commons.lang.map.PropertySetter#attributes}/>
+ * </handler>
+ * }
+ *
+ * {@nx.xml.example
+ * <handler class="ContentHashTagger">
+ *   <hash algorithm="SHA-256" toField="contentSha256" onSet="replace"/>
+ *   <hash algorithm="SimHash" toField="contentSimHash" onSet="replace"/>
+ * </handler>
+ * }
+ * <p>
+ * The above stores the SHA-256 hash and similarity hash of the
+ * document content in the "contentSha256" and "contentSimHash" fields,
+ * replacing any existing values.
+ * </p>
+ *
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ * @see ContentHasher
+ */
+@SuppressWarnings("javadoc")
+public class ContentHashTagger extends AbstractDocumentTagger
+        implements IContentHashConsumer {
+
+    private final List<HashDetails> hashDetailsList = new ArrayList<>();
+
+    @Override
+    public void tagApplicableDocument(
+            HandlerDoc doc, InputStream document, ParseState parseState)
+                    throws ImporterHandlerException {
+        if (hashDetailsList.isEmpty()) {
+            return;
+        }
+        Map<String, String> hashes;
+        try {
+            hashes = doc.hashContent(document, getContentHashAlgorithms());
+        } catch (IOException e) {
+            throw new ImporterHandlerException(
+                    "Could not hash content of: " + doc.getReference(), e);
+        }
+        for (HashDetails details : hashDetailsList) {
+            PropertySetter.orAppend(details.onSet).apply(
+                    doc.getMetadata(), details.toField,
+                    hashes.get(details.algorithm));
+        }
+    }
+
+    /**
+     * Adds a hash to store, adding to any existing values on the target
+     * field.
+     * @param algorithm hash algorithm
+     * @param toField target field name
+     */
+    public void addHashDetails(String algorithm, String toField) {
+        addHashDetails(algorithm, toField, null);
+    }
+    /**
+     * Adds a hash to store.
+     * @param algorithm hash algorithm
+     * @param toField target field name
+     * @param onSet strategy to use when a value is set over an existing one
+     */
+    public void addHashDetails(
+            String algorithm, String toField, PropertySetter onSet) {
+        if (!ContentHasher.isSupported(algorithm)) {
+            throw new IllegalArgumentException(
+                    "Unsupported hash algorithm: " + algorithm);
+        }
+        if (StringUtils.isBlank(toField)) {
+            throw new IllegalArgumentException(
+                    "'toField' argument cannot be blank.");
+        }
+        hashDetailsList.add(new HashDetails(algorithm, toField, onSet));
+    }
+
+    @Override
+    public Set<String> getContentHashAlgorithms() {
+        Set<String> algorithms = new LinkedHashSet<>();
+        for (HashDetails details : hashDetailsList) {
+            algorithms.add(details.algorithm);
+        }
+        return Collections.unmodifiableSet(algorithms);
+    }
+
+    @Override
+    protected void loadHandlerFromXML(XML xml) {
+        List<XML> nodes = xml.getXMLList("hash");
+        if (!nodes.isEmpty()) {
+            hashDetailsList.clear();
+        }
+        for (XML node : nodes) {
+            addHashDetails(
+                    node.getString("@algorithm", null),
+                    node.getString("@toField", null),
+                    PropertySetter.fromXML(node, null));
+        }
+    }
+
+    @Override
+    protected void saveHandlerToXML(XML xml) {
+        for (HashDetails details : hashDetailsList) {
+            XML node = xml.addElement("hash")
+                    .setAttribute("algorithm", details.algorithm)
+                    .setAttribute("toField", details.toField);
+            PropertySetter.toXML(node, details.onSet);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return EqualsBuilder.reflectionEquals(this, other);
+    }
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+    @Override
+    public String toString() {
+        return new ReflectionToStringBuilder(
+                this, ToStringStyle.SHORT_PREFIX_STYLE).toString();
+    }
+
+    private static class HashDetails {
+        private final String algorithm;
+        private final String toField;
+        private final PropertySetter onSet;
+
+        HashDetails(String algorithm, String toField, PropertySetter onSet) {
+            this.algorithm = algorithm;
+            this.toField = toField;
+            this.onSet = onSet;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return EqualsBuilder.reflectionEquals(this, other);
+        }
+        @Override
+        public int hashCode() {
+            return HashCodeBuilder.reflectionHashCode(this);
+        }
+        @Override
+        public String toString() {
+            return new ReflectionToStringBuilder(
+                    this, ToStringStyle.SHORT_PREFIX_STYLE).toString();
+        }
+    }
+}
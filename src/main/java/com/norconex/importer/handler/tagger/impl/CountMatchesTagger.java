@@ -38,6 +38,7 @@ import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.ImporterHandlerException;
 import com.norconex.importer.handler.tagger.AbstractCharStreamTagger;
 import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.util.regex.TextMatcherPattern;
 
 /**
  * <p>
@@ -105,6 +106,9 @@ public class CountMatchesTagger extends AbstractCharStreamTagger {
 
     private TextMatcher fieldMatcher = new TextMatcher();
     private TextMatcher countMatcher = new TextMatcher();
+    // compiled on first use, recompiled when the count matcher changes
+    private final transient TextMatcherPattern countPattern =
+            new TextMatcherPattern();
     private String toField;
     private PropertySetter onSet;
     private int maxReadSize = TextReader.DEFAULT_MAX_READ_SIZE;
@@ -137,7 +141,7 @@ public class CountMatchesTagger extends AbstractCharStreamTagger {
     private int countFieldMatches(Properties metadata) {
         int count = 0;
         for (String value : metadata.matchKeys(fieldMatcher).valueList()) {
-            Matcher m = countMatcher.toRegexMatcher(value);
+            Matcher m = countPattern().matcher(value);
             while (m.find()) {
                 count++;
             }
@@ -151,7 +155,7 @@ public class CountMatchesTagger extends AbstractCharStreamTagger {
         String text = null;
         try (TextReader tr = new TextReader(reader, maxReadSize)) {
             while ((text = tr.readText()) != null) {
-                Matcher m = countMatcher.toRegexMatcher(text);
+                Matcher m = countPattern().matcher(text);
                 while (m.find()) {
                     count++;
                 }
@@ -162,6 +166,10 @@ public class CountMatchesTagger extends AbstractCharStreamTagger {
         return count;
     }
 
+    private Pattern countPattern() {
+        return countPattern.get(countMatcher);
+    }
+
     /**
      * Gets the maximum number of characters to read from content for tagging
      * at once. Default is {@link TextReader#DEFAULT_MAX_READ_SIZE}.
@@ -29,7 +29,8 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -213,6 +214,7 @@ public class DOMTagger extends AbstractDocumentTagger {
     private String sourceCharset = null;
     private String fromField = null;
     private String parser = DOMUtil.PARSER_HTML;
+    private transient volatile CompiledExtraction[] compiledExtractions;
 
     /**
      * Constructor.
@@ -294,8 +296,10 @@ public class DOMTagger extends AbstractDocumentTagger {
                 for (int i = 0; i < fromValues.size(); i++) {
                     String fromValue = fromValues.get(i);
                     if (StringUtils.isNotBlank(fromValue)) {
-                        fromValues.set(i, handle(Jsoup.parse(fromValue, ref,
-                                DOMUtil.toJSoupParser(getParser())), meta));
+                        Document fromDoc = Jsoup.parse(fromValue, ref,
+                                DOMUtil.toJSoupParser(getParser()));
+                        handle(fromDoc, meta);
+                        fromValues.set(i, fromDoc.toString());
                     }
                 }
                 meta.setList(getFromField(), fromValues);
@@ -305,8 +309,15 @@ public class DOMTagger extends AbstractDocumentTagger {
                         parseState,
                         sourceCharset,
                         doc.getDocInfo().getContentEncoding());
-                handle(Jsoup.parse(document, inputCharset, ref,
-                        DOMUtil.toJSoupParser(getParser())), meta);
+                Document dom = doc.parseDOM(
+                        document, inputCharset, getParser());
+                // deleting elements modifies the DOM in place: no longer
+                // matches the document content
+                if (extractions.stream().anyMatch(
+                        DOMExtractDetails::isDelete)) {
+                    doc.discardDOMs();
+                }
+                handle(dom, meta);
             }
         } catch (IOException e) {
             throw new ImporterHandlerException(
@@ -315,22 +326,63 @@ public class DOMTagger extends AbstractDocumentTagger {
     }
 
 
-    private String handle(Document jsoupDoc, Properties metadata) {
-        for (DOMExtractDetails details : extractions) {
+    private void handle(Document jsoupDoc, Properties metadata) {
+        CompiledExtraction[] compiled = compiledExtractions();
+        List<List<Element>> matches = select(jsoupDoc, compiled);
+        for (int i = 0; i < compiled.length; i++) {
+            DOMExtractDetails details = compiled[i].details;
             List<String> extractedValues = new ArrayList<>();
-            domExtractDoc(extractedValues, jsoupDoc, details);
+            domExtractDoc(extractedValues, matches != null
+                    ? matches.get(i)
+                    : jsoupDoc.select(compiled[i].evaluator), details);
             if (!extractedValues.isEmpty()) {
                 PropertySetter.orAppend(details.getOnSet()).apply(
                         metadata, details.toField, extractedValues);
             }
         }
+    }
+
+    // Evaluates all selectors in a single traversal of the DOM tree.
+    // Returns null when elements are to be deleted, as a deletion
+    // can affect what subsequent selectors match (selectors are then
+    // evaluated one after the other).
+    private List<List<Element>> select(
+            Document jsoupDoc, CompiledExtraction[] compiled) {
+        List<List<Element>> matches = new ArrayList<>(compiled.length);
+        for (CompiledExtraction ce : compiled) {
+            if (ce.details.isDelete()) {
+                return null;
+            }
+            matches.add(new ArrayList<>());
+        }
+        try {
+            for (Element elm : jsoupDoc.getAllElements()) {
+                for (int i = 0; i < compiled.length; i++) {
+                    if (compiled[i].evaluator.matches(jsoupDoc, elm)) {
+                        matches.get(i).add(elm);
+                    }
+                }
+            }
+        } finally {
+            for (CompiledExtraction ce : compiled) {
+                releaseMemos(ce.evaluator);
+            }
+        }
+        return matches;
+    }
 
-        return jsoupDoc.toString();
+    // Structural evaluators (e.g., ancestor or ":has" selectors) remember,
+    // per thread, elements they visited. As of jsoup 1.21.1, they can only
+    // be reset by jsoup itself (Evaluator#reset() is protected), which it
+    // does when selecting. Selecting from an empty element is therefore
+    // used to release elements of the last document.
+    // Tested by DOMTaggerTest#testEvaluatorMemosReleased().
+    static void releaseMemos(Evaluator evaluator) {
+        new Element("reset").select(evaluator);
     }
 
     private void domExtractDoc(List<String> extractedValues,
-            Document doc, DOMExtractDetails details) {
-        Elements elms = doc.select(StringUtils.trim(details.selector));
+            List<Element> elms, DOMExtractDetails details) {
         boolean hasDefault = details.getDefaultValue() != null;
 
         // no elements matching
@@ -362,6 +414,38 @@ public class DOMTagger extends AbstractDocumentTagger {
         }
     }
 
+    // Selectors are compiled once and recompiled only if extractions
+    // or their selectors change.
+    private CompiledExtraction[] compiledExtractions() {
+        CompiledExtraction[] compiled = compiledExtractions;
+        boolean stale = compiled == null
+                || compiled.length != extractions.size();
+        for (int i = 0; !stale && i < compiled.length; i++) {
+            stale = compiled[i].details != extractions.get(i)
+                    || !Objects.equals(compiled[i].selector,
+                            extractions.get(i).getSelector());
+        }
+        if (stale) {
+            compiled = new CompiledExtraction[extractions.size()];
+            for (int i = 0; i < compiled.length; i++) {
+                compiled[i] = new CompiledExtraction(extractions.get(i));
+            }
+            compiledExtractions = compiled;
+        }
+        return compiled;
+    }
+
+    private static final class CompiledExtraction {
+        private final DOMExtractDetails details;
+        private final String selector;
+        private final Evaluator evaluator;
+        private CompiledExtraction(DOMExtractDetails details) {
+            this.details = details;
+            this.selector = details.getSelector();
+            this.evaluator = QueryParser.parse(StringUtils.trim(selector));
+        }
+    }
+
     /**
      * Adds DOM extraction details.
      * @param extractDetails DOM extraction details
@@ -388,15 +472,8 @@ public class DOMTagger extends AbstractDocumentTagger {
      * @since 2.6.0
      */
     public void removeDOMExtractDetails(String selector) {
-        List<DOMExtractDetails> toRemove = new ArrayList<>();
-        for (DOMExtractDetails details : extractions) {
-            if (Objects.equals(details.getSelector(), selector)) {
-                toRemove.add(details);
-            }
-        }
-        synchronized (extractions) {
-            extractions.removeAll(toRemove);
-        }
+        extractions.removeIf(
+                details -> Objects.equals(details.getSelector(), selector));
     }
 
     @Override
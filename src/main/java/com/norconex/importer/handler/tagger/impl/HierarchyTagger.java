@@ -121,12 +121,7 @@ public class HierarchyTagger extends AbstractDocumentTagger {
     private void breakSegments(
             Properties metadata, HierarchyDetails details) {
 
-        Pattern delim;
-        if (details.regex) {
-            delim = Pattern.compile(details.fromSeparator);
-        } else {
-            delim = Pattern.compile(Pattern.quote(details.fromSeparator));
-        }
+        Pattern delim = details.fromSeparatorPattern();
 
         List<String> paths = new ArrayList<>();
         for (String value : metadata.getStrings(details.fromField)) {
@@ -306,6 +301,8 @@ public class HierarchyTagger extends AbstractDocumentTagger {
         private PropertySetter onSet;
         private boolean keepEmptySegments;
         private boolean regex;
+        // compiled on first use, reset when separator or regex flag is set
+        private transient Pattern fromSeparatorPattern;
 
         public HierarchyDetails() {
             super();
@@ -335,6 +332,7 @@ public class HierarchyTagger extends AbstractDocumentTagger {
         }
         public void setFromSeparator(String fromSeparator) {
             this.fromSeparator = fromSeparator;
+            this.fromSeparatorPattern = null;
         }
         public String getToSeparator() {
             return toSeparator;
@@ -388,6 +386,16 @@ public class HierarchyTagger extends AbstractDocumentTagger {
         }
         public void setRegex(boolean regex) {
             this.regex = regex;
+            this.fromSeparatorPattern = null;
+        }
+        private Pattern fromSeparatorPattern() {
+            Pattern pattern = fromSeparatorPattern;
+            if (pattern == null) {
+                pattern = Pattern.compile(regex
+                        ? fromSeparator : Pattern.quote(fromSeparator));
+                fromSeparatorPattern = pattern;
+            }
+            return pattern;
         }
         @Override
         public boolean equals(final Object other) {
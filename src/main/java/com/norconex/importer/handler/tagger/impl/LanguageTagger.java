@@ -18,14 +18,17 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.apache.tika.langdetect.optimaize.OptimaizeLangDetector;
+import org.apache.tika.language.detect.LanguageConfidence;
 import org.apache.tika.language.detect.LanguageDetector;
 import org.apache.tika.language.detect.LanguageResult;
 import org.slf4j.Logger;
@@ -39,6 +42,13 @@ import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.ImporterHandlerException;
 import com.norconex.importer.handler.tagger.AbstractStringTagger;
 import com.norconex.importer.parser.ParseState;
+import com.optimaize.langdetect.DetectedLanguage;
+import com.optimaize.langdetect.LanguageDetectorBuilder;
+import com.optimaize.langdetect.i18n.LdLocale;
+import com.optimaize.langdetect.ngram.NgramExtractors;
+import com.optimaize.langdetect.profiles.BuiltInLanguages;
+import com.optimaize.langdetect.profiles.LanguageProfile;
+import com.optimaize.langdetect.profiles.LanguageProfileReader;
 
 /**
  * <p>
@@ -167,11 +177,23 @@ import com.norconex.importer.parser.ParseState;
  * the default behavior is to try match all languages currently supported.
  * </p>
  *
+ * <p>
+ * Only the first section of content is used for detection (see
+ * "maxReadSize"). <b>Since 3.2.0</b>, you can use a larger section while
+ * keeping detection fast by only analysing a sample of it:
+ * "sampleSize" characters taken from a few ("sampleWindows") evenly
+ * spaced parts of the section. You can also detect the language of a
+ * field values ("fromField") instead of content.
+ * </p>
+ *
  * {@nx.xml.usage
  * <handler class="com.norconex.importer.handler.tagger.impl.LanguageTagger"
  * keepProbabilities="(false|true)"
  * toField="(custom target field to store the language)"
  * fallbackLanguage="(default language when detection failed)"
+ * fromField="(field to detect language from instead of content)"
+ * sampleSize="(max characters analysed, evenly sampled)"
+ * sampleWindows="(number of evenly spaced parts sampled)"
  * {@nx.include
  * com.norconex.importer.handler.tagger.AbstractStringTagger#attributes}>
  *
@@ -209,14 +231,38 @@ public class LanguageTagger extends AbstractStringTagger
 
     private static final Logger LOG = LoggerFactory.getLogger(LanguageTagger.class);
 
-    private LanguageDetector detector;
+    /** @since 3.2.0 */
+    public static final int DEFAULT_SAMPLE_WINDOWS = 4;
+
+    // Same as Tika OptimaizeLangDetector
+    private static final int SHORT_TEXT_LENGTH = 30;
+    private static final double HIGH_CONFIDENCE = 0.9;
+
+    // Tika detectors keep the text being detected so are not thread-safe:
+    // each thread borrows its own.
+    private final transient Queue<LanguageDetector> detectors =
+            new ConcurrentLinkedQueue<>();
+    // Detector for custom languages, which is thread-safe. Built once
+    // as Tika would load the language profiles again for each detector.
+    private transient volatile com.optimaize.langdetect.LanguageDetector
+            languagesDetector;
+    private transient volatile boolean initialized;
     private boolean keepProbabilities;
     private final List<String> languages = new ArrayList<>();
     private String fallbackLanguage;
+    private String fromField;
+    private int sampleSize;
+    private int sampleWindows = DEFAULT_SAMPLE_WINDOWS;
 
     private final Comparator<LanguageResult> langResultComparator = (o1, o2) -> Float.compare(o2.getRawScore(),
             o1.getRawScore());
 
+    // Only the first section is used
+    @Override
+    protected int getContentReadLimit() {
+        return 1;
+    }
+
     @Override
     protected void tagStringContent(HandlerDoc doc, StringBuilder content,
             ParseState parseState, int sectionIndex)
@@ -227,9 +273,15 @@ public class LanguageTagger extends AbstractStringTagger
             return;
         }
 
-        ensureDetectorInitialization();
-
-        List<LanguageResult> results = detector.detectAll(content.toString());
+        String text;
+        if (StringUtils.isNotBlank(fromField)) {
+            // all values detected at once
+            text = StringUtils.join(
+                    doc.getMetadata().getStrings(fromField), '\n');
+        } else {
+            text = sample(content);
+        }
+        List<LanguageResult> results = detect(text);
 
         // leave now if no matches
         if (results.isEmpty()) {
@@ -288,21 +340,162 @@ public class LanguageTagger extends AbstractStringTagger
         this.fallbackLanguage = fallbackLanguage;
     }
 
-    private synchronized void ensureDetectorInitialization()
+    /**
+     * Gets the field to detect the language from instead of the document
+     * content.
+     * @return field name
+     * @since 3.2.0
+     */
+    public String getFromField() {
+        return fromField;
+    }
+    /**
+     * Sets the field to detect the language from instead of the document
+     * content. All field values are analysed together.
+     * @param fromField field name
+     * @since 3.2.0
+     */
+    public void setFromField(String fromField) {
+        this.fromField = fromField;
+    }
+
+    /**
+     * Gets the maximum number of characters analysed for detection.
+     * @return sample size (0 or less to analyse all text read)
+     * @since 3.2.0
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+    /**
+     * Sets the maximum number of characters analysed for detection.
+     * When the first section of content is larger, characters are
+     * sampled from evenly spaced parts of it (see
+     * {@link #setSampleWindows(int)}). Default is 0 (no sampling).
+     * @param sampleSize sample size (0 or less to analyse all text read)
+     * @since 3.2.0
+     */
+    public void setSampleSize(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Gets the number of evenly spaced parts of the text to sample.
+     * @return number of sampled parts
+     * @since 3.2.0
+     */
+    public int getSampleWindows() {
+        return sampleWindows;
+    }
+    /**
+     * Sets the number of evenly spaced parts of the text to sample
+     * when the text is larger than the sample size.
+     * Default is {@value #DEFAULT_SAMPLE_WINDOWS}.
+     * @param sampleWindows number of sampled parts
+     * @since 3.2.0
+     */
+    public void setSampleWindows(int sampleWindows) {
+        this.sampleWindows = sampleWindows;
+    }
+
+    private String sample(CharSequence content) {
+        int length = content.length();
+        if (sampleSize <= 0 || length <= sampleSize) {
+            return content.toString();
+        }
+        int windows = Math.max(1, sampleWindows);
+        int windowSize = Math.max(1, sampleSize / windows);
+        StringBuilder b = new StringBuilder(sampleSize + windows);
+        for (int i = 0; i < windows; i++) {
+            int start = windows == 1 ? 0
+                    : (int) ((long) (length - windowSize) * i / (windows - 1));
+            b.append(content, start, start + windowSize).append('\n');
+        }
+        return b.toString();
+    }
+
+    private List<LanguageResult> detect(String text)
             throws ImporterHandlerException {
+        // No need to load a detector when there is nothing to detect
+        if (StringUtils.isBlank(text)) {
+            return new ArrayList<>();
+        }
+        if (!languages.isEmpty()) {
+            return detectLanguages(text);
+        }
+        LanguageDetector detector = detectors.poll();
         if (detector == null) {
-            OptimaizeLangDetector d = new OptimaizeLangDetector();
-            try {
-                if (languages.isEmpty()) {
-                    d.loadModels();
-                } else {
-                    d.loadModels(new HashSet<>(languages));
+            detector = newDetector();
+        }
+        try {
+            return detector.detectAll(text);
+        } finally {
+            detectors.offer(detector);
+        }
+    }
+
+    private LanguageDetector newDetector() throws ImporterHandlerException {
+        initialized = true;
+        OptimaizeLangDetector d = new OptimaizeLangDetector();
+        try {
+            // default language profiles are loaded once by Tika
+            d.loadModels();
+        } catch (IOException e) {
+            throw new ImporterHandlerException(
+                    "Cannot initialize language detector.", e);
+        }
+        return d;
+    }
+
+    // Results are converted the same way Tika OptimaizeLangDetector does.
+    private List<LanguageResult> detectLanguages(String text)
+            throws ImporterHandlerException {
+        List<LanguageResult> results = new ArrayList<>();
+        for (DetectedLanguage lang : getLanguagesDetector()
+                .getProbabilities(text)) {
+            results.add(new LanguageResult(
+                    lang.getLocale().getLanguage(),
+                    lang.getProbability() > HIGH_CONFIDENCE
+                            ? LanguageConfidence.HIGH
+                            : LanguageConfidence.MEDIUM,
+                    (float) lang.getProbability()));
+        }
+        if (results.isEmpty()) {
+            results.add(LanguageResult.NULL);
+        }
+        return results;
+    }
+
+    private com.optimaize.langdetect.LanguageDetector getLanguagesDetector()
+            throws ImporterHandlerException {
+        com.optimaize.langdetect.LanguageDetector d = languagesDetector;
+        if (d != null) {
+            return d;
+        }
+        synchronized (detectors) {
+            if (languagesDetector == null) {
+                initialized = true;
+                List<LdLocale> locales = new ArrayList<>();
+                for (LdLocale locale : BuiltInLanguages.getLanguages()) {
+                    if (languages.stream().anyMatch(
+                            locale.toString()::equalsIgnoreCase)) {
+                        locales.add(locale);
+                    }
+                }
+                List<LanguageProfile> profiles;
+                try {
+                    profiles = new LanguageProfileReader().readBuiltIn(locales);
+                } catch (IOException e) {
+                    throw new ImporterHandlerException(
+                            "Cannot initialize language detector.", e);
                 }
-            } catch (IOException e) {
-                throw new ImporterHandlerException(
-                        "Cannot initialize language detector.", e);
+                languagesDetector = LanguageDetectorBuilder.create(
+                        NgramExtractors.standard())
+                        .shortTextAlgorithm(SHORT_TEXT_LENGTH)
+                        .withProfiles(profiles)
+                        .build();
             }
-            detector = d;
+            return languagesDetector;
         }
     }
 
@@ -321,7 +514,7 @@ public class LanguageTagger extends AbstractStringTagger
     }
 
     private void ensureNotInitialized() {
-        if (detector != null) {
+        if (initialized) {
             throw new IllegalStateException(
                     "You cannot set LanguageTagger properties after it "
                             + "has been initialized (started tagging documents).");
@@ -335,6 +528,9 @@ public class LanguageTagger extends AbstractStringTagger
         setFallbackLanguage(xml.getString(
                 "@fallbackLanguage", fallbackLanguage));
         setLanguages(xml.getDelimitedStringList("languages", languages));
+        setFromField(xml.getString("@fromField", fromField));
+        setSampleSize(xml.getInteger("@sampleSize", sampleSize));
+        setSampleWindows(xml.getInteger("@sampleWindows", sampleWindows));
     }
 
     @Override
@@ -342,6 +538,9 @@ public class LanguageTagger extends AbstractStringTagger
         xml.setAttribute("keepProbabilities", keepProbabilities);
         xml.setAttribute("fallbackLanguage", fallbackLanguage);
         xml.addDelimitedElementList("languages", languages);
+        xml.setAttribute("fromField", fromField);
+        xml.setAttribute("sampleSize", sampleSize);
+        xml.setAttribute("sampleWindows", sampleWindows);
     }
 
     @Override
@@ -0,0 +1,742 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler.tagger.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import com.norconex.commons.lang.collection.CollectionUtil;
+import com.norconex.commons.lang.io.TextReader;
+import com.norconex.commons.lang.map.Properties;
+import com.norconex.commons.lang.map.PropertySetter;
+import com.norconex.commons.lang.text.RegexFieldValueExtractor;
+import com.norconex.commons.lang.text.TextMatcher;
+import com.norconex.commons.lang.xml.IXMLConfigurable;
+import com.norconex.commons.lang.xml.XML;
+import com.norconex.importer.handler.HandlerDoc;
+import com.norconex.importer.handler.ImporterHandlerException;
+import com.norconex.importer.handler.tagger.AbstractCharStreamTagger;
+import com.norconex.importer.handler.tagger.impl.URLExtractorTagger.URLExtractor;
+import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.util.KeywordCounter;
+import com.norconex.importer.util.regex.PatternCache;
+
+/**
+ * <p>
+ * Performs several text analyses on a document content, reading the
+ * content only once. Each configured analysis is fed the same text as it
+ * is being read, which is faster than having as many taggers each reading
+ * the entire content on their own. Supported analyses are:
+ * </p>
+ * <ul>
+ *   <li><b>length</b>: Stores the number of characters read.</li>
+ *   <li><b>statistics</b>: Adds the same "document.stat.*" fields as
+ *       {@link TextStatisticsTagger}.</li>
+ *   <li><b>count</b>: Stores the number of matches for a given text or
+ *       expression, like {@link CountMatchesTagger}.</li>
+ *   <li><b>pattern</b>: Extracts field names and values with regular
+ *       expressions, like {@link RegexTagger}.</li>
+ *   <li><b>urls</b>: Stores unique URLs found in the content, like
+ *       {@link URLExtractorTagger}.</li>
+ * </ul>
+ * <p>
+ * Content is read in sections of up to <code>maxReadSize</code> characters.
+ * Matches for counts, patterns, and URLs are performed on each section,
+ * the same way as their corresponding taggers do.
+ * </p>
+ *
+ * <h2>Counting many keywords</h2>
+ * <p>
+ * Counts using a partial basic match (the text to count taken literally)
+ * are all performed together, in a single pass over each section of
+ * text, no matter how many there are. This makes counting hundreds of
+ * keywords (e.g., brand names, product codes) about as fast as counting
+ * one. Other counts (e.g., regular expressions) are evaluated one by one.
+ * </p>
+ * <p>
+ * By default, matches counted for the same count do not overlap
+ * (e.g., "aa" is found once in "aaa"). Set <code>overlapping</code>
+ * to <code>true</code> on a count to also count overlapping matches
+ * (e.g., "aa" is then found twice in "aaa").
+ * </p>
+ *
+ * <h2>Storing values in an existing field</h2>
+ * <p>
+ * If a target field with the same name already exists for a document,
+ * values will be added to the end of the existing value list.
+ * It is possible to change this default behavior by supplying a
+ * {@link PropertySetter}.
+ * </p>
+ *
+ * <p>This class is typically used as a post-parsing handler only
+ * (to ensure we are dealing with text).</p>
+ *
+ * {@nx.xml.usage
+ * <handler class="com.norconex.importer.handler.tagger.impl.TextAnalyticsTagger"
+ *     maxReadSize="(max characters to read at once)"
+ *     {@nx.include com.norconex.importer.handler.tagger.AbstractCharStreamTagger#attributes}>
+ *
+ *   {@nx.include com.norconex.importer.handler.AbstractImporterHandler#restrictTo}
+ *
+ *   <length toField="(target field for the number of characters)"
+ *       {@nx.include com.norconex.commons.lang.map.PropertySetter#attributes}/>
+ *
+ *   <!-- Adds "document.stat.*" fields when present. -->
+ *   <statistics/>
+ *
+ *   <!-- multiple count tags allowed -->
+ *   <count toField="(target field for the number of matches)"
+ *       overlapping="[false|true]"
+ *       {@nx.include com.norconex.commons.lang.map.PropertySetter#attributes}
+ *       {@nx.include com.norconex.commons.lang.text.TextMatcher#matchAttributes}>
+ *     (text or expression to count)
+ *   </count>
+ *
+ *   <!-- multiple pattern tags allowed -->
+ *   <pattern
+ *       {@nx.include com.norconex.commons.lang.text.RegexFieldValueExtractor#attributes}>
+ *     (regular expression)
+ *   </pattern>
+ *
+ *   <urls toField="(target field where to store extracted URLs)"
+ *       {@nx.include com.norconex.commons.lang.map.PropertySetter#attributes}/>
+ * </handler>
+ * }
+ *
+ * {@nx.xml.example
+ * <handler class="TextAnalyticsTagger">
+ *   <length toField="contentLength"/>
+ *   <statistics/>
+ *   <count toField="potatoCount"
+ *       ignoreCase="true" partial="true">potato</count>
+ *   <pattern toField="emails">[A-Za-z0-9+_.-]+?@[a-zA-Z0-9.-]+</pattern>
+ *   <urls toField="documentURLs"/>
+ * </handler>
+ * }
+ * <p>
+ * The above example reads the content once to store its length,
+ * text statistics, the number of times "potato" appears, email
+ * addresses, and URLs.
+ * </p>
+ *
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+@SuppressWarnings("javadoc")
+public class TextAnalyticsTagger
+        extends AbstractCharStreamTagger implements IXMLConfigurable {
+
+    private int maxReadSize = TextReader.DEFAULT_MAX_READ_SIZE;
+    private String lengthField;
+    private PropertySetter lengthOnSet;
+    private boolean statistics;
+    private final List<CountDetails> counts = new ArrayList<>();
+    private final List<RegexFieldValueExtractor> patterns = new ArrayList<>();
+    private String urlsField;
+    private PropertySetter urlsOnSet;
+
+    // Built from counts on first use and rebuilt when they change
+    private transient volatile CountPlan countPlan;
+
+    @Override
+    protected void tagTextDocument(
+            HandlerDoc doc, Reader input, ParseState parseState)
+                    throws ImporterHandlerException {
+        List<TextVisitor> visitors = createVisitors();
+        if (visitors.isEmpty()) {
+            return;
+        }
+        Properties metadata = doc.getMetadata();
+        String text = null;
+        try (TextReader tr = new TextReader(input, maxReadSize)) {
+            while ((text = tr.readText()) != null) {
+                for (TextVisitor visitor : visitors) {
+                    visitor.visit(text, metadata);
+                }
+            }
+        } catch (IOException e) {
+            throw new ImporterHandlerException("Cannot tag text document.", e);
+        }
+        for (TextVisitor visitor : visitors) {
+            visitor.end(metadata);
+        }
+    }
+
+    // Visitors hold per-document state so are created for each document.
+    private List<TextVisitor> createVisitors() {
+        List<TextVisitor> visitors = new ArrayList<>();
+        if (StringUtils.isNotBlank(lengthField)) {
+            visitors.add(new LengthVisitor(lengthField, lengthOnSet));
+        }
+        if (statistics) {
+            visitors.add(new StatisticsVisitor());
+        }
+        if (!counts.isEmpty()) {
+            visitors.add(new CountsVisitor(getCountPlan()));
+        }
+        if (!patterns.isEmpty()) {
+            visitors.add(new PatternsVisitor(patterns));
+        }
+        if (StringUtils.isNotBlank(urlsField)) {
+            visitors.add(new URLsVisitor(urlsField, urlsOnSet));
+        }
+        return visitors;
+    }
+
+    private CountPlan getCountPlan() {
+        List<String> key = new ArrayList<>(counts.size());
+        for (CountDetails count : counts) {
+            if (StringUtils.isBlank(count.getToField())) {
+                throw new IllegalArgumentException(
+                        "Count 'toField' cannot be blank.");
+            }
+            TextMatcher matcher = count.getCountMatcher();
+            if (matcher.getPattern() == null) {
+                throw new IllegalArgumentException(
+                        "Count matcher pattern cannot be null.");
+            }
+            key.add(count.isOverlapping() + "|" + matcher.isIgnoreCase()
+                    + "|" + matcher.getPattern() + "|" + matcher.toRegex());
+        }
+        CountPlan plan = countPlan;
+        if (plan == null || !plan.key.equals(key)) {
+            plan = new CountPlan(new ArrayList<>(counts), key);
+            countPlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Gets the maximum number of characters to read from content for
+     * analysis at once. Default is {@link TextReader#DEFAULT_MAX_READ_SIZE}.
+     * @return maximum read size
+     */
+    public int getMaxReadSize() {
+        return maxReadSize;
+    }
+    /**
+     * Sets the maximum number of characters to read from content for
+     * analysis at once.
+     * @param maxReadSize maximum read size
+     */
+    public void setMaxReadSize(int maxReadSize) {
+        this.maxReadSize = maxReadSize;
+    }
+
+    /**
+     * Gets the target field for the content length (number of characters).
+     * @return target field or <code>null</code> if length is not stored
+     */
+    public String getLengthField() {
+        return lengthField;
+    }
+    /**
+     * Sets the target field for the content length (number of characters).
+     * @param lengthField target field
+     */
+    public void setLengthField(String lengthField) {
+        this.lengthField = lengthField;
+    }
+
+    /**
+     * Gets the property setter to use when the content length is set.
+     * @return property setter
+     */
+    public PropertySetter getLengthOnSet() {
+        return lengthOnSet;
+    }
+    /**
+     * Sets the property setter to use when the content length is set.
+     * @param lengthOnSet property setter
+     */
+    public void setLengthOnSet(PropertySetter lengthOnSet) {
+        this.lengthOnSet = lengthOnSet;
+    }
+
+    /**
+     * Gets whether to add the same text statistics as
+     * {@link TextStatisticsTagger}.
+     * @return <code>true</code> if adding text statistics
+     */
+    public boolean isStatistics() {
+        return statistics;
+    }
+    /**
+     * Sets whether to add the same text statistics as
+     * {@link TextStatisticsTagger}.
+     * @param statistics <code>true</code> to add text statistics
+     */
+    public void setStatistics(boolean statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Gets the match counts to perform.
+     * @return count details
+     */
+    public List<CountDetails> getCounts() {
+        return Collections.unmodifiableList(counts);
+    }
+    /**
+     * Adds one or more match counts to perform.
+     * @param count count details
+     */
+    public void addCount(CountDetails... count) {
+        if (ArrayUtils.isNotEmpty(count)) {
+            counts.addAll(Arrays.asList(count));
+        }
+    }
+    /**
+     * Sets one or more match counts to perform, clearing previously
+     * set ones.
+     * @param counts count details
+     */
+    public void setCounts(CountDetails... counts) {
+        CollectionUtil.setAll(this.counts, counts);
+    }
+
+    /**
+     * Gets the patterns used to extract matching field names/values.
+     * @return patterns
+     */
+    public List<RegexFieldValueExtractor> getPatterns() {
+        return Collections.unmodifiableList(patterns);
+    }
+    /**
+     * Adds one or more pattern that will extract matching field names/values.
+     * @param pattern field extractor pattern
+     */
+    public void addPattern(RegexFieldValueExtractor... pattern) {
+        if (ArrayUtils.isNotEmpty(pattern)) {
+            patterns.addAll(Arrays.asList(pattern));
+        }
+    }
+    /**
+     * Sets one or more patterns that will extract matching field names/values.
+     * Clears previously set patterns.
+     * @param patterns field extractor pattern
+     */
+    public void setPatterns(RegexFieldValueExtractor... patterns) {
+        CollectionUtil.setAll(this.patterns, patterns);
+    }
+
+    /**
+     * Gets the target field where to store extracted URLs.
+     * @return target field or <code>null</code> if URLs are not extracted
+     */
+    public String getUrlsField() {
+        return urlsField;
+    }
+    /**
+     * Sets the target field where to store extracted URLs.
+     * @param urlsField target field
+     */
+    public void setUrlsField(String urlsField) {
+        this.urlsField = urlsField;
+    }
+
+    /**
+     * Gets the property setter to use when extracted URLs are set.
+     * @return property setter
+     */
+    public PropertySetter getUrlsOnSet() {
+        return urlsOnSet;
+    }
+    /**
+     * Sets the property setter to use when extracted URLs are set.
+     * @param urlsOnSet property setter
+     */
+    public void setUrlsOnSet(PropertySetter urlsOnSet) {
+        this.urlsOnSet = urlsOnSet;
+    }
+
+    @Override
+    protected void loadCharStreamTaggerFromXML(XML xml) {
+        setMaxReadSize(xml.getInteger("@maxReadSize", maxReadSize));
+        XML lengthXML = xml.getXML("length");
+        if (lengthXML != null) {
+            setLengthField(lengthXML.getString("@toField", lengthField));
+            setLengthOnSet(PropertySetter.fromXML(lengthXML, lengthOnSet));
+        }
+        if (xml.getXML("statistics") != null) {
+            setStatistics(true);
+        }
+        for (XML node : xml.getXMLList("count")) {
+            TextMatcher matcher = new TextMatcher();
+            matcher.loadFromXML(node);
+            addCount(new CountDetails(node.getString("@toField", null),
+                    matcher, PropertySetter.fromXML(node, null),
+                    node.getBoolean("@overlapping", false)));
+        }
+        for (XML node : xml.getXMLList("pattern")) {
+            RegexFieldValueExtractor ex = new RegexFieldValueExtractor();
+            ex.loadFromXML(node);
+            addPattern(ex);
+        }
+        XML urlsXML = xml.getXML("urls");
+        if (urlsXML != null) {
+            setUrlsField(urlsXML.getString("@toField", urlsField));
+            setUrlsOnSet(PropertySetter.fromXML(urlsXML, urlsOnSet));
+        }
+    }
+
+    @Override
+    protected void saveCharStreamTaggerToXML(XML xml) {
+        xml.setAttribute("maxReadSize", maxReadSize);
+        if (lengthField != null) {
+            PropertySetter.toXML(xml.addElement("length")
+                    .setAttribute("toField", lengthField), lengthOnSet);
+        }
+        if (statistics) {
+            xml.addElement("statistics");
+        }
+        for (CountDetails count : counts) {
+            XML node = xml.addElement("count");
+            count.getCountMatcher().saveToXML(node);
+            node.setAttribute("toField", count.getToField());
+            node.setAttribute("overlapping", count.isOverlapping());
+            PropertySetter.toXML(node, count.getOnSet());
+        }
+        for (RegexFieldValueExtractor rfe : patterns) {
+            rfe.saveToXML(xml.addElement("pattern"));
+        }
+        if (urlsField != null) {
+            PropertySetter.toXML(xml.addElement("urls")
+                    .setAttribute("toField", urlsField), urlsOnSet);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return EqualsBuilder.reflectionEquals(this, other);
+    }
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+    @Override
+    public String toString() {
+        return new ReflectionToStringBuilder(
+                this, ToStringStyle.SHORT_PREFIX_STYLE).toString();
+    }
+
+    /**
+     * Number of matches to count in content and the field where to
+     * store that number.
+     */
+    public static class CountDetails {
+        private final String toField;
+        private final TextMatcher countMatcher = new TextMatcher();
+        private final PropertySetter onSet;
+        private final boolean overlapping;
+
+        /**
+         * Constructor.
+         * @param toField target field
+         * @param countMatcher matcher for the text to count
+         */
+        public CountDetails(String toField, TextMatcher countMatcher) {
+            this(toField, countMatcher, null);
+        }
+        /**
+         * Constructor.
+         * @param toField target field
+         * @param countMatcher matcher for the text to count
+         * @param onSet property setter (default is append)
+         */
+        public CountDetails(String toField, TextMatcher countMatcher,
+                PropertySetter onSet) {
+            this(toField, countMatcher, onSet, false);
+        }
+        /**
+         * Constructor.
+         * @param toField target field
+         * @param countMatcher matcher for the text to count
+         * @param onSet property setter (default is append)
+         * @param overlapping whether to also count overlapping matches
+         */
+        public CountDetails(String toField, TextMatcher countMatcher,
+                PropertySetter onSet, boolean overlapping) {
+            this.toField = toField;
+            this.countMatcher.copyFrom(countMatcher);
+            this.onSet = onSet;
+            this.overlapping = overlapping;
+        }
+
+        /**
+         * Gets the target field.
+         * @return target field
+         */
+        public String getToField() {
+            return toField;
+        }
+        /**
+         * Gets the matcher for the text to count.
+         * @return count matcher
+         */
+        public TextMatcher getCountMatcher() {
+            return countMatcher;
+        }
+        /**
+         * Gets the property setter to use when the count is set.
+         * @return property setter
+         */
+        public PropertySetter getOnSet() {
+            return onSet;
+        }
+        /**
+         * Gets whether overlapping matches are also counted.
+         * @return <code>true</code> if counting overlapping matches
+         */
+        public boolean isOverlapping() {
+            return overlapping;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return EqualsBuilder.reflectionEquals(this, other);
+        }
+        @Override
+        public int hashCode() {
+            return HashCodeBuilder.reflectionHashCode(this);
+        }
+        @Override
+        public String toString() {
+            return new ReflectionToStringBuilder(
+                    this, ToStringStyle.SHORT_PREFIX_STYLE).toString();
+        }
+    }
+
+    // An analysis performed on each section of text read.
+    private interface TextVisitor {
+        void visit(String text, Properties metadata);
+        void end(Properties metadata);
+    }
+
+    private static class LengthVisitor implements TextVisitor {
+        private final String toField;
+        private final PropertySetter onSet;
+        private long length;
+        private LengthVisitor(String toField, PropertySetter onSet) {
+            this.toField = toField;
+            this.onSet = onSet;
+        }
+        @Override
+        public void visit(String text, Properties metadata) {
+            length += text.length();
+        }
+        @Override
+        public void end(Properties metadata) {
+            PropertySetter.orAppend(onSet).apply(metadata, toField, length);
+        }
+    }
+
+    private static class StatisticsVisitor implements TextVisitor {
+        private final TextStatistics stats = new TextStatistics();
+        @Override
+        public void visit(String text, Properties metadata) {
+            stats.read(text);
+        }
+        @Override
+        public void end(Properties metadata) {
+            stats.end();
+            stats.addFields(metadata, "document.stat.");
+        }
+    }
+
+    // How counts are performed: literal ones are grouped into one keyword
+    // counter per case sensitivity, the others are evaluated one by one.
+    private static final class CountPlan {
+        private final List<CountDetails> details;
+        private final List<String> key;
+        private final KeywordCounter keywords;
+        private final int[] keywordIndexes;
+        private final KeywordCounter keywordsIgnoreCase;
+        private final int[] keywordIgnoreCaseIndexes;
+        private final int[] regexIndexes;
+        private final Pattern[] regexPatterns;
+        private CountPlan(List<CountDetails> details, List<String> key) {
+            this.details = details;
+            this.key = key;
+            List<Integer> kwIdxs = new ArrayList<>();
+            List<Integer> kwCaseIdxs = new ArrayList<>();
+            List<Integer> regexIdxs = new ArrayList<>();
+            for (int i = 0; i < details.size(); i++) {
+                TextMatcher matcher = details.get(i).getCountMatcher();
+                if (!isLiteral(matcher)) {
+                    regexIdxs.add(i);
+                } else if (matcher.isIgnoreCase()) {
+                    kwCaseIdxs.add(i);
+                } else {
+                    kwIdxs.add(i);
+                }
+            }
+            keywordIndexes = toArray(kwIdxs);
+            keywords = toKeywordCounter(keywordIndexes, false);
+            keywordIgnoreCaseIndexes = toArray(kwCaseIdxs);
+            keywordsIgnoreCase = toKeywordCounter(
+                    keywordIgnoreCaseIndexes, true);
+            regexIndexes = toArray(regexIdxs);
+            regexPatterns = new Pattern[regexIndexes.length];
+            for (int i = 0; i < regexIndexes.length; i++) {
+                regexPatterns[i] = PatternCache.toPattern(
+                        details.get(regexIndexes[i]).getCountMatcher());
+            }
+        }
+        // Only when the matcher regex is the text taken as is, without
+        // characters that could be matched differently.
+        private static boolean isLiteral(TextMatcher matcher) {
+            String text = matcher.getPattern();
+            if (StringUtils.isEmpty(text)
+                    || !Pattern.quote(text).equals(matcher.toRegex())) {
+                return false;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                if (Character.isSurrogate(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        private KeywordCounter toKeywordCounter(
+                int[] indexes, boolean ignoreCase) {
+            if (indexes.length == 0) {
+                return null;
+            }
+            List<String> texts = new ArrayList<>(indexes.length);
+            boolean[] overlapping = new boolean[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                CountDetails count = details.get(indexes[i]);
+                texts.add(count.getCountMatcher().getPattern());
+                overlapping[i] = count.isOverlapping();
+            }
+            return new KeywordCounter(texts, overlapping, ignoreCase);
+        }
+        private static int[] toArray(List<Integer> list) {
+            return list.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private static class CountsVisitor implements TextVisitor {
+        private final CountPlan plan;
+        private final int[] keywordCounts;
+        private final int[] keywordIgnoreCaseCounts;
+        private final int[] regexCounts;
+        private CountsVisitor(CountPlan plan) {
+            this.plan = plan;
+            keywordCounts = new int[plan.keywordIndexes.length];
+            keywordIgnoreCaseCounts =
+                    new int[plan.keywordIgnoreCaseIndexes.length];
+            regexCounts = new int[plan.regexIndexes.length];
+        }
+        @Override
+        public void visit(String text, Properties metadata) {
+            if (plan.keywords != null) {
+                plan.keywords.count(text, keywordCounts);
+            }
+            if (plan.keywordsIgnoreCase != null) {
+                plan.keywordsIgnoreCase.count(text, keywordIgnoreCaseCounts);
+            }
+            for (int i = 0; i < regexCounts.length; i++) {
+                CountDetails count = plan.details.get(plan.regexIndexes[i]);
+                Matcher m = plan.regexPatterns[i].matcher(text);
+                if (count.isOverlapping()) {
+                    int from = 0;
+                    while (from <= text.length() && m.find(from)) {
+                        regexCounts[i]++;
+                        from = m.start() + 1;
+                    }
+                } else {
+                    while (m.find()) {
+                        regexCounts[i]++;
+                    }
+                }
+            }
+        }
+        @Override
+        public void end(Properties metadata) {
+            int[] totals = new int[plan.details.size()];
+            addTotals(totals, plan.keywordIndexes, keywordCounts);
+            addTotals(totals, plan.keywordIgnoreCaseIndexes,
+                    keywordIgnoreCaseCounts);
+            addTotals(totals, plan.regexIndexes, regexCounts);
+            // in configured order, in case some share the same field
+            for (int i = 0; i < totals.length; i++) {
+                CountDetails count = plan.details.get(i);
+                PropertySetter.orAppend(count.getOnSet()).apply(
+                        metadata, count.getToField(), totals[i]);
+            }
+        }
+        private static void addTotals(
+                int[] totals, int[] indexes, int[] counts) {
+            for (int i = 0; i < indexes.length; i++) {
+                totals[indexes[i]] += counts[i];
+            }
+        }
+    }
+
+    private static class PatternsVisitor implements TextVisitor {
+        private final List<RegexFieldValueExtractor> patterns;
+        private PatternsVisitor(List<RegexFieldValueExtractor> patterns) {
+            this.patterns = patterns;
+        }
+        @Override
+        public void visit(String text, Properties metadata) {
+            RegexFieldValueExtractor.extractFieldValues(
+                    metadata, text, patterns);
+        }
+        @Override
+        public void end(Properties metadata) {
+            //NOOP, values are stored as they are extracted
+        }
+    }
+
+    private static class URLsVisitor implements TextVisitor {
+        private final String toField;
+        private final PropertySetter onSet;
+        private final URLExtractor extractor;
+        private URLsVisitor(String toField, PropertySetter onSet) {
+            this.toField = toField;
+            this.onSet = onSet;
+            this.extractor = new URLExtractor(-1);
+        }
+        @Override
+        public void visit(String text, Properties metadata) {
+            extractor.read(text);
+        }
+        @Override
+        public void end(Properties metadata) {
+            extractor.end();
+            Set<String> urls = extractor.getURLs();
+            if (!urls.isEmpty()) {
+                PropertySetter.orAppend(onSet).apply(metadata, toField, urls);
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -36,6 +37,7 @@ import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.ImporterHandlerException;
 import com.norconex.importer.handler.tagger.AbstractStringTagger;
 import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.util.regex.TextMatcherPattern;
 
 /**
  * <p>Extracts and add values found between a matching start and
@@ -155,9 +157,9 @@ public class TextBetweenTagger
     private List<String> betweenText(
             TextBetweenDetails between, String text) {
         List<Pair<Integer, Integer>> matches = new ArrayList<>();
-        Matcher leftMatch = between.startMatcher.toRegexMatcher(text);
+        Matcher leftMatch = between.startPattern().matcher(text);
         while (leftMatch.find()) {
-            Matcher rightMatch = between.endMatcher.toRegexMatcher(text);
+            Matcher rightMatch = between.endPattern().matcher(text);
             if (rightMatch.find(leftMatch.end())) {
                 if (between.inclusive) {
                     matches.add(new ImmutablePair<>(
@@ -307,6 +309,11 @@ public class TextBetweenTagger
         private final TextMatcher fieldMatcher = new TextMatcher();
         private final TextMatcher startMatcher = new TextMatcher();
         private final TextMatcher endMatcher = new TextMatcher();
+        // compiled on first use, recompiled when matchers change
+        private final transient TextMatcherPattern startPattern =
+                new TextMatcherPattern();
+        private final transient TextMatcherPattern endPattern =
+                new TextMatcherPattern();
         private String toField;
         private boolean inclusive;
         private PropertySetter onSet;
@@ -434,6 +441,13 @@ public class TextBetweenTagger
         public void setCaseSensitive(boolean caseSensitive) {
             startMatcher.setIgnoreCase(!caseSensitive);
         }
+
+        private Pattern startPattern() {
+            return startPattern.get(startMatcher);
+        }
+        private Pattern endPattern() {
+            return endPattern.get(endMatcher);
+        }
         /**
          * Gets the property setter to use when a value is set.
          * @return property setter
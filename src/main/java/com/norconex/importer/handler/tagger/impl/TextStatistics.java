@@ -0,0 +1,291 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler.tagger.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.BreakIterator;
+import java.text.CharacterIterator;
+import java.util.Arrays;
+
+import com.norconex.commons.lang.map.Properties;
+
+/**
+ * Gathers text statistics in a single pass over the text, one line
+ * (paragraph) at a time, without creating strings. Lines are trimmed
+ * and blank ones ignored. Words are the same as matched
+ * by <code>\w+-?\w*</code> (Unicode). Text can be supplied in any number of
+ * consecutive parts, until {@link #end()} is invoked.
+ * Not thread-safe.
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ * @see TextStatisticsTagger
+ */
+final class TextStatistics {
+
+    // Sentence iterators are costly to create and not thread-safe
+    private static final ThreadLocal<BreakIterator> SENTENCES =
+            ThreadLocal.withInitial(BreakIterator::getSentenceInstance);
+
+    private long charCount;
+    private long wordCharCount;
+    private long wordCount;
+    private long sentenceCount;
+    private long paragraphCount;
+
+    private final BreakIterator sentences = SENTENCES.get();
+    private final CharArrayIterator lineIterator = new CharArrayIterator();
+    private char[] line = new char[256];
+    private int lineLength;
+
+    /**
+     * Reads all text from the reader and ends the statistics gathering.
+     * @param input text to read
+     * @throws IOException problem reading text
+     */
+    void read(Reader input) throws IOException {
+        var buffer = new char[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            read(buffer, 0, read);
+        }
+        end();
+    }
+
+    /**
+     * Reads the given part of the text.
+     * @param text part of the text
+     */
+    void read(CharSequence text) {
+        for (var i = 0; i < text.length(); i++) {
+            read(text.charAt(i));
+        }
+    }
+
+    private void read(char[] buffer, int offset, int length) {
+        for (var i = offset; i < offset + length; i++) {
+            read(buffer[i]);
+        }
+    }
+
+    private void read(char ch) {
+        if (ch == '\n' || ch == '\r') {
+            endLine();
+        } else {
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+            line[lineLength++] = ch;
+        }
+    }
+
+    /**
+     * Processes any remaining text. To be invoked once all text was read.
+     */
+    void end() {
+        endLine();
+    }
+
+    /**
+     * Adds the statistics gathered so far to the given metadata, with each
+     * field name starting with the given prefix.
+     * @param metadata document metadata
+     * @param prefix field name prefix
+     */
+    void addFields(Properties metadata, String prefix) {
+        // sentences cover all paragraph characters
+        var sentenceCharCount = charCount;
+        metadata.add(prefix + "characterCount", charCount);
+        metadata.add(prefix + "wordCount", wordCount);
+        metadata.add(prefix + "sentenceCount", sentenceCount);
+        metadata.add(prefix + "paragraphCount", paragraphCount);
+        metadata.add(prefix + "averageWordCharacterCount",
+                divide(wordCharCount, wordCount));
+        metadata.add(prefix + "averageSentenceCharacterCount",
+                divide(sentenceCharCount, sentenceCount));
+        metadata.add(prefix + "averageSentenceWordCount",
+                divide(wordCount, sentenceCount));
+        metadata.add(prefix + "averageParagraphCharacterCount",
+                divide(charCount, paragraphCount));
+        metadata.add(prefix + "averageParagraphSentenceCount",
+                divide(sentenceCount, paragraphCount));
+        metadata.add(prefix + "averageParagraphWordCount",
+                divide(wordCount, paragraphCount));
+    }
+
+    private void endLine() {
+        // trimmed the same as String#trim()
+        var start = 0;
+        var end = lineLength;
+        lineLength = 0;
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+        if (isBlank(start, end)) {
+            return;
+        }
+        paragraphCount++;
+        charCount += end - start;
+        countWords(start, end);
+        countSentences(start, end);
+    }
+
+    private boolean isBlank(int start, int end) {
+        for (var i = start; i < end; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void countWords(int start, int end) {
+        var i = start;
+        while (i < end) {
+            var cp = Character.codePointAt(line, i, end);
+            if (!isWordChar(cp)) {
+                i += Character.charCount(cp);
+                continue;
+            }
+            var wordStart = i;
+            i = skipWordChars(i, end);
+            if (i < end && line[i] == '-') {
+                i = skipWordChars(i + 1, end);
+            }
+            wordCount++;
+            wordCharCount += i - wordStart;
+        }
+    }
+
+    private int skipWordChars(int index, int end) {
+        var i = index;
+        while (i < end) {
+            var cp = Character.codePointAt(line, i, end);
+            if (!isWordChar(cp)) {
+                break;
+            }
+            i += Character.charCount(cp);
+        }
+        return i;
+    }
+
+    private void countSentences(int start, int end) {
+        lineIterator.reset(line, start, end);
+        sentences.setText(lineIterator);
+        sentences.first();
+        while (sentences.next() != BreakIterator.DONE) {
+            sentenceCount++;
+        }
+    }
+
+    // Same as regular expression "\w" with UNICODE_CHARACTER_CLASS
+    private static boolean isWordChar(int cp) {
+        if (Character.isAlphabetic(cp) || Character.isDigit(cp)) {
+            return true;
+        }
+        var type = Character.getType(cp);
+        return type == Character.NON_SPACING_MARK
+                || type == Character.ENCLOSING_MARK
+                || type == Character.COMBINING_SPACING_MARK
+                || type == Character.CONNECTOR_PUNCTUATION
+                || cp == 0x200C || cp == 0x200D;
+    }
+
+    // Reusable iterator over part of a character array
+    private static final class CharArrayIterator implements CharacterIterator {
+        private char[] chars;
+        private int begin;
+        private int end;
+        private int pos;
+
+        private void reset(char[] chars, int begin, int end) {
+            this.chars = chars;
+            this.begin = begin;
+            this.end = end;
+            this.pos = begin;
+        }
+        @Override
+        public char first() {
+            pos = begin;
+            return current();
+        }
+        @Override
+        public char last() {
+            pos = end > begin ? end - 1 : end;
+            return current();
+        }
+        @Override
+        public char current() {
+            return pos >= begin && pos < end ? chars[pos] : DONE;
+        }
+        @Override
+        public char next() {
+            if (pos < end - 1) {
+                pos++;
+                return chars[pos];
+            }
+            pos = end;
+            return DONE;
+        }
+        @Override
+        public char previous() {
+            if (pos <= begin) {
+                return DONE;
+            }
+            pos--;
+            return chars[pos];
+        }
+        @Override
+        public char setIndex(int position) {
+            if (position < begin || position > end) {
+                throw new IllegalArgumentException(
+                        "Invalid index: " + position);
+            }
+            pos = position;
+            return current();
+        }
+        @Override
+        public int getBeginIndex() {
+            return begin;
+        }
+        @Override
+        public int getEndIndex() {
+            return end;
+        }
+        @Override
+        public int getIndex() {
+            return pos;
+        }
+        @Override
+        public Object clone() {
+            try {
+                return super.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new InternalError(e);
+            }
+        }
+    }
+
+    private static String divide(long value, long divisor) {
+        return BigDecimal.valueOf(value).divide(
+                BigDecimal.valueOf(divisor), 1,
+                        RoundingMode.HALF_UP).toString();
+    }
+}
@@ -14,16 +14,13 @@
  */
 package com.norconex.importer.handler.tagger.impl;
 
+import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.text.BreakIterator;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -133,9 +130,6 @@ import com.norconex.importer.parser.ParseState;
 public class TextStatisticsTagger extends AbstractCharStreamTagger
         implements IXMLConfigurable {
 
-    private static final Pattern PATTERN_WORD = Pattern.compile(
-            "\\w+\\-{0,1}\\w*", Pattern.UNICODE_CHARACTER_CLASS);
-
     private final TextMatcher fieldMatcher = new TextMatcher();
 
     @Override
@@ -154,74 +148,18 @@ public class TextStatisticsTagger extends AbstractCharStreamTagger
     }
 
     protected void analyze(Reader input, Properties metadata, String field) {
-        var charCount = 0L;
-        var wordCharCount = 0L;
-        var wordCount = 0L;
-        var sentenceCount = 0L;
-        var sentenceCharCount = 0L;
-        var paragraphCount = 0L;
-
-        //TODO make this more efficient, by doing all this in one pass.
-        var it = IOUtils.lineIterator(input);
-        while (it.hasNext()) {
-            var line = it.nextLine().trim();
-            if (StringUtils.isBlank(line)) {
-                continue;
-            }
-
-            // Paragraph
-            paragraphCount++;
-
-            // Character
-            charCount += line.length();
-
-            // Word
-            var matcher = PATTERN_WORD.matcher(line);
-            while (matcher.find()) {
-                var wordLength = matcher.end() - matcher.start();
-                wordCount++;
-                wordCharCount += wordLength;
-            }
-
-            // Sentence
-            var boundary = BreakIterator.getSentenceInstance();
-            boundary.setText(line);
-            var start = boundary.first();
-            for (var end = boundary.next(); end != BreakIterator.DONE;
-                    start = end, end = boundary.next()) {
-                sentenceCharCount += (end - start);
-                sentenceCount++;
-            }
+        var stats = new TextStatistics();
+        try {
+            stats.read(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Could not read text to analyze.", e);
         }
-
-        //--- Add fields ---
         var prefix = "document.stat.";
         if (StringUtils.isNotBlank(field)) {
             prefix += field.trim() + ".";
         }
-        metadata.add(prefix + "characterCount", charCount);
-        metadata.add(prefix + "wordCount", wordCount);
-        metadata.add(prefix + "sentenceCount", sentenceCount);
-        metadata.add(prefix + "paragraphCount", paragraphCount);
-        metadata.add(prefix + "averageWordCharacterCount",
-                divide(wordCharCount, wordCount));
-        metadata.add(prefix + "averageSentenceCharacterCount",
-                divide(sentenceCharCount, sentenceCount));
-        metadata.add(prefix + "averageSentenceWordCount",
-                divide(wordCount, sentenceCount));
-        metadata.add(prefix + "averageParagraphCharacterCount",
-                divide(charCount, paragraphCount));
-        metadata.add(prefix + "averageParagraphSentenceCount",
-                divide(sentenceCount, paragraphCount));
-        metadata.add(prefix + "averageParagraphWordCount",
-                divide(wordCount, paragraphCount));
-
-    }
-
-    private String divide(long value, long divisor) {
-        return BigDecimal.valueOf(value).divide(
-                BigDecimal.valueOf(divisor), 1,
-                        RoundingMode.HALF_UP).toString();
+        stats.addFields(metadata, prefix);
     }
 
     /**
@@ -15,16 +15,8 @@
 package com.norconex.importer.handler.tagger.impl;
 
 import java.text.BreakIterator;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.text.StringCharacterIterator;
+import java.util.Arrays;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -139,9 +131,6 @@ public class TitleGeneratorTagger
     private static final int MIN_OCCURENCES = 3;
     //TODO have a max num terms?
 
-    private final EntryValueComparator entryValueComparator =
-            new EntryValueComparator();
-
     public static final String DEFAULT_TO_FIELD =
             DocMetadata.GENERATED_TITLE;
     public static final int DEFAULT_TITLE_MAX_LENGTH = 150;
@@ -150,9 +139,6 @@ public class TitleGeneratorTagger
     public static final int DEFAULT_HEADING_MAX_LENGTH = 150;
     public static final int DEFAULT_MAX_READ_SIZE = 10000;
 
-    private static final Pattern PATTERN_HEADING = Pattern.compile(
-            "^.*?([^\\n\\r]+)[\\n\\r]", Pattern.DOTALL);
-
     private String fromField;
     private String toField = DEFAULT_TO_FIELD;
     private int titleMaxLength = DEFAULT_TITLE_MAX_LENGTH;
@@ -166,6 +152,12 @@ public class TitleGeneratorTagger
         setMaxReadSize(DEFAULT_MAX_READ_SIZE);
     }
 
+    // Only the first section is used
+    @Override
+    protected int getContentReadLimit() {
+        return 1;
+    }
+
     @Override
     protected void tagStringContent(HandlerDoc doc, StringBuilder content,
             ParseState parseState, int sectionIndex)
@@ -305,10 +297,15 @@ public class TitleGeneratorTagger
     }
 
     private String getHeadingTitle(String text) {
+        // First non-empty line, with its leading empty lines and
+        // line break (trimmed).
         String firstLine = null;
-        Matcher m = PATTERN_HEADING.matcher(text);
-        if (m.find()) {
-            firstLine = StringUtils.trim(m.group());
+        for (int i = 1; i < text.length(); i++) {
+            if (isLineBreak(text.charAt(i))
+                    && !isLineBreak(text.charAt(i - 1))) {
+                firstLine = StringUtils.trim(text.substring(0, i + 1));
+                break;
+            }
         }
         if (StringUtils.isBlank(firstLine)) {
             return null;
@@ -327,90 +324,11 @@ public class TitleGeneratorTagger
     }
 
     private String summarize(String text) {
-
-        Index index = indexText(text);
-        if (index.sentences.isEmpty()) {
-            return StringUtils.EMPTY;
-        }
-        long topScore = 0;
-        String topSentence = index.sentences.get(0);
-        for (String  sentence : index.sentences) {
-            long score = 0;
-            long densityFactor = 500 - sentence.length();
-            for (TermOccurence to : index.terms) {
-                Matcher m = Pattern.compile(
-                        "\\b\\Q" + to.term + "\\E\\b").matcher(sentence);
-                int count = 0;
-                while (m.find()) {
-                    count++;
-                }
-                if (count > 0) {
-                    score += (count * to.occurence * densityFactor);
-                }
-            }
-            if (score > topScore) {
-                topScore = score;
-                topSentence = sentence;
-            }
-        }
-        return topSentence;
+        return new Summarizer(text).summarize();
     }
 
-    private Index indexText(String text) {
-        Index index = new Index();
-        ConcurrentMap<String, AtomicInteger> terms = new ConcurrentHashMap<>();
-
-        // Allow to pass locale, based on language field?
-        BreakIterator breakIterator = BreakIterator.getSentenceInstance();
-        breakIterator.setText(text);
-
-        int start = breakIterator.first();
-        int end = breakIterator.next();
-        while (end != BreakIterator.DONE) {
-            String matchText = text.substring(start,end).trim();
-            String[] sentences = matchText.split("[\\n\\r]");
-            for (String sentence : sentences) {
-                String s = StringUtils.trimToNull(sentence);
-                if (s != null
-                        && Character.isLetterOrDigit(sentence.codePointAt(0))) {
-                    index.sentences.add(sentence);
-                    breakWords(sentence, terms);
-                }
-            }
-            start = end;
-            end = breakIterator.next();
-        }
-
-        List<Entry<String, AtomicInteger>> sorted =
-                new ArrayList<>(terms.entrySet());
-        Collections.sort(sorted, entryValueComparator);
-        for (Entry<String, AtomicInteger> entry : sorted) {
-            String term = entry.getKey();
-            int occurences = entry.getValue().get();
-            if (term.length() >= MIN_TERM_LENGTH
-                    && occurences >= MIN_OCCURENCES) {
-                index.terms.add(new TermOccurence(term, occurences));
-            }
-        }
-        return index;
-    }
-    private void breakWords(
-            String sentence, ConcurrentMap<String, AtomicInteger> terms) {
-
-        BreakIterator wordIterator = BreakIterator.getWordInstance();
-        wordIterator.setText(sentence);
-        int start = wordIterator.first();
-        int end = wordIterator.next();
-
-        while (end != BreakIterator.DONE) {
-            String word = sentence.substring(start,end);
-            if (Character.isLetterOrDigit(word.codePointAt(0))) {
-                terms.putIfAbsent(word, new AtomicInteger(0));
-                terms.get(word).incrementAndGet();
-            }
-            start = end;
-            end = wordIterator.next();
-        }
+    private static boolean isLineBreak(char ch) {
+        return ch == '\n' || ch == '\r';
     }
 
     @Override
@@ -453,69 +371,296 @@ public class TitleGeneratorTagger
     }
 
     //--- Inner classes --------------------------------------------------------
-    class EntryValueComparator
-            implements Comparator<Entry<String, AtomicInteger>> {
-        @Override
-        public int compare(Entry<String, AtomicInteger> o1,
-                Entry<String, AtomicInteger> o2) {
-            return Integer.compare(o2.getValue().get(), o1.getValue().get());
-        }
-        @Override
-        public boolean equals(final Object other) {
-            return EqualsBuilder.reflectionEquals(this, other);
-        }
-        @Override
-        public int hashCode() {
-            return HashCodeBuilder.reflectionHashCode(this);
-        }
-        @Override
-        public String toString() {
-            return new ReflectionToStringBuilder(
-                    this, ToStringStyle.SHORT_PREFIX_STYLE).toString();
+
+    // Finds the sentence having the most occurrences of the most frequent
+    // terms. Text is tokenized once. Sentences are kept as offsets
+    // in the text and terms are looked up by text region, so no strings
+    // are created other than for new terms and the returned sentence.
+    // Package-private for testing.
+    static final class Summarizer {
+        private final String text;
+        private final TermTable terms = new TermTable();
+        // sentence start/end offset pairs
+        private int[] sentences = new int[64];
+        private int sentenceCount;
+
+        Summarizer(String text) {
+            this.text = text;
         }
-    }
-    class Index {
-        private final List<String> sentences = new ArrayList<>();
-        private final List<TermOccurence> terms = new ArrayList<>();
-        @Override
-        public boolean equals(final Object other) {
-            return EqualsBuilder.reflectionEquals(this, other);
-        }
-        @Override
-        public int hashCode() {
-            return HashCodeBuilder.reflectionHashCode(this);
-        }
-        @Override
-        public String toString() {
-            return new ReflectionToStringBuilder(
-                    this, ToStringStyle.SHORT_PREFIX_STYLE).toString();
+
+        String summarize() {
+            long[] scores = scoreSentences();
+            if (scores.length == 0) {
+                return StringUtils.EMPTY;
+            }
+            long topScore = 0;
+            int topSentence = 0;
+            for (int i = 0; i < scores.length; i++) {
+                if (scores[i] > topScore) {
+                    topScore = scores[i];
+                    topSentence = i;
+                }
+            }
+            return sentence(topSentence);
+        }
+
+        // Indexes the text and scores its sentences. Only call once.
+        long[] scoreSentences() {
+            index();
+            int[] lengths = terms.prepareMatching();
+            long[] scores = new long[sentenceCount];
+            for (int i = 0; i < sentenceCount; i++) {
+                scores[i] = score(i, lengths);
+            }
+            return scores;
+        }
+
+        String sentence(int index) {
+            return text.substring(
+                    sentences[index * 2], sentences[index * 2 + 1]);
+        }
+
+        int termCount(String term) {
+            return terms.count(term);
+        }
+
+        private void index() {
+            // Allow to pass locale, based on language field?
+            BreakIterator sentenceIterator = BreakIterator.getSentenceInstance();
+            BreakIterator wordIterator = BreakIterator.getWordInstance();
+            sentenceIterator.setText(text);
+            int start = sentenceIterator.first();
+            for (int end = sentenceIterator.next();
+                    end != BreakIterator.DONE;
+                    start = end, end = sentenceIterator.next()) {
+                // trimmed the same as String#trim()
+                int s = start;
+                int e = end;
+                while (s < e && text.charAt(s) <= ' ') {
+                    s++;
+                }
+                while (e > s && text.charAt(e - 1) <= ' ') {
+                    e--;
+                }
+                // each line is a sentence
+                int lineStart = s;
+                for (int i = s; i <= e; i++) {
+                    if (i == e || isLineBreak(text.charAt(i))) {
+                        indexSentence(lineStart, i, wordIterator);
+                        lineStart = i + 1;
+                    }
+                }
+            }
+        }
+
+        private void indexSentence(
+                int start, int end, BreakIterator wordIterator) {
+            if (start == end || !Character.isLetterOrDigit(
+                    text.codePointAt(start))) {
+                return;
+            }
+            if (sentenceCount * 2 == sentences.length) {
+                sentences = Arrays.copyOf(sentences, sentences.length * 2);
+            }
+            sentences[sentenceCount * 2] = start;
+            sentences[sentenceCount * 2 + 1] = end;
+            sentenceCount++;
+
+            wordIterator.setText(
+                    new StringCharacterIterator(text, start, end, start));
+            int wordStart = wordIterator.first();
+            for (int wordEnd = wordIterator.next();
+                    wordEnd != BreakIterator.DONE;
+                    wordStart = wordEnd, wordEnd = wordIterator.next()) {
+                if (Character.isLetterOrDigit(text.codePointAt(wordStart))) {
+                    terms.add(text, wordStart, wordEnd);
+                }
+            }
+        }
+
+        // Same score as adding, for each valuable term, the number of
+        // non-overlapping matches of "\\b\\Qterm\\E\\b" in the sentence
+        // multiplied by the term occurrences and the sentence density.
+        private long score(int sentence, int[] lengths) {
+            int start = sentences[sentence * 2];
+            int end = sentences[sentence * 2 + 1];
+            long densityFactor = 500L - (end - start);
+            long score = 0;
+            for (int i = start; i < end; i++) {
+                if (!isWordBoundary(start, end, i)) {
+                    continue;
+                }
+                for (int length : lengths) {
+                    int termEnd = i + length;
+                    if (termEnd > end) {
+                        break;
+                    }
+                    if (isWordBoundary(start, end, termEnd)) {
+                        int slot = terms.match(
+                                text, i, termEnd, sentence);
+                        if (slot != -1) {
+                            score += terms.count(slot) * densityFactor;
+                        }
+                    }
+                }
+            }
+            return score;
+        }
+
+        // Same as a regular expression "\\b" within the sentence:
+        // code points are considered, and non-spacing marks following
+        // a letter or digit are part of the word.
+        private boolean isWordBoundary(int start, int end, int index) {
+            boolean before = index > start && isWordCodePoint(
+                    codePointBefore(start, index), start, end, index - 1);
+            boolean after = index < end && isWordCodePoint(
+                    codePointAt(index, end), start, end, index);
+            return before != after;
+        }
+        private boolean isWordCodePoint(
+                int codePoint, int start, int end, int index) {
+            return codePoint == '_' || Character.isLetterOrDigit(codePoint)
+                    || (Character.getType(codePoint)
+                            == Character.NON_SPACING_MARK
+                            && hasBaseCharacter(start, end, index));
+        }
+        private boolean hasBaseCharacter(int start, int end, int index) {
+            for (int i = index; i >= start; i--) {
+                int codePoint = codePointAt(i, end);
+                if (Character.isLetterOrDigit(codePoint)) {
+                    return true;
+                }
+                if (Character.getType(codePoint)
+                        != Character.NON_SPACING_MARK) {
+                    return false;
+                }
+            }
+            return false;
+        }
+        private int codePointAt(int index, int end) {
+            char ch = text.charAt(index);
+            if (Character.isHighSurrogate(ch) && index + 1 < end) {
+                char low = text.charAt(index + 1);
+                if (Character.isLowSurrogate(low)) {
+                    return Character.toCodePoint(ch, low);
+                }
+            }
+            return ch;
+        }
+        private int codePointBefore(int start, int index) {
+            char ch = text.charAt(index - 1);
+            if (Character.isLowSurrogate(ch) && index - 1 > start) {
+                char high = text.charAt(index - 2);
+                if (Character.isHighSurrogate(high)) {
+                    return Character.toCodePoint(high, ch);
+                }
+            }
+            return ch;
         }
     }
-    class TermOccurence implements Comparable<TermOccurence> {
-        private final String term;
-        private final int occurence;
-        public TermOccurence(String term, int occurence) {
-            super();
-            this.term = term;
-            this.occurence = occurence;
-        }
-        @Override
-        public int compareTo(TermOccurence o) {
-            return Integer.compare(occurence, o.occurence);
-        }
-        @Override
-        public boolean equals(final Object other) {
-            return EqualsBuilder.reflectionEquals(this, other);
-        }
-        @Override
-        public int hashCode() {
-            return HashCodeBuilder.reflectionHashCode(this);
-        }
-        @Override
-        public String toString() {
-            return new ReflectionToStringBuilder(
-                    this, ToStringStyle.SHORT_PREFIX_STYLE).toString();
+
+    // Open-addressing table of term occurrences. Terms are looked up by
+    // text region so strings are only created for new terms.
+    private static final class TermTable {
+        private String[] terms = new String[256];
+        private int[] counts = new int[256];
+        private int size;
+        // last matching sentence and match end, per valuable term
+        private int[] matchSentences;
+        private int[] matchEnds;
+
+        private void add(String text, int start, int end) {
+            int slot = slot(text, start, end);
+            if (terms[slot] == null) {
+                terms[slot] = text.substring(start, end);
+                counts[slot] = 1;
+                size++;
+                if (size * 2 > terms.length) {
+                    grow();
+                }
+            } else {
+                counts[slot]++;
+            }
+        }
+
+        private int count(int slot) {
+            return counts[slot];
+        }
+        private int count(String term) {
+            int slot = slot(term, 0, term.length());
+            return terms[slot] == null ? 0 : counts[slot];
+        }
+
+        // Returns the distinct lengths of valuable terms, in ascending order.
+        private int[] prepareMatching() {
+            matchSentences = new int[terms.length];
+            matchEnds = new int[terms.length];
+            Arrays.fill(matchSentences, -1);
+            int[] lengths = new int[0];
+            for (int i = 0; i < terms.length; i++) {
+                if (isValuable(i) && Arrays.binarySearch(
+                        lengths, terms[i].length()) < 0) {
+                    lengths = Arrays.copyOf(lengths, lengths.length + 1);
+                    lengths[lengths.length - 1] = terms[i].length();
+                    Arrays.sort(lengths);
+                }
+            }
+            return lengths;
+        }
+
+        // Returns the slot of a valuable term matching the text region,
+        // unless it overlaps the previous match of that term in the
+        // same sentence. Returns -1 otherwise.
+        private int match(String text, int start, int end, int sentence) {
+            int slot = slot(text, start, end);
+            if (!isValuable(slot) || (matchSentences[slot] == sentence
+                    && start < matchEnds[slot])) {
+                return -1;
+            }
+            matchSentences[slot] = sentence;
+            matchEnds[slot] = end;
+            return slot;
+        }
+
+        private boolean isValuable(int slot) {
+            return terms[slot] != null
+                    && terms[slot].length() >= MIN_TERM_LENGTH
+                    && counts[slot] >= MIN_OCCURENCES;
+        }
+
+        private int slot(String text, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+            int length = end - start;
+            int mask = terms.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (terms[slot] != null && (terms[slot].length() != length
+                    || !text.regionMatches(start, terms[slot], 0, length))) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            String[] oldTerms = terms;
+            int[] oldCounts = counts;
+            terms = new String[oldTerms.length * 2];
+            counts = new int[oldTerms.length * 2];
+            int mask = terms.length - 1;
+            for (int i = 0; i < oldTerms.length; i++) {
+                if (oldTerms[i] != null) {
+                    // same hash as computed from text regions
+                    int hash = oldTerms[i].hashCode();
+                    int slot = (hash ^ (hash >>> 16)) & mask;
+                    while (terms[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    terms[slot] = oldTerms[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
         }
     }
 }
-
@@ -16,7 +16,8 @@ package com.norconex.importer.handler.tagger.impl;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.util.HashSet;
+import java.nio.CharBuffer;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -66,6 +67,13 @@ import com.norconex.importer.parser.ParseState;
  * <p>
  * If no URLs are found, the target field values (if any) are left intact.
  * </p>
+ * <p>
+ * <b>Since 3.2.0</b>, URLs are stored in the order they are first found
+ * and URLs spanning more than one read of <code>maxReadSize</code>
+ * characters are no longer cut. You can limit how many unique URLs
+ * are extracted from a document with <code>maxURLs</code>, in which case
+ * content reading stops once that many URLs were found.
+ * </p>
  *
  * <h2>Content source</h2>
  * <p>
@@ -80,6 +88,7 @@ import com.norconex.importer.parser.ParseState;
  * <handler class="com.norconex.importer.handler.tagger.impl.URLExtractorTagger"
  *     toField="(target field where to store extracted URLs)"
  *     maxReadSize="(max characters to read at once)"
+ *     maxURLs="(max number of unique URLs to extract, default unlimited)"
  *     {@nx.include com.norconex.importer.handler.tagger.AbstractCharStreamTagger#attributes}
  *     {@nx.include com.norconex.commons.lang.map.PropertySetter#attributes}>
  *
@@ -120,6 +129,7 @@ public class URLExtractorTagger
     private String toField;
     private PropertySetter onSet;
     private int maxReadSize = TextReader.DEFAULT_MAX_READ_SIZE;
+    private int maxURLs = -1;
 
     @Override
     protected void tagTextDocument(HandlerDoc doc, Reader input,
@@ -129,46 +139,112 @@ public class URLExtractorTagger
             throw new IllegalArgumentException("\"toField\" cannot be blank.");
         }
 
-        Set<String> urls = new HashSet<>();
-
+        URLExtractor extractor = new URLExtractor(maxURLs);
         if (fieldMatcher.getPattern() == null) {
-            extractContentURLs(urls, input);
+            extractContentURLs(extractor, input);
         } else {
-            extractMetadataURLs(urls, doc.getMetadata());
+            extractMetadataURLs(extractor, doc.getMetadata());
         }
 
+        Set<String> urls = extractor.getURLs();
         if (!urls.isEmpty()) {
             PropertySetter.orAppend(onSet).apply(
                     doc.getMetadata(), toField, urls);
         }
     }
 
-    private void extractMetadataURLs(Set<String> urls, Properties meta) {
+    private void extractMetadataURLs(URLExtractor extractor, Properties meta) {
         for (String text : meta.matchKeys(fieldMatcher).valueList()) {
-            extractURLs(urls, text);
+            if (!extractor.read(text)) {
+                return;
+            }
+            extractor.end();
         }
     }
-    private void extractContentURLs(Set<String> urls, Reader reader)
+    private void extractContentURLs(URLExtractor extractor, Reader reader)
             throws ImporterHandlerException {
-        String text = null;
-        try (TextReader tr = new TextReader(reader, maxReadSize)) {
-            while ((text = tr.readText()) != null) {
-                extractURLs(urls, text);
+        char[] buffer = new char[Math.max(maxReadSize, 1)];
+        CharBuffer text = CharBuffer.wrap(buffer);
+        int read;
+        try {
+            while ((read = reader.read(buffer)) != -1) {
+                text.limit(read);
+                if (!extractor.read(text)) {
+                    return;
+                }
+                text.clear();
             }
         } catch (IOException e) {
             throw new ImporterHandlerException("Cannot tag text document.", e);
         }
+        extractor.end();
     }
 
-    private void extractURLs(Set<String> urls, String text) {
-        Matcher m = URL_PATTERN.matcher(text);
-        while (m.find()) {
-            String url = m.group();
-            if (!url.startsWith("http")) {
-                url = "https://" + url;
+    // Streaming URL extraction (also used by TextAnalyticsTagger).
+    // Text can be supplied in any number of parts. Trailing text of a part
+    // not ending with white space is carried over to the next part so
+    // URLs are not cut at part boundaries. URLs are kept in the order
+    // they are found, without duplicates.
+    static final class URLExtractor {
+        // Longer text without white space is not carried over (URLs may
+        // then be cut).
+        private static final int MAX_CARRY_OVER = 8192;
+
+        private final Set<String> urls = new LinkedHashSet<>();
+        private final StringBuilder text = new StringBuilder();
+        private final int maxURLs;
+
+        URLExtractor(int maxURLs) {
+            this.maxURLs = maxURLs;
+        }
+
+        // Returns false when the maximum number of URLs is reached.
+        boolean read(CharSequence part) {
+            text.append(part);
+            int end = text.length();
+            while (end > 0 && !isSpace(text.charAt(end - 1))) {
+                end--;
+            }
+            if (end == 0) {
+                if (text.length() <= MAX_CARRY_OVER) {
+                    return true;
+                }
+                // no white space in sight, do not carry over any longer
+                end = text.length();
             }
-            url = StringUtils.stripEnd(url, ".,");
-            urls.add(url);
+            extract(end);
+            text.delete(0, end);
+            return !isFull();
+        }
+        // Extracts URLs from any carried-over text.
+        void end() {
+            extract(text.length());
+            text.setLength(0);
+        }
+        Set<String> getURLs() {
+            return urls;
+        }
+
+        private boolean isFull() {
+            return maxURLs > -1 && urls.size() >= maxURLs;
+        }
+        // URLs starting before "end" also end before it since "end"
+        // follows white space.
+        private void extract(int end) {
+            Matcher m = URL_PATTERN.matcher(text);
+            while (!isFull() && m.find() && m.start() < end) {
+                String url = m.group();
+                if (!url.startsWith("http")) {
+                    url = "https://" + url;
+                }
+                url = StringUtils.stripEnd(url, ".,");
+                urls.add(url);
+            }
+        }
+        // Same as "\\s" in URL_PATTERN
+        private static boolean isSpace(char ch) {
+            return ch == ' ' || ch == '\t' || ch == '\n'
+                    || ch == '\u000B' || ch == '\f' || ch == '\r';
         }
     }
 
@@ -228,12 +304,33 @@ public class URLExtractorTagger
         this.maxReadSize = maxReadSize;
     }
 
+    /**
+     * Gets the maximum number of unique URLs to extract from a document.
+     * Extraction stops once that number is reached.
+     * Default is -1 (unlimited).
+     * @return maximum number of URLs
+     * @since 3.2.0
+     */
+    public int getMaxURLs() {
+        return maxURLs;
+    }
+    /**
+     * Sets the maximum number of unique URLs to extract from a document.
+     * Extraction stops once that number is reached. Use -1 for unlimited.
+     * @param maxURLs maximum number of URLs
+     * @since 3.2.0
+     */
+    public void setMaxURLs(int maxURLs) {
+        this.maxURLs = maxURLs;
+    }
+
     @Override
     protected void loadCharStreamTaggerFromXML(XML xml) {
         fieldMatcher.loadFromXML(xml.getXML("fieldMatcher"));
         setOnSet(PropertySetter.fromXML(xml, onSet));
         setToField(xml.getString("@toField", toField));
         setMaxReadSize(xml.getInteger("@maxReadSize", maxReadSize));
+        setMaxURLs(xml.getInteger("@maxURLs", maxURLs));
     }
 
     @Override
@@ -242,6 +339,7 @@ public class URLExtractorTagger
         PropertySetter.toXML(xml, getOnSet());
         xml.setAttribute("toField", toField);
         xml.setAttribute("maxReadSize", maxReadSize);
+        xml.setAttribute("maxURLs", maxURLs);
     }
 
     @Override
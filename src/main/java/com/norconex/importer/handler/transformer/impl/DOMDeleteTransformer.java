@@ -14,20 +14,21 @@
  */
 package com.norconex.importer.handler.transformer.impl;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -181,16 +182,22 @@ public class DOMDeleteTransformer extends AbstractDocumentTransformer {
                     parseState,
                     sourceCharset,
                     doc.getDocInfo().getContentEncoding());
-            IOUtils.write(handle(Jsoup.parse(document, inputCharset,
-                    doc.getReference(), DOMUtil.toJSoupParser(getParser()))),
-                    output, inputCharset);
+            Document jsoupDoc =
+                    doc.parseDOM(document, inputCharset, getParser());
+            // modified in place: no longer matches the document content
+            doc.discardDOMs();
+            handle(jsoupDoc);
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(output, inputCharset));
+            DOMUtil.write(jsoupDoc, writer);
+            writer.flush();
         } catch (IOException e) {
             throw new ImporterHandlerException(
                     "Cannot process DOM element(s) from DOM-tree.", e);
         }
     }
 
-    private String handle(Document jsoupDoc) {
+    private Document handle(Document jsoupDoc) {
         for (String selector : selectors) {
             Elements elms = jsoupDoc.select(StringUtils.trim(selector));
             if (!elms.isEmpty()) {
@@ -199,7 +206,7 @@ public class DOMDeleteTransformer extends AbstractDocumentTransformer {
                 }
             }
         }
-        return jsoupDoc.toString();
+        return jsoupDoc;
     }
 
     public List<String> getSelectors() {
@@ -14,21 +14,22 @@
  */
 package com.norconex.importer.handler.transformer.impl;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -247,27 +248,37 @@ public class DOMPreserveTransformer extends AbstractDocumentTransformer {
     protected void transformApplicableDocument(HandlerDoc doc,
             InputStream document, OutputStream output, ParseState parseState)
                     throws ImporterHandlerException {
-        String ref = doc.getReference();
         try {
             String inputCharset = CharsetUtil.firstNonBlankOrUTF8(
                     parseState,
                     sourceCharset,
                     doc.getDocInfo().getContentEncoding());
-            IOUtils.write(handle(Jsoup.parse(document, inputCharset, ref,
-                    DOMUtil.toJSoupParser(getParser()))),
-                    output, inputCharset);
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(output, inputCharset));
+            handle(doc.parseDOM(document, inputCharset, getParser()), writer);
+            writer.flush();
         } catch (IOException e) {
             throw new ImporterHandlerException(
                     "Cannot process DOM element(s) from DOM-tree.", e);
         }
     }
 
-    private String handle(Document jsoupDoc) {
+    // Writes extracted values, one per line
+    private void handle(Document jsoupDoc, Writer writer)
+            throws IOException {
         List<String> extractedValues = new ArrayList<>();
+        boolean first = true;
         for (DOMExtractDetails details : extractions) {
             domExtractDoc(extractedValues, jsoupDoc, details);
+            for (String value : extractedValues) {
+                if (!first) {
+                    writer.write('\n');
+                }
+                writer.write(value);
+                first = false;
+            }
+            extractedValues.clear();
         }
-        return StringUtils.join(extractedValues, '\n');
     }
 
     private void domExtractDoc(List<String> extractedValues,
@@ -83,8 +83,13 @@ import com.norconex.importer.parser.ParseState;
 @SuppressWarnings("javadoc")
 public class ReduceConsecutivesTransformer extends AbstractStringTransformer {
 
+    private static final Pattern PATTERN_REGEX_SPECIAL = Pattern.compile(
+            "([\\\\\\.\\[\\{\\(\\*\\+\\?\\^\\$\\|])");
+
     private boolean ignoreCase;
     private final List<String> reductions = new ArrayList<>();
+    // compiled on first use, reset when reductions or case handling change
+    private transient List<Pattern> reductionPatterns;
 
     @Override
     protected void transformStringContent(HandlerDoc doc,
@@ -93,27 +98,36 @@ public class ReduceConsecutivesTransformer extends AbstractStringTransformer {
 
         String text = content.toString();
         content.setLength(0);
-        Pattern pattern;
-        for (String reduction : reductions) {
-            String regex = "(" + escapeRegex(reduction) + ")+";
-            if (ignoreCase) {
-                pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-            } else {
-                pattern = Pattern.compile(regex);
-            }
+        for (Pattern pattern : reductionPatterns()) {
             text = pattern.matcher(text).replaceAll("$1");
         }
         content.append(text);
     }
 
+    private List<Pattern> reductionPatterns() {
+        List<Pattern> patterns = reductionPatterns;
+        if (patterns == null) {
+            int flags = ignoreCase ? Pattern.CASE_INSENSITIVE : 0;
+            patterns = new ArrayList<>(reductions.size());
+            for (String reduction : reductions) {
+                patterns.add(Pattern.compile(
+                        "(" + escapeRegex(reduction) + ")+", flags));
+            }
+            reductionPatterns = patterns;
+        }
+        return patterns;
+    }
+
     public List<String> getReductions() {
         return new ArrayList<>(reductions);
     }
     public void setReductions(final String... reductions) {
         CollectionUtil.setAll(this.reductions, reductions);
+        this.reductionPatterns = null;
     }
     public void addReductions(final String... reductions) {
         this.reductions.addAll(Arrays.asList(reductions));
+        this.reductionPatterns = null;
     }
 
     /**
@@ -134,6 +148,7 @@ public class ReduceConsecutivesTransformer extends AbstractStringTransformer {
     @Deprecated
     public void setCaseSensitive(final boolean caseSensitive) {
         this.ignoreCase = !caseSensitive;
+        this.reductionPatterns = null;
     }
 
     /**
@@ -151,11 +166,11 @@ public class ReduceConsecutivesTransformer extends AbstractStringTransformer {
      */
     public void setIgnoreCase(boolean ignoreCase) {
         this.ignoreCase = ignoreCase;
+        this.reductionPatterns = null;
     }
 
     private String escapeRegex(final String text) {
-        return text.replaceAll(
-                "([\\\\\\.\\[\\{\\(\\*\\+\\?\\^\\$\\|])", "\\\\$1");
+        return PATTERN_REGEX_SPECIAL.matcher(text).replaceAll("\\\\$1");
     }
 
     @Override
@@ -15,6 +15,7 @@
 package com.norconex.importer.handler.transformer.impl;
 
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -30,6 +31,7 @@ import com.norconex.commons.lang.xml.XML;
 import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.transformer.AbstractStringTransformer;
 import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.util.regex.TextMatcherPattern;
 
 /**
  * <p>Strips any content found after first match found for given pattern.</p>
@@ -73,6 +75,9 @@ public class StripAfterTransformer extends AbstractStringTransformer
 
     private boolean inclusive;
     private final TextMatcher stripAfterMatcher = new TextMatcher();
+    // compiled on first use, recompiled when the matcher changes
+    private final transient TextMatcherPattern stripAfterPattern =
+            new TextMatcherPattern();
 
     @Override
     protected void transformStringContent(HandlerDoc doc,
@@ -83,7 +88,7 @@ public class StripAfterTransformer extends AbstractStringTransformer
             return;
         }
 
-        Matcher m = stripAfterMatcher.toRegexMatcher(content);
+        Matcher m = stripAfterPattern().matcher(content);
         if (m.find()) {
             if (inclusive) {
                 content.delete(m.start(), content.length());
@@ -93,6 +98,10 @@ public class StripAfterTransformer extends AbstractStringTransformer
         }
     }
 
+    private Pattern stripAfterPattern() {
+        return stripAfterPattern.get(stripAfterMatcher);
+    }
+
     /**
      * Gets the matcher for the text from which to strip content.
      * @return text matcher
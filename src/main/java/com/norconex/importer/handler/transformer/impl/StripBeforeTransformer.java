@@ -15,6 +15,7 @@
 package com.norconex.importer.handler.transformer.impl;
 
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -30,6 +31,7 @@ import com.norconex.commons.lang.xml.XML;
 import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.transformer.AbstractStringTransformer;
 import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.util.regex.TextMatcherPattern;
 
 /**
  * <p>Strips any content found before first match found for given pattern.</p>
@@ -72,6 +74,9 @@ public class StripBeforeTransformer extends AbstractStringTransformer
 
     private boolean inclusive;
     private final TextMatcher stripBeforeMatcher = new TextMatcher();
+    // compiled on first use, recompiled when the matcher changes
+    private final transient TextMatcherPattern stripBeforePattern =
+            new TextMatcherPattern();
 
     @Override
     protected void transformStringContent(HandlerDoc doc,
@@ -82,7 +87,7 @@ public class StripBeforeTransformer extends AbstractStringTransformer
             return;
         }
 
-        Matcher m = stripBeforeMatcher.toRegexMatcher(content);
+        Matcher m = stripBeforePattern().matcher(content);
         if (m.find()) {
             if (inclusive) {
                 content.delete(0, m.end());
@@ -92,6 +97,10 @@ public class StripBeforeTransformer extends AbstractStringTransformer
         }
     }
 
+    private Pattern stripBeforePattern() {
+        return stripBeforePattern.get(stripBeforeMatcher);
+    }
+
     /**
      * Gets the matcher for the text up to which to strip content.
      * @return text matcher
@@ -17,6 +17,7 @@ package com.norconex.importer.handler.transformer.impl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -31,6 +32,7 @@ import com.norconex.commons.lang.xml.XML;
 import com.norconex.importer.handler.HandlerDoc;
 import com.norconex.importer.handler.transformer.AbstractStringTransformer;
 import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.util.regex.TextMatcherPattern;
 
 /**
  * <p>Strips any content found between a matching start and end strings.  The
@@ -88,9 +90,9 @@ public class StripBetweenTransformer extends AbstractStringTransformer
             final int sectionIndex) {
 
         for (StripBetweenDetails between : betweens) {
-            Matcher leftMatch = between.startMatcher.toRegexMatcher(content);
+            Matcher leftMatch = between.startPattern().matcher(content);
             while (leftMatch.find()) {
-                Matcher rightMatch = between.endMatcher.toRegexMatcher(content);
+                Matcher rightMatch = between.endPattern().matcher(content);
                 if (rightMatch.find(leftMatch.end())) {
                     if (between.inclusive) {
                         content.delete(leftMatch.start(), rightMatch.end());
@@ -100,7 +102,7 @@ public class StripBetweenTransformer extends AbstractStringTransformer
                 } else {
                     break;
                 }
-                leftMatch = between.startMatcher.toRegexMatcher(content);
+                leftMatch = between.startPattern().matcher(content);
             }
         }
     }
@@ -236,6 +238,11 @@ public class StripBetweenTransformer extends AbstractStringTransformer
         private final TextMatcher startMatcher = new TextMatcher();
         private final TextMatcher endMatcher = new TextMatcher();
         private boolean inclusive;
+        // compiled on first use, recompiled when matchers change
+        private final transient TextMatcherPattern startPattern =
+                new TextMatcherPattern();
+        private final transient TextMatcherPattern endPattern =
+                new TextMatcherPattern();
         /**
          * Constructor.
          */
@@ -290,6 +297,13 @@ public class StripBetweenTransformer extends AbstractStringTransformer
             this.inclusive = inclusive;
         }
 
+        private Pattern startPattern() {
+            return startPattern.get(startMatcher);
+        }
+        private Pattern endPattern() {
+            return endPattern.get(endMatcher);
+        }
+
         @Override
         public boolean equals(final Object other) {
             return EqualsBuilder.reflectionEquals(this, other);
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -123,6 +124,13 @@ import com.norconex.importer.response.ImporterResponse;
  * analysis, preventing startup-time network calls or local service dependency
  * checks unless a user intentionally enables them.
  * </p>
+ * <p>
+ * Since 3.2.0, you can limit how much metadata parsers add to
+ * documents, and which fields they add. This prevents files with
+ * thousands of metadata entries (e.g., XMP or EXIF data in images)
+ * from using too much memory. Limits are per document and are not set
+ * by default.
+ * </p>
  *
  * {@nx.xml.usage
  * <documentParserFactory
@@ -144,6 +152,17 @@ import com.norconex.importer.response.ImporterResponse;
  * <sentiment enabled="[false|true]"
  * modelPath="(optional model path or URL, default: remote Tika model)"/>
  *
+ * <metadata maxFields="(max number of fields per document)"
+ * maxValuesPerField="(max number of values per field)"
+ * maxValueLength="(max number of characters per value)">
+ * <includeFields>
+ * (optional regex matching names of parsed fields to keep)
+ * </includeFields>
+ * <excludeFields>
+ * (optional regex matching names of parsed fields to ignore)
+ * </excludeFields>
+ * </metadata>
+ *
  * <ignoredContentTypes>
  * (optional regex matching content types to ignore for parsing,
  * i.e., not parsed)
@@ -212,6 +231,7 @@ public class GenericDocumentParserFactory
     private IDocumentParser fallbackParser;
 
     private String ignoredContentTypesRegex;
+    private Pattern ignoredContentTypesPattern;
 
     private boolean parsersAreUpToDate = false;
 
@@ -305,8 +325,9 @@ public class GenericDocumentParserFactory
             String documentReference, ContentType contentType) {
         // If ignoring content-type, do not even return a parser
         if (contentType != null
-                && StringUtils.isNotBlank(ignoredContentTypesRegex)
-                && contentType.toString().matches(ignoredContentTypesRegex)) {
+                && ignoredContentTypesPattern != null
+                && ignoredContentTypesPattern.matcher(
+                        contentType.toString()).matches()) {
             return null;
         }
 
@@ -336,6 +357,9 @@ public class GenericDocumentParserFactory
      */
     public void setIgnoredContentTypesRegex(String ignoredContentTypesRegex) {
         this.ignoredContentTypesRegex = ignoredContentTypesRegex;
+        this.ignoredContentTypesPattern =
+                StringUtils.isNotBlank(ignoredContentTypesRegex)
+                        ? Pattern.compile(ignoredContentTypesRegex) : null;
     }
 
     private synchronized void ensureParseHintsState() {
@@ -456,6 +480,22 @@ public class GenericDocumentParserFactory
             sentimentCfg.setModelPath(sentimentXml.getString(
                     "@modelPath", sentimentCfg.getModelPath()));
         }
+
+        // Metadata Config
+        XML metaXml = xml.getXML("metadata");
+        if (metaXml != null) {
+            MetadataConfig metaCfg = parseHints.getMetadataConfig();
+            metaCfg.setMaxFields(metaXml.getInteger(
+                    "@maxFields", metaCfg.getMaxFields()));
+            metaCfg.setMaxValuesPerField(metaXml.getInteger(
+                    "@maxValuesPerField", metaCfg.getMaxValuesPerField()));
+            metaCfg.setMaxValueLength(metaXml.getInteger(
+                    "@maxValueLength", metaCfg.getMaxValueLength()));
+            metaCfg.setIncludeFields(
+                    metaXml.getString("includeFields", null));
+            metaCfg.setExcludeFields(
+                    metaXml.getString("excludeFields", null));
+        }
     }
 
     @Override
@@ -511,6 +551,20 @@ public class GenericDocumentParserFactory
                     .setAttribute("enabled", sentiment.isEnabled())
                     .setAttribute("modelPath", sentiment.getModelPath());
         }
+        MetadataConfig meta = parseHints.getMetadataConfig();
+        if (!meta.isEmpty()) {
+            XML metaXML = xml.addElement("metadata")
+                    .setAttribute("maxFields", meta.getMaxFields())
+                    .setAttribute("maxValuesPerField",
+                            meta.getMaxValuesPerField())
+                    .setAttribute("maxValueLength", meta.getMaxValueLength());
+            if (StringUtils.isNotBlank(meta.getIncludeFields())) {
+                metaXML.addElement("includeFields", meta.getIncludeFields());
+            }
+            if (StringUtils.isNotBlank(meta.getExcludeFields())) {
+                metaXML.addElement("excludeFields", meta.getExcludeFields());
+            }
+        }
     }
 
     @Override
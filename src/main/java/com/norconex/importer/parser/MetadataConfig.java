@@ -0,0 +1,203 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.parser;
+
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * <p>
+ * Configuration settings limiting the metadata parsers add to documents.
+ * Some files hold thousands of metadata entries (e.g., images with
+ * XMP or EXIF data), which can use a lot of memory without being useful.
+ * </p>
+ * <p>
+ * Field names are matched against the included/excluded regular
+ * expressions once renamed according to the parser field policy (e.g.,
+ * with or without "dc:" prefix). Limits are per document. A value of
+ * <code>-1</code> means no limit (the default).
+ * </p>
+ *
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+public class MetadataConfig {
+
+    private int maxFields = -1;
+    private int maxValuesPerField = -1;
+    private int maxValueLength = -1;
+    private String includeFields;
+    private String excludeFields;
+    // compiled when set, null when blank
+    private transient Pattern includeFieldsPattern;
+    private transient Pattern excludeFieldsPattern;
+
+    /**
+     * Gets the maximum number of fields a document can have for new
+     * parsed fields to be added.
+     * @return maximum number of fields
+     */
+    public int getMaxFields() {
+        return maxFields;
+    }
+    /**
+     * Sets the maximum number of fields a document can have for new
+     * parsed fields to be added. Values are still added to existing fields.
+     * @param maxFields maximum number of fields
+     */
+    public void setMaxFields(int maxFields) {
+        this.maxFields = maxFields;
+    }
+
+    /**
+     * Gets the maximum number of values a field can have for new parsed
+     * values to be added to it.
+     * @return maximum number of values per field
+     */
+    public int getMaxValuesPerField() {
+        return maxValuesPerField;
+    }
+    /**
+     * Sets the maximum number of values a field can have for new parsed
+     * values to be added to it. Extra values are ignored.
+     * @param maxValuesPerField maximum number of values per field
+     */
+    public void setMaxValuesPerField(int maxValuesPerField) {
+        this.maxValuesPerField = maxValuesPerField;
+    }
+
+    /**
+     * Gets the maximum number of characters of parsed values.
+     * @return maximum value length
+     */
+    public int getMaxValueLength() {
+        return maxValueLength;
+    }
+    /**
+     * Sets the maximum number of characters of parsed values. Longer
+     * values are truncated.
+     * @param maxValueLength maximum value length
+     */
+    public void setMaxValueLength(int maxValueLength) {
+        this.maxValueLength = maxValueLength;
+    }
+
+    /**
+     * Gets the regular expression matching names of parsed fields to add.
+     * @return regular expression
+     */
+    public String getIncludeFields() {
+        return includeFields;
+    }
+    /**
+     * Sets the regular expression matching names of parsed fields to add.
+     * When blank, all fields are added, unless excluded.
+     * @param includeFields regular expression
+     */
+    public void setIncludeFields(String includeFields) {
+        this.includeFields = includeFields;
+        this.includeFieldsPattern = toPattern(includeFields);
+    }
+
+    /**
+     * Gets the regular expression matching names of parsed fields
+     * not to add.
+     * @return regular expression
+     */
+    public String getExcludeFields() {
+        return excludeFields;
+    }
+    /**
+     * Sets the regular expression matching names of parsed fields
+     * not to add. Takes precedence over included fields.
+     * @param excludeFields regular expression
+     */
+    public void setExcludeFields(String excludeFields) {
+        this.excludeFields = excludeFields;
+        this.excludeFieldsPattern = toPattern(excludeFields);
+    }
+
+    /**
+     * Gets whether a parsed field with the given name should be added,
+     * based on the included and excluded field expressions.
+     * @param fieldName parsed field name
+     * @return <code>true</code> if the field should be added
+     */
+    public boolean isFieldIncluded(String fieldName) {
+        return (includeFieldsPattern == null
+                || includeFieldsPattern.matcher(fieldName).matches())
+                && (excludeFieldsPattern == null
+                        || !excludeFieldsPattern.matcher(fieldName).matches());
+    }
+
+    /**
+     * Gets whether this configuration imposes no limit on parsed metadata
+     * (i.e., nothing was configured).
+     * @return <code>true</code> if no limit is configured
+     */
+    public boolean isEmpty() {
+        return maxFields < 0
+                && maxValuesPerField < 0
+                && maxValueLength < 0
+                && StringUtils.isBlank(includeFields)
+                && StringUtils.isBlank(excludeFields);
+    }
+
+    private static Pattern toPattern(String regex) {
+        return StringUtils.isBlank(regex) ? null : Pattern.compile(regex);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof MetadataConfig)) {
+            return false;
+        }
+        MetadataConfig castOther = (MetadataConfig) other;
+        return new EqualsBuilder()
+                .append(maxFields, castOther.maxFields)
+                .append(maxValuesPerField, castOther.maxValuesPerField)
+                .append(maxValueLength, castOther.maxValueLength)
+                .append(includeFields, castOther.includeFields)
+                .append(excludeFields, castOther.excludeFields)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+                .append(maxFields)
+                .append(maxValuesPerField)
+                .append(maxValueLength)
+                .append(includeFields)
+                .append(excludeFields)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("maxFields", maxFields)
+                .append("maxValuesPerField", maxValuesPerField)
+                .append("maxValueLength", maxValueLength)
+                .append("includeFields", includeFields)
+                .append("excludeFields", excludeFields)
+                .toString();
+    }
+}
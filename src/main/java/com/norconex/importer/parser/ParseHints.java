@@ -34,6 +34,7 @@ public class ParseHints {
     private final EmbeddedConfig embeddedConfig = new EmbeddedConfig();
     private final GrobidConfig grobidConfig = new GrobidConfig();
     private final SentimentConfig sentimentConfig = new SentimentConfig();
+    private final MetadataConfig metadataConfig = new MetadataConfig();
 
     public OCRConfig getOcrConfig() {
         return ocrConfig;
@@ -51,6 +52,15 @@ public class ParseHints {
         return sentimentConfig;
     }
 
+    /**
+     * Gets the configuration limiting parsed metadata.
+     * @return metadata configuration
+     * @since 3.2.0
+     */
+    public MetadataConfig getMetadataConfig() {
+        return metadataConfig;
+    }
+
     @Override
     public boolean equals(final Object other) {
         if (!(other instanceof ParseHints)) {
@@ -62,6 +72,7 @@ public class ParseHints {
                 .append(embeddedConfig, castOther.embeddedConfig)
                 .append(grobidConfig, castOther.grobidConfig)
                 .append(sentimentConfig, castOther.sentimentConfig)
+                .append(metadataConfig, castOther.metadataConfig)
                 .isEquals();
     }
 
@@ -72,6 +83,7 @@ public class ParseHints {
                 .append(embeddedConfig)
                 .append(grobidConfig)
                 .append(sentimentConfig)
+                .append(metadataConfig)
                 .toHashCode();
     }
 
@@ -82,6 +94,7 @@ public class ParseHints {
                 .append("embeddedConfig", embeddedConfig)
                 .append("grobidConfig", grobidConfig)
                 .append("sentimentConfig", sentimentConfig)
+                .append("metadataConfig", metadataConfig)
                 .toString();
     }
 }
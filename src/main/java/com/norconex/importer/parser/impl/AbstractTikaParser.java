@@ -22,9 +22,12 @@ import java.io.InputStream;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -63,9 +66,11 @@ import com.norconex.commons.lang.io.CachedStreamFactory;
 import com.norconex.commons.lang.map.Properties;
 import com.norconex.importer.doc.Doc;
 import com.norconex.importer.doc.DocInfo;
+import com.norconex.importer.doc.IndexedMetadata;
 import com.norconex.importer.parser.DocumentParserException;
 import com.norconex.importer.parser.GrobidConfig;
 import com.norconex.importer.parser.IHintsAwareParser;
+import com.norconex.importer.parser.MetadataConfig;
 import com.norconex.importer.parser.OCRConfig;
 import com.norconex.importer.parser.ParseHints;
 import com.norconex.importer.parser.SentimentConfig;
@@ -88,12 +93,19 @@ public class AbstractTikaParser implements IHintsAwareParser {
     private static final String SENTIMENT_PARSER = "org.apache.tika.parser.sentiment.SentimentAnalysisParser";
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractTikaParser.class);
+    private static final MetadataConfig DEFAULT_METADATA_CONFIG =
+            new MetadataConfig();
 
     private final Parser parser;
     private TesseractOCRConfig ocrTesseractConfig;
     private ParseHints parseHints;
     private final ThreadSafeCacheableAutoDetectWrapper knownDetector;
     private MetadataFieldPolicy metadataFieldPolicy = MetadataFieldPolicy.BOTH;
+    // compiled from parse hints content types, null when not set
+    private Pattern ocrContentTypes;
+    private Pattern splitContentTypes;
+    private Pattern noExtractContainerContentTypes;
+    private Pattern noExtractEmbeddedContentTypes;
 
     /**
      * Creates a new Tika-based parser.
@@ -120,6 +132,13 @@ public class AbstractTikaParser implements IHintsAwareParser {
         } else {
             this.ocrTesseractConfig = toTesseractConfig(parseHints.getOcrConfig());
         }
+        ocrContentTypes = toPattern(parseHints.getOcrConfig().getContentTypes());
+        splitContentTypes = toPattern(
+                parseHints.getEmbeddedConfig().getSplitContentTypes());
+        noExtractContainerContentTypes = toPattern(parseHints
+                .getEmbeddedConfig().getNoExtractContainerContentTypes());
+        noExtractEmbeddedContentTypes = toPattern(parseHints
+                .getEmbeddedConfig().getNoExtractEmbeddedContentTypes());
         applyGrobidConfig();
         applySentimentConfig();
     }
@@ -389,8 +408,8 @@ public class AbstractTikaParser implements IHintsAwareParser {
             OCRConfig ocrConfig = parseHints.getOcrConfig();
             if (!ocrConfig.isEmpty()
                     && StringUtils.isNotBlank(ocrConfig.getPath())
-                    && (StringUtils.isBlank(ocrConfig.getContentTypes())
-                            || contentType.matches(ocrConfig.getContentTypes()))) {
+                    && (ocrContentTypes == null
+                            || matches(contentType, ocrContentTypes))) {
                 TesseractOCRParser tesseractParser = new TesseractOCRParser();
                 tesseractParser.setTesseractPath(ocrConfig.getPath());
                 context.set(TesseractOCRParser.class, tesseractParser);
@@ -438,12 +457,16 @@ public class AbstractTikaParser implements IHintsAwareParser {
      * Transfers metadata from Tika to Importer.
      * The behavior for Dublin Core (dc:) prefixed field names is controlled by
      * {@link #setMetadataFieldPolicy(MetadataFieldPolicy)}.
+     * Fields and values added are limited by the parse hints
+     * {@link MetadataConfig}, if any.
      * 
      * @param tikaMeta Tika metadata
      * @param metadata Importer metadata
      */
     protected void addTikaMetadataToImporterMetadata(
             Metadata tikaMeta, Properties metadata) {
+        MetadataConfig metaConfig = parseHints != null
+                ? parseHints.getMetadataConfig() : DEFAULT_METADATA_CONFIG;
         String[] names = tikaMeta.names();
         for (int i = 0; i < names.length; i++) {
             String name = names[i];
@@ -468,18 +491,52 @@ public class AbstractTikaParser implements IHintsAwareParser {
 
             String[] tikaValues = tikaMeta.getValues(name);
             for (String fieldName : targetFieldNames) {
-                List<String> nxValues = metadata.getStrings(fieldName);
-                for (String tikaValue : tikaValues) {
-                    if (!containsSameValue(fieldName, nxValues, tikaValue)) {
-                        metadata.add(fieldName, tikaValue);
-                    } else {
-                        metadata.set(fieldName, tikaValue);
-                    }
+                if (metaConfig.isFieldIncluded(fieldName)) {
+                    addTikaValues(metaConfig, metadata, fieldName, tikaValues);
                 }
             }
         }
     }
 
+    private void addTikaValues(MetadataConfig metaConfig,
+            Properties metadata, String fieldName, String[] tikaValues) {
+        int maxFields = metaConfig.getMaxFields();
+        if (maxFields > -1 && metadata.size() >= maxFields
+                && !metadata.containsKey(fieldName)) {
+            LOG.debug("Maximum number of metadata fields reached ({}). "
+                    + "Ignoring field: {}", maxFields, fieldName);
+            return;
+        }
+        int maxValues = metaConfig.getMaxValuesPerField();
+        List<String> nxValues = metadata.getStrings(fieldName);
+        // Hashed to avoid a linear search per value on large fields
+        Set<String> nxValueSet = nxValues.isEmpty()
+                ? Collections.emptySet() : new HashSet<>(nxValues);
+        int count = nxValues.size();
+        int ignored = 0;
+        for (String tikaValue : tikaValues) {
+            String value = tikaValue;
+            if (metaConfig.getMaxValueLength() > -1) {
+                value = StringUtils.truncate(
+                        value, metaConfig.getMaxValueLength());
+            }
+            if (containsSameValue(fieldName, nxValues, nxValueSet, value)) {
+                metadata.set(fieldName, value);
+                count = 1;
+            } else if (maxValues < 0 || count < maxValues) {
+                metadata.add(fieldName, value);
+                count++;
+            } else {
+                ignored++;
+            }
+        }
+        if (ignored > 0) {
+            LOG.debug("Maximum number of values reached ({}) for metadata "
+                    + "field \"{}\". Ignored {} value(s).",
+                    maxValues, fieldName, ignored);
+        }
+    }
+
     public MetadataFieldPolicy getMetadataFieldPolicy() {
         return metadataFieldPolicy;
     }
@@ -501,27 +558,26 @@ public class AbstractTikaParser implements IHintsAwareParser {
                 metadataFieldPolicy.trim().toUpperCase(Locale.ROOT));
     }
 
-    private boolean containsSameValue(
-            String name, List<String> nxValues, String tikaValue) {
+    private boolean containsSameValue(String name, List<String> nxValues,
+            Set<String> nxValueSet, String tikaValue) {
         if (EqualsUtil.equalsAnyIgnoreCase(
                 name, Metadata.CONTENT_TYPE, Metadata.CONTENT_ENCODING)) {
-            String tk = tikaValue.replaceAll("[\\s]", "");
+            String tk = StringUtils.deleteWhitespace(tikaValue);
             for (String nxValue : nxValues) {
-                if (nxValue.replaceAll("[\\s]", "").equalsIgnoreCase(tk)) {
+                if (StringUtils.deleteWhitespace(nxValue).equalsIgnoreCase(tk)) {
                     return true;
                 }
             }
             return false;
         }
-        return nxValues.contains(tikaValue);
+        return nxValueSet.contains(tikaValue);
     }
 
     protected RecursiveParser createRecursiveParser(
             String reference, String contentType, Writer writer,
             Properties metadata, CachedStreamFactory streamFactory) {
-        String splitRegex = parseHints.getEmbeddedConfig().getSplitContentTypes();
-        if (StringUtils.isNotBlank(splitRegex)
-                && contentType.matches(splitRegex)) {
+        if (splitContentTypes != null
+                && matches(contentType, splitContentTypes)) {
             return new SplitEmbbededParser(
                     reference, this.parser, metadata, streamFactory);
         }
@@ -633,7 +689,7 @@ public class AbstractTikaParser implements IHintsAwareParser {
                     embeddedDocs = new ArrayList<>();
                 }
 
-                Properties embedMeta = new Properties();
+                Properties embedMeta = new IndexedMetadata();
                 addTikaMetadataToImporterMetadata(tikaMeta, embedMeta);
 
                 DocInfo embedDocInfo = resolveEmbeddedResourceName(
@@ -790,32 +846,8 @@ public class AbstractTikaParser implements IHintsAwareParser {
     }
 
     private boolean hasNoExtractCondition() {
-        if (parseHints == null) {
-            return false;
-        }
-        if (StringUtils.isNotBlank(getNoExtractContainerRegex())) {
-            return true;
-        }
-        if (StringUtils.isNotBlank(getNoExtractEmbeddedRegex())) {
-            return true;
-        }
-        return false;
-    }
-
-    private String getNoExtractContainerRegex() {
-        if (parseHints == null) {
-            return null;
-        }
-        return parseHints.getEmbeddedConfig()
-                .getNoExtractContainerContentTypes();
-    }
-
-    private String getNoExtractEmbeddedRegex() {
-        if (parseHints == null) {
-            return null;
-        }
-        return parseHints.getEmbeddedConfig()
-                .getNoExtractEmbeddedContentTypes();
+        return noExtractContainerContentTypes != null
+                || noExtractEmbeddedContentTypes != null;
     }
 
     private boolean performExtract(String parentType, String currentType) {
@@ -824,16 +856,22 @@ public class AbstractTikaParser implements IHintsAwareParser {
         }
 
         // --- Container ---
-        String containerRegex = getNoExtractContainerRegex();
-        if (StringUtils.isNotBlank(containerRegex)
-                && parentType.matches(containerRegex)) {
+        if (noExtractContainerContentTypes != null
+                && matches(parentType, noExtractContainerContentTypes)) {
             return false;
         }
 
         // --- Embedded ---
-        String embeddedRegex = getNoExtractEmbeddedRegex();
-        return StringUtils.isBlank(embeddedRegex)
-                || !currentType.matches(embeddedRegex);
+        return noExtractEmbeddedContentTypes == null
+                || !matches(currentType, noExtractEmbeddedContentTypes);
+    }
+
+    private static boolean matches(String text, Pattern pattern) {
+        return pattern.matcher(text).matches();
+    }
+
+    private static Pattern toPattern(String regex) {
+        return StringUtils.isBlank(regex) ? null : Pattern.compile(regex);
     }
 
     // TODO create in a separate class, and make it that it caches
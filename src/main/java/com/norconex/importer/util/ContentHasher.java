@@ -0,0 +1,285 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * <p>
+ * Computes hashes of content as it is written, for any number of
+ * algorithms at once. Typically used as a branch of a
+ * {@link org.apache.commons.io.output.TeeOutputStream} so content
+ * is hashed while being stored, without having to read it again.
+ * </p>
+ * <p>
+ * Supported algorithms are:
+ * </p>
+ * <ul>
+ *   <li>Any {@link MessageDigest} algorithm supported by the JVM
+ *       (e.g., <code>SHA-256</code>, <code>SHA-1</code>,
+ *       <code>MD5</code>).</li>
+ *   <li><code>{@value #CRC32}</code> and <code>{@value #CRC32C}</code>:
+ *       fast non-cryptographic checksums, suitable to detect
+ *       content changes.</li>
+ *   <li><code>{@value #SIMHASH}</code>: 64-bit similarity hash of
+ *       content words (case-insensitive for ASCII letters).
+ *       Near-identical content have hashes differing only by a few bits
+ *       (small Hamming distance), making it suitable to detect
+ *       near-duplicates.</li>
+ * </ul>
+ * <p>
+ * Algorithm names are case-insensitive. Hashes are returned as lowercase
+ * hexadecimal strings.
+ * </p>
+ * <p>
+ * Not thread-safe.
+ * </p>
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+public final class ContentHasher extends OutputStream {
+
+    public static final String CRC32 = "CRC32";
+    public static final String CRC32C = "CRC32C";
+    public static final String SIMHASH = "SimHash";
+
+    private final List<String> algorithms = new ArrayList<>();
+    private final List<MessageDigest> digests = new ArrayList<>();
+    private final List<Checksum> checksums = new ArrayList<>();
+    private final SimHash simHash;
+    private Map<String, String> hashes;
+
+    /**
+     * Creates a content hasher for the given algorithms.
+     * @param algorithms hash algorithms
+     * @throws IllegalArgumentException if an algorithm is not supported
+     */
+    public ContentHasher(Collection<String> algorithms) {
+        SimHash sh = null;
+        for (String algorithm : algorithms) {
+            if (StringUtils.isBlank(algorithm) || containsIgnoreCase(
+                    this.algorithms, algorithm)) {
+                continue;
+            }
+            if (SIMHASH.equalsIgnoreCase(algorithm)) {
+                sh = new SimHash();
+            } else if (CRC32.equalsIgnoreCase(algorithm)) {
+                checksums.add(new CRC32());
+            } else if (CRC32C.equalsIgnoreCase(algorithm)) {
+                checksums.add(new CRC32C());
+            } else {
+                digests.add(newMessageDigest(algorithm));
+            }
+            this.algorithms.add(algorithm);
+        }
+        this.simHash = sh;
+    }
+
+    /**
+     * Gets whether the given algorithm is supported.
+     * @param algorithm hash algorithm
+     * @return <code>true</code> if supported
+     */
+    public static boolean isSupported(String algorithm) {
+        if (StringUtils.isBlank(algorithm)) {
+            return false;
+        }
+        if (SIMHASH.equalsIgnoreCase(algorithm)
+                || CRC32.equalsIgnoreCase(algorithm)
+                || CRC32C.equalsIgnoreCase(algorithm)) {
+            return true;
+        }
+        try {
+            MessageDigest.getInstance(algorithm);
+            return true;
+        } catch (NoSuchAlgorithmException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Hashes the given content in a single read.
+     * @param content the content to hash
+     * @param algorithms hash algorithms
+     * @return hashes, keyed by algorithm (case-insensitive)
+     * @throws IOException problem reading content
+     * @throws IllegalArgumentException if an algorithm is not supported
+     */
+    public static Map<String, String> hash(
+            InputStream content, Collection<String> algorithms)
+                    throws IOException {
+        ContentHasher hasher = new ContentHasher(algorithms);
+        IOUtils.copy(content, hasher);
+        return hasher.getHashes();
+    }
+
+    /**
+     * Wraps the given output stream so content written to it
+     * also gets hashed.
+     * @param out the output stream to wrap
+     * @return output stream writing to both the given stream and this
+     *     hasher
+     */
+    public OutputStream tee(OutputStream out) {
+        return new TeeOutputStream(out, this);
+    }
+
+    @Override
+    public void write(int b) {
+        ensureOpen();
+        for (MessageDigest digest : digests) {
+            digest.update((byte) b);
+        }
+        for (Checksum checksum : checksums) {
+            checksum.update(b);
+        }
+        if (simHash != null) {
+            simHash.update((byte) b);
+        }
+    }
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureOpen();
+        for (MessageDigest digest : digests) {
+            digest.update(b, off, len);
+        }
+        for (Checksum checksum : checksums) {
+            checksum.update(b, off, len);
+        }
+        if (simHash != null) {
+            for (int i = off; i < off + len; i++) {
+                simHash.update(b[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the hashes of the content written so far. No more content can
+     * be written once hashes were obtained.
+     * @return hashes, keyed by algorithm (case-insensitive)
+     */
+    public Map<String, String> getHashes() {
+        if (hashes != null) {
+            return hashes;
+        }
+        Map<String, String> map =
+                new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        int d = 0;
+        int c = 0;
+        HexFormat hex = HexFormat.of();
+        for (String algorithm : algorithms) {
+            if (SIMHASH.equalsIgnoreCase(algorithm)) {
+                map.put(algorithm, hex.toHexDigits(simHash.getHash()));
+            } else if (CRC32.equalsIgnoreCase(algorithm)
+                    || CRC32C.equalsIgnoreCase(algorithm)) {
+                map.put(algorithm, hex.toHexDigits(
+                        (int) checksums.get(c++).getValue()));
+            } else {
+                map.put(algorithm, hex.formatHex(digests.get(d++).digest()));
+            }
+        }
+        hashes = Collections.unmodifiableMap(map);
+        return hashes;
+    }
+
+    private void ensureOpen() {
+        if (hashes != null) {
+            throw new IllegalStateException(
+                    "Cannot write content once hashes were obtained.");
+        }
+    }
+
+    private static boolean containsIgnoreCase(
+            List<String> list, String value) {
+        for (String item : list) {
+            if (item.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest newMessageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(
+                    "Unsupported hash algorithm: " + algorithm, e);
+        }
+    }
+
+    // Streaming 64-bit SimHash where features are words: runs of ASCII
+    // letters and digits, or non-ASCII bytes (UTF-8 multi-byte characters).
+    // Each word is hashed with 64-bit FNV-1a.
+    private static final class SimHash {
+        private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+
+        private final int[] weights = new int[64];
+        private long wordHash = FNV_OFFSET;
+        private boolean inWord;
+
+        private void update(byte b) {
+            int ch = b & 0xFF;
+            if (ch >= 'A' && ch <= 'Z') {
+                ch += 'a' - 'A';
+            } else if (!(ch >= 'a' && ch <= 'z'
+                    || ch >= '0' && ch <= '9' || ch >= 0x80)) {
+                endWord();
+                return;
+            }
+            wordHash = (wordHash ^ ch) * FNV_PRIME;
+            inWord = true;
+        }
+        private void endWord() {
+            if (!inWord) {
+                return;
+            }
+            for (int i = 0; i < 64; i++) {
+                weights[i] += ((wordHash >>> i) & 1L) == 0 ? -1 : 1;
+            }
+            wordHash = FNV_OFFSET;
+            inWord = false;
+        }
+        private long getHash() {
+            endWord();
+            long hash = 0;
+            for (int i = 0; i < 64; i++) {
+                if (weights[i] > 0) {
+                    hash |= 1L << i;
+                }
+            }
+            return hash;
+        }
+    }
+}
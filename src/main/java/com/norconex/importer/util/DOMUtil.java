@@ -14,7 +14,10 @@
  */
 package com.norconex.importer.util;
 
+import java.io.IOException;
+
 import org.apache.commons.lang3.StringUtils;
+import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.parser.Parser;
 import org.slf4j.Logger;
@@ -141,4 +144,82 @@ public final class DOMUtil {
                 + "\"text\" will be used.", extract);
         return element.text();
     }
+
+    /**
+     * Writes a document HTML (or XML) to the given appendable
+     * (e.g., a writer), without first creating a string of it.
+     * The output is the same as {@link Document#toString()}.
+     * @param document the document to write
+     * @param out where to write the document
+     * @throws IOException could not write the document
+     * @since 3.2.0
+     */
+    public static void write(Document document, Appendable out)
+            throws IOException {
+        if (document.outputSettings().prettyPrint()) {
+            // Pretty-printed documents are trimmed when converted
+            // to string
+            document.html(new TrimmingAppendable(out));
+        } else {
+            document.html(out);
+        }
+    }
+
+    // Drops leading and trailing white spaces (as String#trim()).
+    // Trailing ones are held until more non-white characters come.
+    private static final class TrimmingAppendable implements Appendable {
+        private final Appendable out;
+        private final StringBuilder spaces = new StringBuilder();
+        private boolean started;
+        private TrimmingAppendable(Appendable out) {
+            this.out = out;
+        }
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            return append(csq, 0, csq.length());
+        }
+        @Override
+        public Appendable append(CharSequence csq, int start, int end)
+                throws IOException {
+            int last = end - 1;
+            while (last >= start && csq.charAt(last) <= ' ') {
+                last--;
+            }
+            if (last < start) {
+                if (started) {
+                    spaces.append(csq, start, end);
+                }
+                return this;
+            }
+            int first = start;
+            if (!started) {
+                while (csq.charAt(first) <= ' ') {
+                    first++;
+                }
+                started = true;
+            } else if (spaces.length() > 0) {
+                out.append(spaces);
+                spaces.setLength(0);
+            }
+            out.append(csq, first, last + 1);
+            spaces.append(csq, last + 1, end);
+            return this;
+        }
+        @Override
+        public Appendable append(char c) throws IOException {
+            if (c <= ' ') {
+                if (started) {
+                    spaces.append(c);
+                }
+                return this;
+            }
+            if (spaces.length() > 0) {
+                out.append(spaces);
+                spaces.setLength(0);
+            }
+            started = true;
+            out.append(c);
+            return this;
+        }
+    }
 }
@@ -0,0 +1,252 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * <p>
+ * Counts occurrences of many literal keywords in a single pass over text,
+ * using an Aho-Corasick automaton. Counting a few hundred keywords this
+ * way is much faster than searching for each of them separately.
+ * </p>
+ * <p>
+ * By default, occurrences of the same keyword do not overlap: the count
+ * is the same as the number of times a regular expression matching
+ * the keyword literally is found (e.g., "aa" is found once
+ * in "aaa"). Keywords can be configured to count overlapping
+ * occurrences instead (e.g., "aa" is then found twice in "aaa").
+ * Occurrences of different keywords are always counted independently.
+ * </p>
+ * <p>
+ * When ignoring case, characters are compared the same way as regular
+ * expressions with {@link java.util.regex.Pattern#CASE_INSENSITIVE} and
+ * {@link java.util.regex.Pattern#UNICODE_CASE} flags.
+ * </p>
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+public final class KeywordCounter {
+
+    private static final int ROOT = 0;
+
+    private final boolean ignoreCase;
+    private final int[] keywordLengths;
+    private final boolean[] overlapping;
+
+    // node transitions: open-addressing map of (node, char) -> node
+    private final long[] edgeKeys;
+    private final int[] edgeTargets;
+    private final int edgeMask;
+    // longest proper suffix node of each node
+    private final int[] failures;
+    // nearest suffix node (excluding self) ending a keyword, or -1
+    private final int[] outputLinks;
+    // keywords ending at each node (null if none)
+    private final int[][] outputs;
+
+    /**
+     * Creates a keyword counter where occurrences of the same keyword
+     * do not overlap.
+     * @param keywords keywords to count (none can be empty)
+     * @param ignoreCase whether to ignore character case
+     */
+    public KeywordCounter(List<String> keywords, boolean ignoreCase) {
+        this(keywords, new boolean[keywords.size()], ignoreCase);
+    }
+
+    /**
+     * Creates a keyword counter.
+     * @param keywords keywords to count (none can be empty)
+     * @param overlapping for each keyword, whether to count overlapping
+     *     occurrences
+     * @param ignoreCase whether to ignore character case
+     */
+    public KeywordCounter(
+            List<String> keywords, boolean[] overlapping, boolean ignoreCase) {
+        if (keywords.size() != overlapping.length) {
+            throw new IllegalArgumentException(
+                    "There must be one overlapping flag per keyword.");
+        }
+        this.ignoreCase = ignoreCase;
+        this.overlapping = overlapping.clone();
+        this.keywordLengths = new int[keywords.size()];
+
+        //--- Trie ---
+        Map<Long, Integer> edges = new HashMap<>();
+        List<int[]> nodeOutputs = new ArrayList<>();
+        nodeOutputs.add(null);
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            if (StringUtils.isEmpty(keyword)) {
+                throw new IllegalArgumentException(
+                        "Keywords cannot be null or empty.");
+            }
+            keywordLengths[k] = keyword.length();
+            int node = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                long key = edgeKey(node, fold(keyword.charAt(i)));
+                Integer next = edges.get(key);
+                if (next == null) {
+                    next = nodeOutputs.size();
+                    nodeOutputs.add(null);
+                    edges.put(key, next);
+                }
+                node = next;
+            }
+            int[] out = nodeOutputs.get(node);
+            out = out == null
+                    ? new int[1] : Arrays.copyOf(out, out.length + 1);
+            out[out.length - 1] = k;
+            nodeOutputs.set(node, out);
+        }
+        outputs = nodeOutputs.toArray(new int[nodeOutputs.size()][]);
+
+        int capacity = Integer.highestOneBit(
+                Math.max(edges.size(), 8) * 2 - 1) << 1;
+        edgeKeys = new long[capacity];
+        edgeTargets = new int[capacity];
+        Arrays.fill(edgeKeys, -1L);
+        edgeMask = capacity - 1;
+        Map<Integer, List<Integer>> children = new HashMap<>();
+        for (Map.Entry<Long, Integer> en : edges.entrySet()) {
+            putEdge(en.getKey(), en.getValue());
+            children.computeIfAbsent(edgeNode(en.getKey()),
+                    n -> new ArrayList<>()).add(
+                            (int) (en.getKey() & 0xFFFF));
+        }
+
+        //--- Failure and output links (breadth-first) ---
+        failures = new int[outputs.length];
+        outputLinks = new int[outputs.length];
+        Arrays.fill(outputLinks, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(ROOT);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int ch : children.getOrDefault(
+                    node, Collections.emptyList())) {
+                int child = edge(node, (char) ch);
+                int failure = ROOT;
+                if (node != ROOT) {
+                    int f = failures[node];
+                    while (f != ROOT && edge(f, (char) ch) == -1) {
+                        f = failures[f];
+                    }
+                    int next = edge(f, (char) ch);
+                    failure = next == -1 ? ROOT : next;
+                }
+                failures[child] = failure;
+                outputLinks[child] = outputs[failure] != null
+                        ? failure : outputLinks[failure];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of keywords.
+     * @return number of keywords
+     */
+    public int size() {
+        return keywordLengths.length;
+    }
+
+    /**
+     * Counts keyword occurrences in the given text, adding them to the
+     * supplied counts.
+     * @param text text to search
+     * @param counts one count per keyword, in the same order as keywords
+     *     were supplied, to which occurrences found in text are added
+     */
+    public void count(CharSequence text, int[] counts) {
+        // end of the last counted occurrence of each keyword
+        int[] lastEnds = new int[keywordLengths.length];
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = fold(text.charAt(i));
+            int next = edge(node, ch);
+            while (next == -1 && node != ROOT) {
+                node = failures[node];
+                next = edge(node, ch);
+            }
+            node = next == -1 ? ROOT : next;
+            int end = i + 1;
+            int out = outputs[node] != null ? node : outputLinks[node];
+            while (out != -1) {
+                for (int k : outputs[out]) {
+                    if (overlapping[k]
+                            || end - keywordLengths[k] >= lastEnds[k]) {
+                        counts[k]++;
+                        lastEnds[k] = end;
+                    }
+                }
+                out = outputLinks[out];
+            }
+        }
+    }
+
+    // Same comparison as case-insensitive regular expressions with
+    // Unicode case.
+    private char fold(char ch) {
+        if (!ignoreCase) {
+            return ch;
+        }
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    private static long edgeKey(int node, char ch) {
+        return ((long) node << 16) | ch;
+    }
+    private static int edgeNode(long key) {
+        return (int) (key >>> 16);
+    }
+
+    private void putEdge(long key, int target) {
+        int slot = slot(key);
+        while (edgeKeys[slot] != -1L) {
+            slot = (slot + 1) & edgeMask;
+        }
+        edgeKeys[slot] = key;
+        edgeTargets[slot] = target;
+    }
+    private int edge(int node, char ch) {
+        long key = edgeKey(node, ch);
+        int slot = slot(key);
+        while (edgeKeys[slot] != -1L) {
+            if (edgeKeys[slot] == key) {
+                return edgeTargets[slot];
+            }
+            slot = (slot + 1) & edgeMask;
+        }
+        return -1;
+    }
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & edgeMask;
+    }
+}
@@ -0,0 +1,150 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.util.regex;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import com.norconex.commons.lang.text.TextMatcher;
+
+/**
+ * <p>
+ * Process-wide, bounded cache of compiled regular expression
+ * {@link Pattern} instances, for regular expressions that are not known
+ * when handlers or parsers are configured (e.g., built from document
+ * data). Configured expressions should instead be compiled once
+ * (see {@link #toPattern(TextMatcher)} and {@link TextMatcherPattern}).
+ * </p>
+ * <p>
+ * Compiled patterns are immutable and thread-safe, so they can be shared
+ * freely. The cache holds at most {@link #MAX_SIZE} entries, discarding
+ * the least recently used ones when that limit is reached.
+ * </p>
+ *
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+public final class PatternCache {
+
+    /** Maximum number of compiled patterns kept in the cache. */
+    public static final int MAX_SIZE = 5000;
+
+    private static final Map<Key, Pattern> CACHE =
+            new LinkedHashMap<Key, Pattern>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Pattern> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private PatternCache() {
+    }
+
+    /**
+     * Gets a compiled pattern for the given regular expression, without
+     * flags.
+     * @param regex regular expression
+     * @return compiled pattern
+     */
+    public static Pattern compile(String regex) {
+        return compile(regex, 0);
+    }
+    /**
+     * Gets a compiled pattern for the given regular expression and flags.
+     * @param regex regular expression
+     * @param flags {@link Pattern} match flags
+     * @return compiled pattern
+     */
+    public static Pattern compile(String regex, int flags) {
+        Objects.requireNonNull(regex, "'regex' must not be null.");
+        Key key = new Key(regex, flags);
+        synchronized (CACHE) {
+            Pattern pattern = CACHE.get(key);
+            if (pattern != null) {
+                return pattern;
+            }
+        }
+        // compile outside the lock, a concurrent duplicate is harmless
+        Pattern pattern = Pattern.compile(regex, flags);
+        synchronized (CACHE) {
+            CACHE.put(key, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Compiles the same pattern as the given text matcher would when
+     * matching (dots matching new lines, and case-insensitive when
+     * the matcher ignores case). The pattern is not cached: handlers
+     * should compile it once and keep it until their matcher changes.
+     * @param textMatcher text matcher
+     * @return compiled pattern
+     */
+    public static Pattern toPattern(TextMatcher textMatcher) {
+        Objects.requireNonNull(textMatcher, "'textMatcher' must not be null.");
+        int flags = Pattern.DOTALL;
+        if (textMatcher.isIgnoreCase()) {
+            flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        }
+        return Pattern.compile(textMatcher.toRegex(), flags);
+    }
+
+    /**
+     * Gets the number of compiled patterns currently cached.
+     * @return cache size
+     */
+    public static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * Clears all cached patterns.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+    private static final class Key {
+        private final String regex;
+        private final int flags;
+        private final int hash;
+        private Key(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+            this.hash = 31 * regex.hashCode() + flags;
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return flags == other.flags && regex.equals(other.regex);
+        }
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.util.regex;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import com.norconex.commons.lang.text.TextMatcher;
+import com.norconex.commons.lang.text.TextMatcher.Method;
+
+/**
+ * <p>
+ * Holds the pattern compiled from a handler text matcher
+ * (see {@link PatternCache#toPattern(TextMatcher)}). The pattern is
+ * compiled on first use and compiled again only if the matcher was
+ * modified since, including when modified through a handler getter
+ * returning the matcher itself.
+ * </p>
+ * <p>
+ * Thread-safe.
+ * </p>
+ * @author Pascal Essiembre
+ * @since 3.2.0
+ */
+public final class TextMatcherPattern {
+
+    private volatile Compiled compiled;
+
+    /**
+     * Gets the pattern compiled from the given text matcher.
+     * @param textMatcher text matcher
+     * @return compiled pattern
+     */
+    public Pattern get(TextMatcher textMatcher) {
+        Compiled c = compiled;
+        if (c == null || !c.isFrom(textMatcher)) {
+            c = new Compiled(textMatcher);
+            compiled = c;
+        }
+        return c.pattern;
+    }
+
+    // The matcher settings a pattern was compiled from
+    private static final class Compiled {
+        private final String regex;
+        private final Method method;
+        private final boolean ignoreCase;
+        private final boolean ignoreDiacritic;
+        private final boolean partial;
+        private final Pattern pattern;
+        private Compiled(TextMatcher textMatcher) {
+            regex = textMatcher.getPattern();
+            method = textMatcher.getMethod();
+            ignoreCase = textMatcher.isIgnoreCase();
+            ignoreDiacritic = textMatcher.isIgnoreDiacritic();
+            partial = textMatcher.isPartial();
+            pattern = PatternCache.toPattern(textMatcher);
+        }
+        private boolean isFrom(TextMatcher textMatcher) {
+            return Objects.equals(regex, textMatcher.getPattern())
+                    && method == textMatcher.getMethod()
+                    && ignoreCase == textMatcher.isIgnoreCase()
+                    && ignoreDiacritic == textMatcher.isIgnoreDiacritic()
+                    && partial == textMatcher.isPartial();
+        }
+    }
+}
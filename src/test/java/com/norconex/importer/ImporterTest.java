@@ -15,12 +15,15 @@
 package com.norconex.importer;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.FileUtils;
@@ -31,14 +34,19 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.norconex.commons.lang.event.EventManager;
 import com.norconex.commons.lang.file.ContentType;
+import com.norconex.commons.lang.io.CachedInputStream;
 import com.norconex.commons.lang.map.Properties;
 import com.norconex.commons.lang.text.TextMatcher;
 import com.norconex.commons.lang.xml.XML;
 import com.norconex.importer.doc.Doc;
+import com.norconex.importer.doc.DocMetadata;
+import com.norconex.importer.doc.IndexedMetadata;
 import com.norconex.importer.handler.HandlerConsumer;
 import com.norconex.importer.handler.ImporterHandlerException;
 import com.norconex.importer.handler.filter.OnMatch;
+import com.norconex.importer.handler.filter.impl.ReferenceFilter;
 import com.norconex.importer.handler.filter.impl.TextFilter;
 import com.norconex.importer.handler.transformer.IDocumentTransformer;
 import com.norconex.importer.response.ImporterResponse;
@@ -149,6 +157,85 @@ public class ImporterTest {
                                                 + "status description.");
         }
 
+        @Test
+        public void testImportRejectedBeforeDetection() throws IOException {
+                ReferenceFilter filter = new ReferenceFilter(
+                                TextMatcher.wildcard("*.pdf"));
+                filter.setOnMatch(OnMatch.EXCLUDE);
+                ImporterConfig config = new ImporterConfig();
+                config.setPreImportConsumer(
+                                HandlerConsumer.fromHandlers(filter));
+                Importer importer = new Importer(config);
+
+                Doc doc = new Doc(TestUtil.getAlicePdfFile().getAbsolutePath(),
+                                CachedInputStream.cache(new FileInputStream(
+                                                TestUtil.getAlicePdfFile())));
+                ImporterResponse result = importer.importDocument(doc);
+
+                Assertions.assertTrue(result.getImporterStatus().isRejected()
+                                && result.getImporterStatus().getDescription().contains(
+                                                "ReferenceFilter"),
+                                "PDF should have been rejected with proper "
+                                                + "status description.");
+                Assertions.assertNull(doc.getDocInfo().getContentType(),
+                                "Content type should not have been detected.");
+                doc.dispose();
+        }
+
+        @Test
+        public void testEventsFiredWhenListened() throws IOException {
+                List<String> names = new ArrayList<>();
+                importer.getEventManager().addListener(
+                                e -> names.add(e.getName()));
+                Doc doc = new Doc(TestUtil.getAliceTextFile().getAbsolutePath(),
+                                CachedInputStream.cache(new FileInputStream(
+                                                TestUtil.getAliceTextFile())));
+                importer.importDocument(doc);
+                Assertions.assertTrue(names.contains(
+                                ImporterEvent.IMPORTER_PARSER_BEGIN));
+                Assertions.assertTrue(names.contains(
+                                ImporterEvent.IMPORTER_HANDLER_BEGIN));
+                Assertions.assertTrue(names.contains(
+                                ImporterEvent.IMPORTER_HANDLER_END));
+                doc.dispose();
+        }
+
+        @Test
+        public void testSuppliedMetadataIndexed() throws IOException {
+                Properties metadata = new Properties();
+                metadata.add("field", "value");
+                Doc doc = new Doc(TestUtil.getAliceTextFile().getAbsolutePath(),
+                                CachedInputStream.cache(new FileInputStream(
+                                                TestUtil.getAliceTextFile())),
+                                metadata);
+                importer.importDocument(doc);
+                Assertions.assertTrue(
+                                doc.getMetadata() instanceof IndexedMetadata);
+                // supplied metadata still holds document fields
+                Assertions.assertEquals("value", metadata.getString("field"));
+                Assertions.assertEquals(doc.getReference(),
+                                metadata.getString(DocMetadata.REFERENCE));
+                doc.dispose();
+        }
+
+        @Test
+        public void testEventsListenedWithParentEventManager() {
+                EventManager rootManager = new EventManager();
+                EventManager parentManager = new EventManager(rootManager);
+                Importer imp = new Importer(new ImporterConfig(), parentManager);
+
+                // no listeners (and event loggers disabled): only errors
+                Assertions.assertFalse(imp.isEventListened(
+                                ImporterEvent.IMPORTER_HANDLER_BEGIN));
+                Assertions.assertTrue(imp.isEventListened(
+                                ImporterEvent.IMPORTER_HANDLER_ERROR));
+
+                // listeners added to any parent, even after creation
+                rootManager.addListener(e -> {});
+                Assertions.assertTrue(imp.isEventListened(
+                                ImporterEvent.IMPORTER_HANDLER_BEGIN));
+        }
+
         private void writeToFile(Doc doc, File file)
                         throws IOException {
                 FileOutputStream out = new FileOutputStream(file);
@@ -0,0 +1,112 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.doc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.norconex.commons.lang.map.Properties;
+import com.norconex.commons.lang.text.TextMatcher;
+
+public class IndexedMetadataTest {
+
+    private static final List<TextMatcher> MATCHERS = Arrays.asList(
+            TextMatcher.basic("dc:title"),
+            TextMatcher.basic("DC:TITLE").setIgnoreCase(true),
+            TextMatcher.basic("title").setPartial(true),
+            TextMatcher.basic("missing"),
+            TextMatcher.wildcard("dc:*"),
+            TextMatcher.wildcard("EXIF:*").setIgnoreCase(true),
+            TextMatcher.regex("dc:.*"),
+            TextMatcher.regex("^exif:").setPartial(true),
+            TextMatcher.regex("exif:").setPartial(true),
+            TextMatcher.regex("dc:titles?"),
+            TextMatcher.regex("dc:title|exif:.*"),
+            TextMatcher.regex("(?i)DC:.*"));
+
+    @Test
+    public void testMatchKeys() {
+        Properties indexed = new IndexedMetadata();
+        Properties regular = new Properties();
+        for (Properties meta : Arrays.asList(indexed, regular)) {
+            meta.add("dc:title", "A title");
+            meta.add("dc:titles", "T1", "T2");
+            meta.add("Dc:Title", "Another title");
+            meta.add("dc:creator", "Joe");
+            meta.add("exif:width", "100");
+            meta.add("exif:height", "50");
+            meta.add("EXIF:Model", "Camera");
+            meta.add("subtitle", "Sub");
+        }
+        assertSameMatches(regular, indexed);
+        assertEquals("[A title]",
+                indexed.matchKeys(MATCHERS.get(0)).valueList().toString());
+        assertEquals(2, indexed.matchKeys(MATCHERS.get(1)).size());
+        assertEquals(3, indexed.matchKeys(MATCHERS.get(6)).size());
+
+        // index is updated as fields change
+        for (Properties meta : Arrays.asList(indexed, regular)) {
+            meta.remove("dc:title");
+            meta.set("dc:titles", "T3");
+            meta.add("dc:subject", "Subject");
+            meta.keySet().remove("exif:width");
+            meta.entrySet().removeIf(en -> "EXIF:Model".equals(en.getKey()));
+            meta.add("exif:Model", "Other camera");
+        }
+        assertSameMatches(regular, indexed);
+
+        for (Properties meta : Arrays.asList(indexed, regular)) {
+            meta.clear();
+            meta.add("dc:title", "New title");
+        }
+        assertSameMatches(regular, indexed);
+    }
+
+    @Test
+    public void testInheritedMatchKeys() {
+        Properties parent = new Properties();
+        parent.add("dc:title", "A title");
+        parent.add("dc:creator", "Joe");
+        parent.add("EXIF:Model", "Camera");
+        Properties child = InheritedMetadata.newChildMetadata(
+                InheritedMetadata.snapshot(parent));
+        Properties regular = new Properties();
+        regular.loadFromMap(parent);
+        assertSameMatches(regular, child);
+
+        for (Properties meta : Arrays.asList(child, regular)) {
+            meta.remove("dc:title");
+            meta.add("dc:creator", "Jack");
+            meta.add("exif:width", "100");
+            meta.entrySet().removeIf(en -> "EXIF:Model".equals(en.getKey()));
+        }
+        assertSameMatches(regular, child);
+        assertEquals("[Joe]", parent.getStrings("dc:creator").toString());
+    }
+
+    private void assertSameMatches(Properties expected, Properties actual) {
+        assertEquals(new HashMap<>(expected), new HashMap<>(actual));
+        for (TextMatcher matcher : MATCHERS) {
+            assertEquals(new HashMap<>(expected.matchKeys(matcher)),
+                    new HashMap<>(actual.matchKeys(matcher)),
+                    matcher.toString());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.doc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.norconex.commons.lang.map.Properties;
+
+public class InheritedMetadataTest {
+
+    @Test
+    public void testCopyOnWrite() {
+        Properties parent = new Properties();
+        parent.add("a", "a1", "a2");
+        parent.set("b", "b1");
+        parent.set("c", "c1");
+
+        Map<String, List<String>> snapshot =
+                InheritedMetadata.snapshot(parent);
+        Properties child1 = InheritedMetadata.newChildMetadata(snapshot);
+        Properties child2 = InheritedMetadata.newChildMetadata(snapshot);
+
+        // reads fall through
+        assertEquals("[a1, a2]", child1.getStrings("a").toString());
+        assertEquals(3, child1.size());
+
+        // writes are local
+        child1.add("a", "a3");
+        child1.set("b", "b2");
+        child1.remove("c");
+        child1.set("d", "d1");
+
+        assertEquals("[a1, a2, a3]", child1.getStrings("a").toString());
+        assertEquals("b2", child1.getString("b"));
+        assertFalse(child1.containsKey("c"));
+        assertNull(child1.getString("c"));
+        assertEquals(3, child1.size());
+
+        assertEquals("[a1, a2]", child2.getStrings("a").toString());
+        assertEquals("b1", child2.getString("b"));
+        assertEquals("c1", child2.getString("c"));
+        assertFalse(child2.containsKey("d"));
+
+        // parent is untouched, including after the snapshot is taken
+        parent.set("e", "e1");
+        assertEquals("[a1, a2]", parent.getStrings("a").toString());
+        assertEquals("c1", parent.getString("c"));
+        assertFalse(child2.containsKey("e"));
+    }
+
+    @Test
+    public void testCopyOnModifiedValues() {
+        Map<String, List<String>> snapshot = InheritedMetadata.snapshot(
+                Map.of("a", List.of("a1"), "b", List.of("b1")));
+        InheritedMetadata child = new InheritedMetadata(snapshot);
+
+        // reading does not copy
+        List<String> a = child.get("a");
+        assertSame(a, child.get("a"));
+
+        // modifying the returned list does
+        a.add("a2");
+        assertEquals("[a1, a2]", child.get("a").toString());
+        assertEquals("[a1]", snapshot.get("a").toString());
+        a.add("a3");
+        assertEquals("[a1, a2, a3]", child.get("a").toString());
+
+        // a list obtained before its key is replaced is no longer tied to it
+        List<String> b = child.get("b");
+        child.put("b", new ArrayList<>(List.of("b2")));
+        b.add("b3");
+        assertEquals("[b2]", child.get("b").toString());
+        assertEquals("[b1]", snapshot.get("b").toString());
+
+        // entry values are modifiable too
+        child.remove("b");
+        child.entrySet().forEach(en -> en.getValue().add("x"));
+        assertEquals("[a1, a2, a3, x]", child.get("a").toString());
+        assertEquals("[a1]", snapshot.get("a").toString());
+    }
+
+    @Test
+    public void testIteration() {
+        Properties parent = new Properties();
+        parent.set("a", "a1");
+        parent.set("b", "b1");
+        Properties child = InheritedMetadata.newChildMetadata(
+                InheritedMetadata.snapshot(parent));
+        child.set("b", "b2");
+        child.set("c", "c1");
+
+        Properties copy = new Properties();
+        copy.loadFromMap(child);
+        assertEquals(3, copy.size());
+        assertEquals("a1", copy.getString("a"));
+        assertEquals("b2", copy.getString("b"));
+        assertEquals("c1", copy.getString("c"));
+
+        child.entrySet().removeIf(en -> "a".equals(en.getKey()));
+        assertFalse(child.containsKey("a"));
+        assertEquals(2, child.size());
+
+        child.clear();
+        assertTrue(child.isEmpty());
+        assertEquals("b1", parent.getString("b"));
+    }
+}
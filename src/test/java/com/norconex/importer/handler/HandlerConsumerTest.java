@@ -17,19 +17,40 @@ package com.norconex.importer.handler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
+import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import com.norconex.commons.lang.ResourceLoader;
+import com.norconex.commons.lang.event.EventManager;
 import com.norconex.commons.lang.io.CachedStreamFactory;
 import com.norconex.commons.lang.map.Properties;
+import com.norconex.commons.lang.map.PropertyMatcher;
+import com.norconex.commons.lang.map.PropertyMatchers;
+import com.norconex.commons.lang.text.TextMatcher;
 import com.norconex.commons.lang.xml.XML;
 import com.norconex.importer.Importer;
 import com.norconex.importer.ImporterConfig;
+import com.norconex.importer.ImporterEvent;
 import com.norconex.importer.TestUtil;
 import com.norconex.importer.doc.Doc;
+import com.norconex.importer.doc.DocMetadata;
+import com.norconex.importer.handler.tagger.IDocumentTagger;
+import com.norconex.importer.handler.tagger.impl.ConstantTagger;
+import com.norconex.importer.handler.tagger.impl.DOMTagger;
+import com.norconex.importer.handler.tagger.impl.DOMTagger.DOMExtractDetails;
+import com.norconex.importer.handler.transformer.impl.DOMDeleteTransformer;
+import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.util.DOMUtil;
 
 class HandlerConsumerTest {
 
@@ -73,4 +94,159 @@ class HandlerConsumerTest {
         assertEquals("notBlankTestSuccess", metadata.getString("notBlankTest"));
         Assertions.assertNull(metadata.getString("rejectTest"));
     }
+
+    @Test
+    void testRestrictionsReevaluatedOnChange() throws Exception {
+        Properties metadata = new Properties();
+        metadata.set("color", "red");
+        HandlerContext ctx = new HandlerContext(new Doc("ref",
+                new CachedStreamFactory().newInputStream(), metadata),
+                null, ParseState.PRE);
+
+        ConstantTagger t1 = new ConstantTagger();
+        t1.addConstant("hits", "t1");
+        t1.addRestriction(new PropertyMatcher(
+                TextMatcher.basic("color"), TextMatcher.regex("red|blue")));
+        // same restriction on a different handler
+        ConstantTagger t2 = new ConstantTagger();
+        t2.addConstant("hits", "t2");
+        t2.addRestriction(new PropertyMatcher(
+                TextMatcher.basic("color"), TextMatcher.regex("red|blue")));
+        // case-insensitive field
+        ConstantTagger t3 = new ConstantTagger();
+        t3.addConstant("hits", "t3");
+        t3.addRestriction(new PropertyMatcher(
+                TextMatcher.basic("COLOR").setIgnoreCase(true),
+                TextMatcher.basic("red")));
+
+        tag(ctx, t1, t2, t3);
+        assertEquals("[t1, t2, t3]", metadata.getStrings("hits").toString());
+
+        metadata.remove("hits");
+        metadata.set("color", "blue");
+        tag(ctx, t1, t2, t3);
+        assertEquals("[t1, t2]", metadata.getStrings("hits").toString());
+
+        metadata.remove("hits");
+        metadata.set("color", "green");
+        tag(ctx, t1, t2, t3);
+        Assertions.assertTrue(metadata.getStrings("hits").isEmpty());
+    }
+
+    @Test
+    void testEquivalentRestrictionsShareIndex() {
+        RestrictionIndex.Restriction r1 = indexRestriction(
+                TextMatcher.basic("color"), TextMatcher.regex("red"));
+        RestrictionIndex.Restriction r2 = indexRestriction(
+                TextMatcher.basic("color"), TextMatcher.regex("red"));
+        RestrictionIndex.Restriction r3 = indexRestriction(
+                TextMatcher.basic("color"), TextMatcher.basic("red"));
+        assertEquals(r1, r2);
+        assertEquals(r1.hashCode(), r2.hashCode());
+        Assertions.assertNotEquals(r1, r3);
+    }
+    private RestrictionIndex.Restriction indexRestriction(
+            TextMatcher fieldMatcher, TextMatcher valueMatcher) {
+        PropertyMatchers matchers = new PropertyMatchers();
+        matchers.add(new PropertyMatcher(fieldMatcher, valueMatcher));
+        return RestrictionIndex.index(matchers)[0];
+    }
+
+    @Test
+    void testHandlerDocSharedAcrossHandlers() throws Exception {
+        Properties metadata = new Properties();
+        Set<HandlerDoc> received =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+        List<IImporterHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            handlers.add((IDocumentTagger) (doc, input, parseState) -> {
+                received.add(doc);
+                doc.getMetadata().add("count", "x");
+            });
+        }
+        HandlerContext ctx = new HandlerContext(new Doc("ref",
+                new CachedStreamFactory().newInputStream(), metadata),
+                null, ParseState.PRE);
+        HandlerConsumer.fromHandlers(handlers).accept(ctx);
+        assertEquals(100, metadata.getStrings("count").size());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void testHandlerEventsOnlyFiredWhenListened() throws Exception {
+        List<String> names = new ArrayList<>();
+        EventManager eventManager = new EventManager();
+        eventManager.addListener(e -> names.add(e.getName()));
+        ConstantTagger tagger = new ConstantTagger();
+        tagger.addConstant("key", "value");
+
+        // filtered out: no handler event created
+        List<String> asked = new ArrayList<>();
+        HandlerContext ctx = new HandlerContext(new Doc("ref",
+                new CachedStreamFactory().newInputStream(), new Properties()),
+                eventManager, ParseState.PRE, name -> {
+                    asked.add(name);
+                    return false;
+                });
+        HandlerConsumer.fromHandlers(tagger).accept(ctx);
+        Assertions.assertTrue(names.isEmpty());
+        Assertions.assertTrue(asked.contains(
+                ImporterEvent.IMPORTER_HANDLER_BEGIN));
+
+        // no filter: all handler events fired
+        ctx = new HandlerContext(new Doc("ref",
+                new CachedStreamFactory().newInputStream(), new Properties()),
+                eventManager, ParseState.PRE, null);
+        HandlerConsumer.fromHandlers(tagger).accept(ctx);
+        assertEquals(List.of(ImporterEvent.IMPORTER_HANDLER_BEGIN,
+                ImporterEvent.IMPORTER_HANDLER_END), names);
+    }
+
+    @Test
+    void testSharedDOM() throws Exception {
+        Properties metadata = new Properties();
+        metadata.set(DocMetadata.CONTENT_TYPE, "text/html");
+        HandlerContext ctx = new HandlerContext(new Doc("ref",
+                new CachedStreamFactory().newInputStream(
+                        "<html><body><p>one</p><p>two</p></body></html>"),
+                metadata), null, ParseState.PRE);
+        HandlerDoc doc = ctx.getHandlerDoc();
+
+        // same content: parsed once
+        Document dom = doc.parseDOM(
+                ctx.getDoc().getInputStream(), "UTF-8", DOMUtil.PARSER_HTML);
+        Assertions.assertSame(dom, doc.parseDOM(
+                ctx.getDoc().getInputStream(), "UTF-8", null));
+        Assertions.assertNotSame(dom, doc.parseDOM(
+                ctx.getDoc().getInputStream(), "UTF-8", DOMUtil.PARSER_XML));
+        // characters and bytes parsed separately
+        Assertions.assertNotSame(dom, doc.parseDOM(new InputStreamReader(
+                ctx.getDoc().getInputStream(), StandardCharsets.UTF_8),
+                "UTF-8", null));
+
+        // content modified: parsed again
+        DOMTagger before = new DOMTagger();
+        before.addDOMExtractDetails(
+                new DOMExtractDetails("p", "before", null));
+        DOMDeleteTransformer delete = new DOMDeleteTransformer();
+        delete.addSelector("p:contains(two)");
+        DOMTagger after = new DOMTagger();
+        after.addDOMExtractDetails(new DOMExtractDetails("p", "after", null));
+        HandlerConsumer.fromHandlers(before, delete, after).accept(ctx);
+
+        assertEquals("[one, two]", metadata.getStrings("before").toString());
+        assertEquals("[one]", metadata.getStrings("after").toString());
+        // shared DOM modified in place by the transformer, then discarded
+        assertEquals(1, dom.select("p").size());
+        Assertions.assertNotSame(dom, doc.parseDOM(
+                ctx.getDoc().getInputStream(), "UTF-8", null));
+    }
+
+    private void tag(HandlerContext ctx, ConstantTagger... taggers)
+            throws Exception {
+        for (ConstantTagger t : taggers) {
+            t.tagDocument(ctx.getHandlerDoc(),
+                    ctx.getDoc().getInputStream(), ctx.getParseState());
+        }
+    }
 }
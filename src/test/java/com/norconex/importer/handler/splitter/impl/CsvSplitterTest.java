@@ -17,6 +17,7 @@ package com.norconex.importer.handler.splitter.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.io.IOUtils;
@@ -111,6 +112,82 @@ public class CsvSplitterTest {
                 "Could not find William Dalton by column name.");
     }
 
+    @Test
+    public void testRowsPerDocument()
+            throws ImporterHandlerException, IOException {
+        CsvSplitter splitter = new CsvSplitter();
+        splitter.setUseFirstRowAsFields(true);
+        splitter.setRowsPerDocument(3);
+        splitter.setContentColumns("clientName");
+        List<Doc> docs = split(splitter);
+
+        Assertions.assertEquals(2, docs.size());
+        Assertions.assertEquals("n/a!rows-2-4", docs.get(0).getReference());
+        Assertions.assertEquals(
+                Arrays.asList("Joe Dalton", "Jack Dalton", "William Dalton"),
+                docs.get(0).getMetadata().getStrings("clientName"));
+        Assertions.assertEquals("Joe Dalton\nJack Dalton\nWilliam Dalton",
+                IOUtils.toString(docs.get(0).getInputStream(),
+                        StandardCharsets.UTF_8));
+        Assertions.assertEquals("rows-5-5", docs.get(1).getMetadata()
+                .getString(DocMetadata.EMBEDDED_REFERENCE));
+        Assertions.assertEquals(
+                Arrays.asList("Avrel Dalton"),
+                docs.get(1).getMetadata().getStrings("clientName"));
+    }
+
+    @Test
+    public void testRowsPerDocumentFieldsAligned()
+            throws ImporterHandlerException {
+        CsvSplitter splitter = new CsvSplitter();
+        splitter.setUseFirstRowAsFields(true);
+        splitter.setRowsPerDocument(3);
+        input.close();
+        input = IOUtils.toInputStream(
+                "id,source,extra\n1,a\n2,b,x\n3\n", StandardCharsets.UTF_8);
+        Properties metadata = new Properties();
+        // same name as a column
+        metadata.set("source", "parentValue");
+        List<Doc> docs = splitter.splitApplicableDocument(
+                TestUtil.toHandlerDoc("n/a", input, metadata),
+                input, NullOutputStream.NULL_OUTPUT_STREAM, ParseState.PRE);
+
+        Assertions.assertEquals(1, docs.size());
+        Properties meta = docs.get(0).getMetadata();
+        Assertions.assertEquals(Arrays.asList("1", "2", "3"),
+                meta.getStrings("id"));
+        Assertions.assertEquals(Arrays.asList("a", "b", ""),
+                meta.getStrings("source"));
+        Assertions.assertEquals(Arrays.asList("", "x", ""),
+                meta.getStrings("extra"));
+        Assertions.assertEquals("parentValue", metadata.getString("source"));
+    }
+
+    @Test
+    public void testParallelParsing()
+            throws ImporterHandlerException, IOException {
+        StringBuilder csv = new StringBuilder("\"id\",\"name\"\n");
+        for (int i = 1; i <= 500; i++) {
+            csv.append(i).append(",\"Name ").append(i).append("\"\n");
+        }
+        CsvSplitter splitter = new CsvSplitter(100);
+        splitter.setUseFirstRowAsFields(true);
+        splitter.setParserThreads(4);
+        input.close();
+        input = IOUtils.toInputStream(csv, StandardCharsets.UTF_8);
+        List<Doc> docs = split(splitter);
+
+        Assertions.assertEquals(500, docs.size());
+        for (int i = 0; i < 500; i++) {
+            Properties meta = docs.get(i).getMetadata();
+            Assertions.assertEquals(Integer.toString(i + 1),
+                    meta.getString("id"));
+            Assertions.assertEquals("Name " + (i + 1), meta.getString("name"));
+            Assertions.assertEquals("row-" + (i + 2),
+                    meta.getString(DocMetadata.EMBEDDED_REFERENCE));
+        }
+    }
+
     private List<Doc> split(CsvSplitter splitter)
             throws ImporterHandlerException {
         Properties metadata = new Properties();
@@ -132,6 +209,8 @@ public class CsvSplitterTest {
                 TextMatcher.basic("value").partial().ignoreCase()));
         splitter.setSeparatorCharacter('@');
         splitter.setUseFirstRowAsFields(true);
+        splitter.setRowsPerDocument(5);
+        splitter.setParserThreads(3);
         XML.assertWriteRead(splitter, "handler");
     }
 }
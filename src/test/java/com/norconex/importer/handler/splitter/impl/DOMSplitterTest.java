@@ -17,10 +17,13 @@ package com.norconex.importer.handler.splitter.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -70,6 +73,62 @@ public class DOMSplitterTest {
         Assertions.assertTrue(content.contains("Dalton"));
     }
 
+    @Test
+    public void testStreamingDOMSplit()
+            throws ImporterHandlerException, IOException {
+        String html = ResourceLoader.getHtmlString(getClass());
+        DOMSplitter splitter = new DOMSplitter();
+        splitter.setSelector("div.person");
+        List<Doc> expected = split(html, splitter);
+
+        splitter.setStreaming(true);
+        List<Doc> docs = split(html, splitter);
+
+        Assertions.assertEquals(expected.size(), docs.size());
+        for (int i = 0; i < docs.size(); i++) {
+            Assertions.assertEquals(expected.get(i).getReference(),
+                    docs.get(i).getReference());
+            Assertions.assertEquals(
+                    TestUtil.getContentAsString(expected.get(i)),
+                    TestUtil.getContentAsString(docs.get(i)));
+        }
+    }
+
+    @Test
+    public void testReferences() throws ImporterHandlerException {
+        String html = "<html><body><h1>Title</h1><div id=\"people\">"
+                + "<div class=\"p\" id=\"a\">A<div class=\"p\">A2</div></div>"
+                + "<span>x</span><div class=\"p\" id=\"a\">B</div></div>"
+                + "<table><tr><td class=\"p\">C</td><td class=\"p\">D</td>"
+                + "</tr></table></body></html>";
+        DOMSplitter splitter = new DOMSplitter();
+        splitter.setSelector(".p");
+
+        // not streaming: references are element CSS selectors, as before
+        List<String> expected = new ArrayList<>();
+        for (Element elm : Jsoup.parse(html).select(".p")) {
+            expected.add("n/a!" + elm.cssSelector());
+        }
+        List<String> actual = new ArrayList<>();
+        for (Doc doc : split(html, splitter)) {
+            actual.add(doc.getReference());
+        }
+        Assertions.assertEquals(expected, actual);
+
+        // streaming: references are element positions
+        splitter.setStreaming(true);
+        actual.clear();
+        for (Doc doc : split(html, splitter)) {
+            actual.add(doc.getReference());
+        }
+        Assertions.assertEquals(5, actual.size());
+        Assertions.assertTrue(actual.contains("n/a!html > body:nth-child(2)"
+                + " > div:nth-child(2) > div:nth-child(3)"));
+        Assertions.assertTrue(actual.contains("n/a!html > body:nth-child(2)"
+                + " > table:nth-child(3) > tbody:nth-child(1)"
+                + " > tr:nth-child(1) > td:nth-child(2)"));
+    }
+
     private List<Doc> split(String text, DOMSplitter splitter)
             throws ImporterHandlerException {
         Properties metadata = new Properties();
@@ -84,6 +143,7 @@ public class DOMSplitterTest {
         public void testWriteRead() {
         DOMSplitter splitter = new DOMSplitter();
         splitter.setSelector("blah");
+        splitter.setStreaming(true);
         splitter.addRestriction(new PropertyMatcher(
                 TextMatcher.basic("key").partial(),
                 TextMatcher.basic("value").partial().ignoreCase()));
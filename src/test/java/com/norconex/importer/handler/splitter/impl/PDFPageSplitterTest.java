@@ -18,7 +18,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -60,6 +63,20 @@ public class PDFPageSplitterTest {
         Assertions.assertEquals(3, getPageNo(pages.get(2)));
     }
 
+    @Test
+    public void testPagesAreSinglePagePDFs()
+            throws ImporterHandlerException, IOException {
+        List<Doc> pages = split(new PDFPageSplitter());
+        Assertions.assertEquals(3, pages.size());
+        for (Doc page : pages) {
+            try (PDDocument pdf = Loader.loadPDF(
+                    IOUtils.toByteArray(page.getInputStream()))) {
+                Assertions.assertEquals(1, pdf.getNumberOfPages());
+            }
+            page.dispose();
+        }
+    }
+
     private int getPageNo(Doc doc) {
         return doc.getMetadata().getInteger(PDFPageSplitter.DOC_PDF_PAGE_NO);
     }
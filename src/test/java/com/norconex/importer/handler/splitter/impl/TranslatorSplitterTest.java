@@ -0,0 +1,123 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler.splitter.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.tika.language.translate.Translator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.norconex.commons.lang.map.Properties;
+import com.norconex.commons.lang.xml.XML;
+import com.norconex.importer.TestUtil;
+import com.norconex.importer.doc.Doc;
+import com.norconex.importer.doc.DocMetadata;
+import com.norconex.importer.handler.ImporterHandlerException;
+import com.norconex.importer.parser.ParseState;
+
+public class TranslatorSplitterTest {
+
+    private static final AtomicInteger REQUESTS = new AtomicInteger();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void before() {
+        REQUESTS.set(0);
+    }
+
+    @Test
+    public void testConcurrentCachedTranslation()
+            throws ImporterHandlerException, IOException {
+        TranslatorSplitter splitter = newSplitter();
+        List<Doc> docs = split(splitter);
+        Assertions.assertEquals(3, docs.size());
+        String[] langs = { "fr", "es", "it" };
+        for (int i = 0; i < langs.length; i++) {
+            Doc doc = docs.get(i);
+            Assertions.assertEquals(langs[i],
+                    doc.getMetadata().getString(DocMetadata.LANGUAGE));
+            Assertions.assertEquals("hello-" + langs[i],
+                    doc.getMetadata().getString("title"));
+            Assertions.assertEquals("hello-" + langs[i] + " world",
+                    TestUtil.getContentAsString(doc));
+        }
+        // one request for fields, one for content, per language
+        Assertions.assertEquals(6, REQUESTS.get());
+
+        // translations kept on disk are reused by other instances
+        Assertions.assertEquals(3, split(newSplitter()).size());
+        Assertions.assertEquals(6, REQUESTS.get());
+    }
+
+    @Test
+    public void testWriteRead() {
+        TranslatorSplitter splitter = newSplitter();
+        splitter.setRequestSize(5000);
+        splitter.setMaxRequestsPerMinute(100);
+        XML.assertWriteRead(splitter, "handler");
+    }
+
+    private TranslatorSplitter newSplitter() {
+        TranslatorSplitter splitter = new TranslatorSplitter();
+        splitter.setApi(StandInTranslator.class.getName());
+        splitter.setSourceLanguage("en");
+        splitter.setTargetLanguages("fr", "es", "it");
+        splitter.setFieldsToTranslate("title");
+        splitter.setThreads(2);
+        splitter.setCacheDir(tempDir);
+        return splitter;
+    }
+
+    private List<Doc> split(TranslatorSplitter splitter)
+            throws ImporterHandlerException {
+        Properties metadata = new Properties();
+        metadata.set("title", "hello");
+        InputStream input = new ByteArrayInputStream(
+                "hello world".getBytes(StandardCharsets.UTF_8));
+        return splitter.splitApplicableDocument(
+                TestUtil.toHandlerDoc("n/a", input, metadata),
+                input, NullOutputStream.NULL_OUTPUT_STREAM, ParseState.PRE);
+    }
+
+    // Offline translator: appends the target language to "hello".
+    public static class StandInTranslator implements Translator {
+        @Override
+        public String translate(String text, String sourceLanguage,
+                String targetLanguage) {
+            return translate(text, targetLanguage);
+        }
+        @Override
+        public String translate(String text, String targetLanguage) {
+            REQUESTS.incrementAndGet();
+            return text.replace("hello", "hello-" + targetLanguage);
+        }
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+    }
+}
@@ -67,6 +67,27 @@ public class XMLStreamSplitterTest {
         Assertions.assertTrue(content.contains("Scratchy"));
     }
 
+    @Test
+    public void testStreamSplitContent()
+            throws ImporterHandlerException, IOException {
+        XMLStreamSplitter splitter = new XMLStreamSplitter();
+        splitter.setPath("/feed/x:item");
+        List<Doc> docs = split(
+                "<feed xmlns:x=\"urn:x\">"
+              + "<x:item id=\"1\"><title>A &amp; B</title></x:item>\n"
+              + "<x:item id=\"2\"><![CDATA[<b>C</b>]]></x:item>"
+              + "</feed>", splitter);
+
+        Assertions.assertEquals(2, docs.size());
+        Assertions.assertEquals(
+                "<x:item id=\"1\"><title>A &amp; B</title></x:item>",
+                TestUtil.getContentAsString(docs.get(0)));
+        Assertions.assertEquals(
+                "<x:item id=\"2\">&lt;b&gt;C&lt;/b&gt;</x:item>",
+                TestUtil.getContentAsString(docs.get(1)));
+        Assertions.assertEquals("n/a!1", docs.get(1).getReference());
+    }
+
     private List<Doc> split(String text, XMLStreamSplitter splitter)
             throws ImporterHandlerException {
         Properties metadata = new Properties();
@@ -0,0 +1,195 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler.tagger.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.norconex.commons.lang.io.CachedInputStream;
+import com.norconex.commons.lang.map.PropertyMatcher;
+import com.norconex.commons.lang.map.PropertySetter;
+import com.norconex.commons.lang.text.TextMatcher;
+import com.norconex.commons.lang.xml.XML;
+import com.norconex.importer.Importer;
+import com.norconex.importer.ImporterConfig;
+import com.norconex.importer.TestUtil;
+import com.norconex.importer.doc.Doc;
+import com.norconex.importer.handler.HandlerConsumer;
+import com.norconex.importer.handler.HandlerDoc;
+import com.norconex.importer.handler.ImporterHandlerException;
+import com.norconex.importer.parser.ParseState;
+import com.norconex.importer.response.ImporterResponse;
+
+public class ContentHashTaggerTest {
+
+    @Test
+    public void testHashes() throws ImporterHandlerException,
+            NoSuchAlgorithmException {
+        ContentHashTagger tagger = new ContentHashTagger();
+        tagger.addHashDetails("SHA-256", "sha");
+        tagger.addHashDetails("crc32", "crc");
+        tagger.addHashDetails("SimHash", "sim");
+
+        String text = "The quick brown fox jumps over the lazy dog.";
+        Doc doc = new Doc("N/A", CachedInputStream.cache(
+                new ByteArrayInputStream(text.getBytes())));
+        tagger.tagDocument(new HandlerDoc(doc),
+                doc.getInputStream(), ParseState.POST);
+
+        Assertions.assertEquals(sha256(text),
+                doc.getMetadata().getString("sha"));
+        Assertions.assertEquals("519025e9", doc.getMetadata().getString("crc"));
+        Assertions.assertEquals(16,
+                doc.getMetadata().getString("sim").length());
+        // remembered for the current content
+        Assertions.assertEquals(sha256(text),
+                doc.getContentHashes().get("sha-256"));
+    }
+
+    @Test
+    public void testKnownHashesNotComputedAgain() throws IOException,
+            ImporterHandlerException {
+        ContentHashTagger tagger = new ContentHashTagger();
+        tagger.addHashDetails("SHA-256", "sha", PropertySetter.REPLACE);
+        tagger.addHashDetails("MD5", "md5", PropertySetter.REPLACE);
+
+        Doc doc = new Doc("N/A", CachedInputStream.cache(
+                new ByteArrayInputStream("content".getBytes())));
+        doc.addContentHashes(Map.of("SHA-256", "known"));
+        tagger.tagDocument(new HandlerDoc(doc),
+                doc.getInputStream(), ParseState.POST);
+        Assertions.assertEquals("known", doc.getMetadata().getString("sha"));
+        Assertions.assertEquals("9a0364b9e99bb480dd25e1f0284c8555",
+                doc.getMetadata().getString("md5"));
+
+        // known hashes are forgotten when content changes
+        doc.setInputStream(new ByteArrayInputStream("other".getBytes()));
+        Assertions.assertTrue(doc.getContentHashes().isEmpty());
+        tagger.tagDocument(new HandlerDoc(doc),
+                doc.getInputStream(), ParseState.POST);
+        Assertions.assertNotEquals("known", doc.getMetadata().getString("sha"));
+        doc.dispose();
+    }
+
+    @Test
+    public void testHashesComputedWhileParsing() throws IOException,
+            NoSuchAlgorithmException {
+        ContentHashTagger tagger = new ContentHashTagger();
+        tagger.addHashDetails("SHA-256", "sha");
+        // never applied, but its hash is still computed by the importer
+        ContentHashTagger restricted = new ContentHashTagger();
+        restricted.addHashDetails("MD5", "md5");
+        restricted.addRestriction(new PropertyMatcher(
+                TextMatcher.basic("noSuchField")));
+        ImporterConfig config = new ImporterConfig();
+        config.setPostParseConsumer(
+                HandlerConsumer.fromHandlers(tagger, restricted));
+
+        Doc doc = new Doc(TestUtil.getAliceHtmlFile().getAbsolutePath(),
+                CachedInputStream.cache(new FileInputStream(
+                        TestUtil.getAliceHtmlFile())));
+        ImporterResponse response = new Importer(config).importDocument(doc);
+        Doc parsed = response.getDocument();
+        String content = IOUtils.toString(
+                parsed.getInputStream(), StandardCharsets.UTF_8);
+
+        // hashed by the importer while writing parsed content
+        Assertions.assertEquals(sha256(content),
+                parsed.getContentHashes().get("SHA-256"));
+        Assertions.assertEquals(sha256(content),
+                parsed.getMetadata().getString("sha"));
+        Assertions.assertEquals(32,
+                parsed.getContentHashes().get("MD5").length());
+        Assertions.assertNull(parsed.getMetadata().getString("md5"));
+        parsed.dispose();
+    }
+
+    @Test
+    public void testHashesScopedToXMLFlowPhase() throws IOException,
+            NoSuchAlgorithmException {
+        ImporterConfig config = new ImporterConfig();
+        config.loadFromXML(new XML(
+                "<importer>"
+              + "<preParseHandlers>"
+              + "<handler class=\"ContentHashTagger\">"
+              + "<hash algorithm=\"CRC32\" toField=\"crc\"/>"
+              + "</handler>"
+              + "</preParseHandlers>"
+              + "<postParseHandlers>"
+              + "<if>"
+              + "<condition class=\"ReferenceCondition\">"
+              + "<valueMatcher>noSuchReference</valueMatcher>"
+              + "</condition>"
+              + "<then>"
+              + "<handler class=\"ContentHashTagger\">"
+              + "<hash algorithm=\"SHA-1\" toField=\"sha1\"/>"
+              + "</handler>"
+              + "</then>"
+              + "</if>"
+              + "</postParseHandlers>"
+              + "</importer>"));
+
+        Doc doc = new Doc(TestUtil.getAliceHtmlFile().getAbsolutePath(),
+                CachedInputStream.cache(new FileInputStream(
+                        TestUtil.getAliceHtmlFile())));
+        ImporterResponse response = new Importer(config).importDocument(doc);
+        Doc parsed = response.getDocument();
+        String content = IOUtils.toString(
+                parsed.getInputStream(), StandardCharsets.UTF_8);
+
+        Assertions.assertNotNull(parsed.getMetadata().getString("crc"));
+        // found within the condition, hashed while writing parsed content
+        Assertions.assertEquals(hash("SHA-1", content),
+                parsed.getContentHashes().get("SHA-1"));
+        Assertions.assertNull(parsed.getMetadata().getString("sha1"));
+        // only used before parsing, so not computed while parsing
+        Assertions.assertNull(parsed.getContentHashes().get("CRC32"));
+        parsed.dispose();
+    }
+
+    @Test
+    public void testInvalidAlgorithm() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ContentHashTagger().addHashDetails("nope", "f"));
+    }
+
+    @Test
+    public void testWriteRead() {
+        ContentHashTagger tagger = new ContentHashTagger();
+        tagger.addHashDetails("SHA-256", "sha", PropertySetter.REPLACE);
+        tagger.addHashDetails("CRC32C", "crc", null);
+        tagger.addHashDetails("SimHash", "sim", PropertySetter.OPTIONAL);
+        XML.assertWriteRead(tagger, "handler");
+    }
+
+    private String sha256(String text) throws NoSuchAlgorithmException {
+        return hash("SHA-256", text);
+    }
+    private String hash(String algorithm, String text)
+            throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(
+                algorithm).digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -222,4 +222,24 @@ public class CountMatchesTaggerTest {
         // we should get zero (use string to make sure).
         assertEquals("0", meta.getString("potatoCount"));
     }
+
+    @Test
+    public void testCountMatcherModifiedAfterUse()
+            throws ImporterHandlerException {
+        Properties meta = new Properties();
+        meta.add("fruits", "apple orange apple");
+
+        CountMatchesTagger t = new CountMatchesTagger();
+        t.getFieldMatcher().setPattern("fruits");
+        t.setToField("appleCount");
+        t.getCountMatcher().setPattern("apple");
+        TestUtil.tag(t, "n/a", meta, ParseState.POST);
+        assertEquals(2, (int) meta.getInteger("appleCount"));
+
+        // modifying the matcher directly must not reuse the first pattern
+        t.setToField("orangeCount");
+        t.getCountMatcher().setPattern("orange");
+        TestUtil.tag(t, "n/a", meta, ParseState.POST);
+        assertEquals(1, (int) meta.getInteger("orangeCount"));
+    }
 }
@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +31,11 @@ import java.util.List;
 import org.apache.commons.io.input.NullInputStream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -340,6 +346,45 @@ public class DOMTaggerTest {
         Assertions.assertEquals("text3", match3);
     }
 
+    @Test
+    public void testManySelectors()
+            throws ImporterHandlerException, IOException {
+
+        DOMTagger t = new DOMTagger();
+        t.addDOMExtractDetails(new DOMExtractDetails("p", "all", APPEND));
+        t.addDOMExtractDetails(new DOMExtractDetails(
+                "div.a > p", "childOfA", APPEND));
+        t.addDOMExtractDetails(new DOMExtractDetails(
+                "body p:last-child", "last", APPEND));
+        t.addDOMExtractDetails(new DOMExtractDetails(
+                "div:has(span)", "hasSpan", APPEND));
+
+        String html = "<html><body>"
+                + "<div class=\"a\"><p>1</p><p>2</p></div>"
+                + "<div class=\"b\"><span>x</span><p>3</p></div>"
+                + "</body></html>";
+
+        // same results on each document, including with a selector
+        // modified after first use
+        for (int i = 0; i < 2; i++) {
+            Properties metadata = new Properties();
+            performTagging(metadata, t, html);
+            Assertions.assertEquals("[1, 2, 3]",
+                    metadata.getStrings("all").toString());
+            Assertions.assertEquals("[1, 2]",
+                    metadata.getStrings("childOfA").toString());
+            Assertions.assertEquals("[2, 3]",
+                    metadata.getStrings("last").toString());
+            Assertions.assertEquals("[x 3]",
+                    metadata.getStrings("hasSpan").toString());
+        }
+        t.getDOMExtractDetailsList().get(1).setSelector("div.b > p");
+        Properties metadata = new Properties();
+        performTagging(metadata, t, html);
+        Assertions.assertEquals("[3]",
+                metadata.getStrings("childOfA").toString());
+    }
+
     @Test
     public void testExtractFromDOM()
             throws ImporterHandlerException, IOException {
@@ -514,4 +559,27 @@ public class DOMTaggerTest {
         tagger.setFromField("myfromfield");
         XML.assertWriteRead(tagger, "handler");
     }
+
+    @Test
+    public void testEvaluatorMemosReleased() {
+        Evaluator evaluator = QueryParser.parse("div p, p:has(b)");
+        WeakReference<Document> dom = matchAll(evaluator);
+        DOMTagger.releaseMemos(evaluator);
+        for (int i = 0; i < 10 && dom.get() != null; i++) {
+            System.gc();
+        }
+        Assertions.assertNull(dom.get(),
+                "Evaluator still holds elements of a processed document.");
+    }
+    private WeakReference<Document> matchAll(Evaluator evaluator) {
+        Document dom = Jsoup.parse("<div><p><b>a</b></p></div>");
+        int count = 0;
+        for (Element elm : dom.getAllElements()) {
+            if (evaluator.matches(dom, elm)) {
+                count++;
+            }
+        }
+        Assertions.assertEquals(1, count);
+        return new WeakReference<>(dom);
+    }
 }
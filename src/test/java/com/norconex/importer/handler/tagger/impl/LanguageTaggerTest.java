@@ -14,9 +14,14 @@
  */
 package com.norconex.importer.handler.tagger.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
@@ -87,6 +92,9 @@ public class LanguageTaggerTest {
         LanguageTagger tagger = new LanguageTagger();
         tagger.setKeepProbabilities(true);
         tagger.setFallbackLanguage("fr");
+        tagger.setFromField("title");
+        tagger.setSampleSize(1000);
+        tagger.setSampleWindows(3);
 
         XML.assertWriteRead(tagger, "handler");
 
@@ -119,4 +127,65 @@ public class LanguageTaggerTest {
         Assertions.assertEquals("nl",
                 doc.getMetadata().getString(DocMetadata.LANGUAGE));
     }
+
+    @Test
+    public void testConcurrentDetection() throws Exception {
+        CachedStreamFactory factory =
+                new CachedStreamFactory(10 * 1024, 10 * 1024);
+        LanguageTagger tagger = new LanguageTagger();
+        tagger.setLanguages(Arrays.asList("en", "fr", "it", "es"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                for (String lang : sampleTexts.keySet()) {
+                    results.add(executor.submit(() -> {
+                        Doc doc = new Doc("n/a",
+                                factory.newInputStream(sampleTexts.get(lang)));
+                        tagger.tagDocument(new HandlerDoc(doc),
+                                doc.getInputStream(), ParseState.POST);
+                        return lang.equals(doc.getMetadata().getString(
+                                DocMetadata.LANGUAGE));
+                    }));
+                }
+            }
+            for (Future<Boolean> result : results) {
+                Assertions.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFromFieldAndSampling() throws ImporterHandlerException {
+        CachedStreamFactory factory =
+                new CachedStreamFactory(10 * 1024, 10 * 1024);
+        LanguageTagger tagger = new LanguageTagger();
+        tagger.setLanguages(Arrays.asList("en", "fr", "it", "es"));
+        tagger.setFromField("title");
+
+        Doc doc = new Doc("n/a", factory.newInputStream(sampleTexts.get("en")));
+        doc.getMetadata().add("title",
+                sampleTexts.get("fr"), "encore un peu de texte");
+        tagger.tagDocument(
+                new HandlerDoc(doc), doc.getInputStream(), ParseState.POST);
+        Assertions.assertEquals(
+                "fr", doc.getMetadata().getString(DocMetadata.LANGUAGE));
+
+        // Sampled Spanish text surrounding English text
+        tagger = new LanguageTagger();
+        tagger.setLanguages(Arrays.asList("en", "fr", "it", "es"));
+        tagger.setSampleSize(100);
+        tagger.setSampleWindows(2);
+        String es = "sólo un poco de texto en español para la prueba. ";
+        String en = "just a bit of English text to make sure. ";
+        doc = new Doc("n/a", factory.newInputStream(
+                es + es + en + en + en + en + en + en + es + es));
+        tagger.tagDocument(
+                new HandlerDoc(doc), doc.getInputStream(), ParseState.POST);
+        Assertions.assertEquals(
+                "es", doc.getMetadata().getString(DocMetadata.LANGUAGE));
+    }
 }
@@ -16,6 +16,7 @@ package com.norconex.importer.handler.tagger.impl;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.io.IOUtils;
@@ -85,6 +86,45 @@ public class TestStatisticsTaggerTest {
                 meta.getString("document.stat.averageParagraphWordCount"));
     }
 
+    @Test
+    public void testUnicodeAndLongLines() {
+        // expected values are the ones obtained with regular expressions
+        // and a new sentence iterator per line (before 3.2.0)
+        String txt = "  Caf\u00e9 co-op\u200Dx __init__ 42-\r\n\r\n   \r"
+                + "\u4e2d\u6587 \uD835\uDC00\uD835\uDC01-b. Done! Really?\n-dash- a--b";
+        Properties meta = new Properties();
+        new TextStatisticsTagger().analyze(new StringReader(txt), meta, null);
+        Assertions.assertEquals(60,
+                (int) meta.getInteger("document.stat.characterCount"));
+        Assertions.assertEquals(11,
+                (int) meta.getInteger("document.stat.wordCount"));
+        Assertions.assertEquals(5,
+                (int) meta.getInteger("document.stat.sentenceCount"));
+        Assertions.assertEquals(3,
+                (int) meta.getInteger("document.stat.paragraphCount"));
+        Assertions.assertEquals("4.4",
+                meta.getString("document.stat.averageWordCharacterCount"));
+        Assertions.assertEquals("1.7",
+                meta.getString("document.stat.averageParagraphSentenceCount"));
+
+        // a single line spanning many read buffers
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            b.append("word-by-word sentence. ");
+        }
+        meta = new Properties();
+        new TextStatisticsTagger().analyze(
+                new StringReader(b.toString()), meta, "field");
+        Assertions.assertEquals(45999, (int) meta.getInteger(
+                "document.stat.field.characterCount"));
+        Assertions.assertEquals(6000, (int) meta.getInteger(
+                "document.stat.field.wordCount"));
+        Assertions.assertEquals(1, (int) meta.getInteger(
+                "document.stat.field.paragraphCount"));
+        Assertions.assertEquals("6.3", meta.getString(
+                "document.stat.field.averageWordCharacterCount"));
+    }
+
     @Test
     public void testWriteRead() {
         TextStatisticsTagger tagger = new TextStatisticsTagger();
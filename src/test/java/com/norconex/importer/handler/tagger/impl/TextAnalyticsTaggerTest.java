@@ -0,0 +1,181 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler.tagger.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.norconex.commons.lang.map.Properties;
+import com.norconex.commons.lang.map.PropertySetter;
+import com.norconex.commons.lang.text.RegexFieldValueExtractor;
+import com.norconex.commons.lang.text.TextMatcher;
+import com.norconex.commons.lang.xml.XML;
+import com.norconex.importer.TestUtil;
+import com.norconex.importer.handler.ImporterHandlerException;
+import com.norconex.importer.handler.tagger.IDocumentTagger;
+import com.norconex.importer.handler.tagger.impl.TextAnalyticsTagger.CountDetails;
+import com.norconex.importer.parser.ParseState;
+
+public class TextAnalyticsTaggerTest {
+
+    private static final String TEXT =
+            "Potatoes are great. Visit www.potato.com for more.\n\n"
+          + "Contact us at potato@example.com or potato@example.org.\n"
+          + "The potato-loving team: https://example.com/team, thanks!";
+
+    @Test
+    public void testSameAsIndividualTaggers()
+            throws ImporterHandlerException {
+        TextAnalyticsTagger t = new TextAnalyticsTagger();
+        t.setLengthField("length");
+        t.setStatistics(true);
+        t.addCount(new CountDetails("potatoCount",
+                TextMatcher.basic("potato").setPartial(true)
+                        .setIgnoreCase(true)));
+        t.addPattern(new RegexFieldValueExtractor(
+                "[A-Za-z0-9+_.-]+?@[a-zA-Z0-9.-]+[a-z]").setToField("emails"));
+        t.setUrlsField("urls");
+        Properties actual = tag(t);
+
+        Properties expected = new Properties();
+        TextStatisticsTagger stats = new TextStatisticsTagger();
+        tag(stats, expected);
+        CountMatchesTagger count = new CountMatchesTagger();
+        count.setToField("potatoCount");
+        count.setCountMatcher(TextMatcher.basic("potato").setPartial(true)
+                .setIgnoreCase(true));
+        tag(count, expected);
+        RegexTagger regex = new RegexTagger();
+        regex.addPattern(new RegexFieldValueExtractor(
+                "[A-Za-z0-9+_.-]+?@[a-zA-Z0-9.-]+[a-z]").setToField("emails"));
+        tag(regex, expected);
+        URLExtractorTagger urls = new URLExtractorTagger();
+        urls.setToField("urls");
+        tag(urls, expected);
+
+        Assertions.assertEquals(TEXT.length(),
+                (int) actual.getInteger("length"));
+        actual.remove("length");
+        Assertions.assertEquals(5, (int) actual.getInteger("potatoCount"));
+        Assertions.assertEquals(2, actual.getStrings("emails").size());
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testKeywordCounts() throws ImporterHandlerException {
+        String[] keywords = {"potato", "Potato", "example", "com", "o",
+                "team", "thanks", "missing"};
+        TextAnalyticsTagger t = new TextAnalyticsTagger();
+        t.setMaxReadSize(20);
+        Properties expected = new Properties();
+        for (String keyword : keywords) {
+            for (boolean ignoreCase : new boolean[] {false, true}) {
+                String field = keyword + (ignoreCase ? "-ci" : "-cs");
+                TextMatcher matcher = TextMatcher.basic(keyword)
+                        .setPartial(true).setIgnoreCase(ignoreCase);
+                t.addCount(new CountDetails(field, matcher));
+                CountMatchesTagger count = new CountMatchesTagger();
+                count.setMaxReadSize(20);
+                count.setToField(field);
+                count.setCountMatcher(matcher);
+                tag(count, expected);
+            }
+        }
+        // regular expressions are counted the same
+        t.addCount(new CountDetails("regex", TextMatcher.regex("p.t+")));
+        CountMatchesTagger count = new CountMatchesTagger();
+        count.setMaxReadSize(20);
+        count.setToField("regex");
+        count.setCountMatcher(TextMatcher.regex("p.t+"));
+        tag(count, expected);
+
+        Properties actual = tag(t);
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(4, (int) actual.getInteger("potato-cs"));
+        Assertions.assertEquals(5, (int) actual.getInteger("potato-ci"));
+        Assertions.assertEquals(0, (int) actual.getInteger("missing-ci"));
+
+        // tagging again gives the same counts
+        Assertions.assertEquals(expected, tag(t));
+    }
+
+    @Test
+    public void testOverlappingCounts() throws ImporterHandlerException {
+        TextAnalyticsTagger t = new TextAnalyticsTagger();
+        t.addCount(
+                new CountDetails("literal", TextMatcher.basic("a")
+                        .setPartial(true), null, false),
+                new CountDetails("literalOverlap", TextMatcher.basic("aa")
+                        .setPartial(true), null, true),
+                new CountDetails("literalNoOverlap", TextMatcher.basic("aa")
+                        .setPartial(true), null, false),
+                new CountDetails("regexOverlap", TextMatcher.regex("a{2}"),
+                        null, true),
+                new CountDetails("regexNoOverlap", TextMatcher.regex("a{2}"),
+                        null, false));
+        Properties meta = new Properties();
+        InputStream is = new ByteArrayInputStream(
+                "baaaa".getBytes(StandardCharsets.UTF_8));
+        t.tagDocument(TestUtil.toHandlerDoc("n/a", is, meta),
+                is, ParseState.POST);
+        Assertions.assertEquals(4, (int) meta.getInteger("literal"));
+        Assertions.assertEquals(3, (int) meta.getInteger("literalOverlap"));
+        Assertions.assertEquals(2, (int) meta.getInteger("literalNoOverlap"));
+        Assertions.assertEquals(3, (int) meta.getInteger("regexOverlap"));
+        Assertions.assertEquals(2, (int) meta.getInteger("regexNoOverlap"));
+    }
+
+    @Test
+    public void testNothingConfigured() throws ImporterHandlerException {
+        Assertions.assertTrue(tag(new TextAnalyticsTagger()).isEmpty());
+    }
+
+    @Test
+    public void testWriteRead() {
+        TextAnalyticsTagger t = new TextAnalyticsTagger();
+        t.setMaxReadSize(512);
+        t.setLengthField("length");
+        t.setLengthOnSet(PropertySetter.REPLACE);
+        t.setStatistics(true);
+        t.addCount(new CountDetails("count1", TextMatcher.basic("potato")),
+                new CountDetails("count2", TextMatcher.regex("car+ot"),
+                        PropertySetter.PREPEND),
+                new CountDetails("count3", TextMatcher.basic("a")
+                        .setPartial(true), null, true));
+        t.addPattern(new RegexFieldValueExtractor("[a-z]+@[a-z]+")
+                .setToField("emails"));
+        t.setUrlsField("urls");
+        t.setUrlsOnSet(PropertySetter.OPTIONAL);
+        XML.assertWriteRead(t, "handler");
+    }
+
+    private Properties tag(IDocumentTagger tagger)
+            throws ImporterHandlerException {
+        Properties meta = new Properties();
+        tag(tagger, meta);
+        return meta;
+    }
+    private void tag(IDocumentTagger tagger, Properties meta)
+            throws ImporterHandlerException {
+        InputStream is = new ByteArrayInputStream(
+                TEXT.getBytes(StandardCharsets.UTF_8));
+        tagger.tagDocument(TestUtil.toHandlerDoc("n/a", is, meta),
+                is, ParseState.POST);
+    }
+}
@@ -20,7 +20,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -57,6 +60,28 @@ public class TitleGeneratorTaggerTest {
                 "Title should be null");
     }
 
+    @Test
+    public void testFirstSectionOnlyIsRead()
+            throws ImporterHandlerException, IOException {
+        TitleGeneratorTagger t = new TitleGeneratorTagger();
+        t.setMaxReadSize(1000);
+
+        byte[] content = ("A short title\n\n" + StringUtils.repeat(
+                "Some more text in a large document. ", 100_000))
+                        .getBytes(StandardCharsets.UTF_8);
+        CountingInputStream is = new CountingInputStream(
+                new ByteArrayInputStream(content));
+        Properties metadata = new Properties();
+        metadata.set(DocMetadata.CONTENT_TYPE, "text/plain");
+        t.tagDocument(TestUtil.toHandlerDoc("n/a", metadata),
+                is, ParseState.POST);
+
+        Assertions.assertNotNull(
+                metadata.getString(DocMetadata.GENERATED_TITLE));
+        Assertions.assertTrue(is.getByteCount() < 100_000,
+                "Too much content read: " + is.getByteCount());
+    }
+
     @Test
     public void testSummarizeTitle()
             throws ImporterHandlerException, IOException {
@@ -82,6 +107,56 @@ public class TitleGeneratorTaggerTest {
               "Wrong title.");
     }
 
+    // Scores, term counts and titles obtained with the regular
+    // expression based summarizer of 3.1.x.
+    @Test
+    public void testSummarizerSameAsPrevious() {
+        // apostrophes
+        assertSummary("The cat's toy isn't the cat's bed. Cats aren't dogs, "
+                + "but the cat's owner's cat's friend likes cat's treats. "
+                + "The cat's cat's cat's.",
+                "The cat's cat's cat's.",
+                new long[] {7456, 10272, 11472}, "cat's", 8);
+        // dotted numbers, overlapping a valuable term
+        assertSummary("Version 10.10.10 fixes 10.10 bugs. Release 10.10 came "
+                + "before 10.10.10 and 10.10.11. The 10.10 notes list 10.10 "
+                + "twice: 10.10.",
+                "The 10.10 notes list 10.10 twice: 10.10.",
+                new long[] {4660, 6780, 6900}, "10.10", 5);
+        // overlapping terms
+        assertSummary("Data data-data data_data data. The data, data-data and "
+                + "more data-data! Data_data data data_data.",
+                "The data, data-data and more data-data!",
+                new long[] {5640, 9681, 1425}, "data-data", 3);
+        // surrogate pairs
+        String abcd = "\uD835\uDC9C\uD835\uDCB7\uD835\uDCB8\uD835\uDCB9";
+        assertSummary(abcd + " smile \uD83D\uDE00 smile smile. Smile "
+                + abcd + " " + abcd + " smile. Plain words here " + abcd + ".",
+                abcd + " smile \uD83D\uDE00 smile smile.",
+                new long[] {7520, 5640, 1896}, abcd, 4);
+        // combining marks
+        String cafe = "cafe\u0301";
+        assertSummary("Cafe\u0301 " + cafe + " cafe " + cafe + "s. Cafe cafe "
+                + cafe + " " + cafe + "! Cafe\u0301 " + cafe + " " + cafe + ".",
+                "Cafe\u0301 " + cafe + " " + cafe + ".",
+                new long[] {2380, 4780, 4820}, cafe, 5);
+        // mixed line breaks
+        assertSummary("Alpha beta gamma\r\nalpha delta alpha\rgamma gamma "
+                + "alpha\n\rdelta beta.\r\n\r\nAlpha gamma alpha gamma alpha.",
+                "Alpha gamma alpha gamma alpha.",
+                new long[] {2420, 4830, 7245, 0, 9400}, "alpha", 5);
+    }
+    private void assertSummary(String text, String expectedTitle,
+            long[] expectedScores, String term, int expectedTermCount) {
+        TitleGeneratorTagger.Summarizer summarizer =
+                new TitleGeneratorTagger.Summarizer(text);
+        Assertions.assertArrayEquals(
+                expectedScores, summarizer.scoreSentences());
+        Assertions.assertEquals(expectedTermCount, summarizer.termCount(term));
+        Assertions.assertEquals(expectedTitle,
+                new TitleGeneratorTagger.Summarizer(text).summarize());
+    }
+
     @Test
     public void testHeadingTitle()
             throws ImporterHandlerException, IOException {
@@ -0,0 +1,99 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.handler.tagger.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.norconex.commons.lang.map.Properties;
+import com.norconex.commons.lang.map.PropertySetter;
+import com.norconex.commons.lang.text.TextMatcher;
+import com.norconex.commons.lang.xml.XML;
+import com.norconex.importer.TestUtil;
+import com.norconex.importer.handler.ImporterHandlerException;
+import com.norconex.importer.parser.ParseState;
+
+public class URLExtractorTaggerTest {
+
+    private static final String TEXT =
+            "Visit https://example.com/a/very/long/path/page.html, "
+          + "or www.example.com. Again: https://example.com/a/very/long/"
+          + "path/page.html and http://example.org/x?y=z";
+
+    @Test
+    public void testURLsAcrossReads() throws ImporterHandlerException {
+        URLExtractorTagger t = new URLExtractorTagger();
+        t.setToField("urls");
+        // smaller than most URLs
+        t.setMaxReadSize(7);
+        Properties meta = tag(t);
+        Assertions.assertEquals(Arrays.asList(
+                "https://example.com/a/very/long/path/page.html",
+                "https://www.example.com",
+                "http://example.org/x?y=z"), meta.getStrings("urls"));
+    }
+
+    @Test
+    public void testMaxURLs() throws ImporterHandlerException {
+        URLExtractorTagger t = new URLExtractorTagger();
+        t.setToField("urls");
+        t.setMaxURLs(2);
+        Properties meta = tag(t);
+        Assertions.assertEquals(Arrays.asList(
+                "https://example.com/a/very/long/path/page.html",
+                "https://www.example.com"), meta.getStrings("urls"));
+    }
+
+    @Test
+    public void testFromField() throws ImporterHandlerException {
+        URLExtractorTagger t = new URLExtractorTagger();
+        t.setToField("urls");
+        t.setFieldMatcher(TextMatcher.basic("source"));
+        Properties meta = new Properties();
+        meta.add("source", "see www.a.com", "and www.b.com, www.a.com");
+        InputStream is = new ByteArrayInputStream(new byte[] {});
+        t.tagDocument(TestUtil.toHandlerDoc("n/a", is, meta),
+                is, ParseState.POST);
+        Assertions.assertEquals(Arrays.asList(
+                "https://www.a.com", "https://www.b.com"),
+                meta.getStrings("urls"));
+    }
+
+    @Test
+    public void testWriteRead() {
+        URLExtractorTagger t = new URLExtractorTagger();
+        t.setToField("urls");
+        t.setFieldMatcher(TextMatcher.basic("source"));
+        t.setOnSet(PropertySetter.REPLACE);
+        t.setMaxReadSize(100);
+        t.setMaxURLs(10);
+        XML.assertWriteRead(t, "handler");
+    }
+
+    private Properties tag(URLExtractorTagger tagger)
+            throws ImporterHandlerException {
+        Properties meta = new Properties();
+        InputStream is = new ByteArrayInputStream(
+                TEXT.getBytes(StandardCharsets.UTF_8));
+        tagger.tagDocument(TestUtil.toHandlerDoc("n/a", is, meta),
+                is, ParseState.POST);
+        return meta;
+    }
+}
@@ -64,6 +64,13 @@ public class GenericDocumentParserFactoryTest {
                 ocr.setLanguages("ocrLanguages");
                 ocr.setPath("ocrPath");
 
+                MetadataConfig meta = f.getParseHints().getMetadataConfig();
+                meta.setMaxFields(100);
+                meta.setMaxValuesPerField(10);
+                meta.setMaxValueLength(1000);
+                meta.setIncludeFields("dc:.*");
+                meta.setExcludeFields("dc:secret");
+
                 ExternalParser app = new ExternalParser();
                 app.setCommand("command.exe");
                 f.registerParser(ContentType.BMP, app);
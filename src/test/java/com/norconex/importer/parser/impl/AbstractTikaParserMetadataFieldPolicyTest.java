@@ -20,6 +20,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import com.norconex.commons.lang.map.Properties;
+import com.norconex.importer.parser.MetadataConfig;
+import com.norconex.importer.parser.ParseHints;
 
 class AbstractTikaParserMetadataFieldPolicyTest {
 
@@ -78,6 +80,82 @@ class AbstractTikaParserMetadataFieldPolicyTest {
         Assertions.assertEquals("Jane", target.getString("author"));
     }
 
+    @Test
+    void testMetadataLimits() {
+        TestableTikaParser parser = new TestableTikaParser();
+        ParseHints hints = new ParseHints();
+        MetadataConfig cfg = hints.getMetadataConfig();
+        cfg.setMaxValuesPerField(2);
+        cfg.setMaxValueLength(5);
+        cfg.setIncludeFields("(dc:)?title|exif:.*|existing");
+        cfg.setExcludeFields("exif:secret");
+        parser.initialize(hints);
+
+        Metadata tikaMeta = new Metadata();
+        tikaMeta.set("dc:title", "My Title");
+        tikaMeta.set("author", "Jane");
+        tikaMeta.set("exif:secret", "123");
+        tikaMeta.set("existing", "a");
+        for (int i = 0; i < 10; i++) {
+            tikaMeta.add("exif:many", "v" + i);
+        }
+
+        Properties target = new Properties();
+        target.add("existing", "b", "c");
+        parser.transfer(tikaMeta, target);
+
+        Assertions.assertEquals("My Ti", target.getString("dc:title"));
+        Assertions.assertEquals("My Ti", target.getString("title"));
+        Assertions.assertFalse(target.containsKey("author"));
+        Assertions.assertFalse(target.containsKey("exif:secret"));
+        Assertions.assertEquals("[b, c]",
+                target.getStrings("existing").toString());
+        Assertions.assertEquals("[v0, v1]",
+                target.getStrings("exif:many").toString());
+    }
+
+    @Test
+    void testMaxFields() {
+        TestableTikaParser parser = new TestableTikaParser();
+        ParseHints hints = new ParseHints();
+        hints.getMetadataConfig().setMaxFields(3);
+        parser.initialize(hints);
+
+        Metadata tikaMeta = new Metadata();
+        for (int i = 0; i < 10; i++) {
+            tikaMeta.set("exif:field" + i, "value" + i);
+        }
+        tikaMeta.set("existing", "b");
+
+        Properties target = new Properties();
+        target.add("existing", "a");
+        parser.transfer(tikaMeta, target);
+
+        Assertions.assertEquals(3, target.size());
+        // existing fields still get values
+        Assertions.assertEquals("[a, b]",
+                target.getStrings("existing").toString());
+    }
+
+    @Test
+    void testSameValueNotDuplicated() {
+        TestableTikaParser parser = new TestableTikaParser();
+        Metadata tikaMeta = new Metadata();
+        tikaMeta.add("keywords", "a");
+        tikaMeta.add("keywords", "b");
+        tikaMeta.set(Metadata.CONTENT_TYPE, "text/html; charset=UTF-8");
+
+        Properties target = new Properties();
+        target.add("keywords", "b");
+        target.add(Metadata.CONTENT_TYPE, "text/html;charset=utf-8");
+        parser.transfer(tikaMeta, target);
+
+        Assertions.assertEquals("[b]",
+                target.getStrings("keywords").toString());
+        Assertions.assertEquals("[text/html; charset=UTF-8]",
+                target.getStrings(Metadata.CONTENT_TYPE).toString());
+    }
+
     private static class TestableTikaParser extends AbstractTikaParser {
         TestableTikaParser() {
             super(new AutoDetectParser());
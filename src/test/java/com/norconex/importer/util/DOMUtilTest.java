@@ -0,0 +1,42 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+public class DOMUtilTest {
+
+    @Test
+    public void testWrite() throws IOException {
+        String content = "\n  <html><head><title>T</title></head>"
+                + "<body>\n<div>  <p>one</p>\n\n<p>two</p>  </div>"
+                + "<pre>  keep  </pre></body></html>\n  ";
+        for (String parser : new String[] {
+                DOMUtil.PARSER_HTML, DOMUtil.PARSER_XML }) {
+            Document doc = Jsoup.parse(
+                    content, "", DOMUtil.toJSoupParser(parser));
+            StringWriter out = new StringWriter();
+            DOMUtil.write(doc, out);
+            assertEquals(doc.toString(), out.toString());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class KeywordCounterTest {
+
+    @Test
+    public void testCount() {
+        KeywordCounter kc = new KeywordCounter(Arrays.asList(
+                "he", "she", "his", "hers", "aa"), false);
+        int[] counts = new int[kc.size()];
+        kc.count("ushers and his sheep, aaa He", counts);
+        Assertions.assertArrayEquals(new int[] {2, 2, 1, 1, 1}, counts);
+
+        // counts are added
+        kc.count("he", counts);
+        Assertions.assertArrayEquals(new int[] {3, 2, 1, 1, 1}, counts);
+    }
+
+    @Test
+    public void testOverlapping() {
+        KeywordCounter kc = new KeywordCounter(Arrays.asList("aa", "aba"),
+                new boolean[] {true, false}, false);
+        int[] counts = new int[kc.size()];
+        kc.count("aaaa ababa", counts);
+        Assertions.assertArrayEquals(new int[] {3, 1}, counts);
+    }
+
+    @Test
+    public void testIgnoreCase() {
+        KeywordCounter kc = new KeywordCounter(Arrays.asList(
+                "potato", "Été", "straße"), true);
+        int[] counts = new int[kc.size()];
+        kc.count("POTATO Potato éTÉ STRAßE", counts);
+        Assertions.assertArrayEquals(new int[] {2, 1, 1}, counts);
+    }
+
+    @Test
+    public void testSameAsRegex() {
+        String chars = "aAbB éÉİiıIſsSΣσς";
+        Random random = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            boolean ignoreCase = random.nextBoolean();
+            List<String> keywords = new ArrayList<>();
+            boolean[] overlapping = new boolean[1 + random.nextInt(8)];
+            for (int j = 0; j < overlapping.length; j++) {
+                keywords.add(randomText(random, chars, 1 + random.nextInt(4)));
+                overlapping[j] = random.nextBoolean();
+            }
+            String text = randomText(random, chars, random.nextInt(60));
+
+            int[] counts = new int[keywords.size()];
+            new KeywordCounter(keywords, overlapping, ignoreCase)
+                    .count(text, counts);
+            for (int j = 0; j < counts.length; j++) {
+                Assertions.assertEquals(regexCount(keywords.get(j), text,
+                        overlapping[j], ignoreCase), counts[j],
+                        "Keyword \"" + keywords.get(j) + "\" in \""
+                                + text + "\" (ignoreCase=" + ignoreCase
+                                + ", overlapping=" + overlapping[j] + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidKeywords() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new KeywordCounter(Arrays.asList("a", ""), false));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new KeywordCounter(
+                        Arrays.asList("a"), new boolean[2], false));
+    }
+
+    private String randomText(Random random, String chars, int length) {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            b.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return b.toString();
+    }
+
+    private int regexCount(String keyword, String text,
+            boolean overlapping, boolean ignoreCase) {
+        Matcher m = Pattern.compile(Pattern.quote(keyword), ignoreCase
+                ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0)
+                        .matcher(text);
+        int count = 0;
+        int from = 0;
+        while (from <= text.length() && m.find(from)) {
+            count++;
+            from = overlapping ? m.start() + 1 : m.end();
+        }
+        return count;
+    }
+}
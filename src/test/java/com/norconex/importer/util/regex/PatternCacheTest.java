@@ -0,0 +1,73 @@
+/* Copyright 2026 Norconex Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.norconex.importer.util.regex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.norconex.commons.lang.text.TextMatcher;
+
+public class PatternCacheTest {
+
+    @Test
+    public void testCompileIsCached() {
+        Pattern p1 = PatternCache.compile("^text/.*$");
+        Pattern p2 = PatternCache.compile("^text/.*$");
+        assertSame(p1, p2);
+
+        Pattern p3 = PatternCache.compile(
+                "^text/.*$", Pattern.CASE_INSENSITIVE);
+        assertNotSame(p1, p3);
+        assertSame(p3, PatternCache.compile(
+                "^text/.*$", Pattern.CASE_INSENSITIVE));
+    }
+
+    @Test
+    public void testToPattern() {
+        TextMatcher tm = TextMatcher.regex("app.e").setIgnoreCase(true);
+        int count = 0;
+        Matcher m = PatternCache.toPattern(tm).matcher("apple, APPLE, grape");
+        while (m.find()) {
+            count++;
+        }
+        assertEquals(2, count);
+
+        Pattern p = PatternCache.toPattern(TextMatcher.basic("a.b"));
+        assertTrue(p.matcher("a.b").find());
+        assertFalse(p.matcher("aXb").find());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDiscarded() {
+        PatternCache.clear();
+        Pattern kept = PatternCache.compile("kept");
+        Pattern discarded = PatternCache.compile("discarded");
+        for (int i = 0; i < PatternCache.MAX_SIZE; i++) {
+            PatternCache.compile("value" + i);
+            // keep using it so it is never the eldest entry
+            assertSame(kept, PatternCache.compile("kept"));
+        }
+        assertEquals(PatternCache.MAX_SIZE, PatternCache.size());
+        assertNotSame(discarded, PatternCache.compile("discarded"));
+    }
+}